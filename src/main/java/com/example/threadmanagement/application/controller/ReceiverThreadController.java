@@ -1,16 +1,21 @@
 package com.example.threadmanagement.application.controller;
 
 import com.example.threadmanagement.domain.service.interfaces.IReceiverThreadService;
+import com.example.threadmanagement.model.dto.BulkThreadUpdateDto;
 import com.example.threadmanagement.model.dto.ReceiverThreadDto;
+import com.example.threadmanagement.model.dto.ThreadPageDto;
+import com.example.threadmanagement.model.dto.ThreadSortKey;
 import com.example.threadmanagement.model.entity.ThreadState;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -52,6 +57,29 @@ public class ReceiverThreadController {
         return ResponseEntity.ok(iReceiverThreadService.getActiveReceiverThreads());
     }
 
+    /**
+     * Retrieves one page of receiver threads, optionally filtered by state and priority.
+     * The next page is requested with the nextAfterId and nextAfterCreatedAt of the current page.
+     * @param threadState only threads in this state are returned
+     * @param priority only threads with this priority are returned
+     * @param sortKey column the page is sorted by, ID or CREATED_AT
+     * @param afterId ID of the last thread of the previous page
+     * @param afterCreatedAt creation time of the last thread of the previous page, when sorting by CREATED_AT
+     * @param size number of threads per page, at most ReceiverThreadRepository.MAX_PAGE_SIZE
+     * @return ResponseEntity containing the page of receiver threads
+     */
+    @GetMapping("/getReceiverThreadPage")
+    public ResponseEntity<ThreadPageDto<ReceiverThreadDto>> getReceiverThreadPage(
+            @RequestParam(required = false) ThreadState threadState, // Only threads in this state
+            @RequestParam(required = false) Integer priority, // Only threads with this priority
+            @RequestParam(defaultValue = "ID") ThreadSortKey sortKey, // Sort column
+            @RequestParam(required = false) UUID afterId, // Continue after this thread
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterCreatedAt, // Continue after this creation time
+            @RequestParam(defaultValue = "100") int size // Threads per page
+    ) {
+        return ResponseEntity.ok(iReceiverThreadService.getReceiverThreadPage(threadState, priority, sortKey, afterId, afterCreatedAt, size));
+    }
+
     /**
      * Retrieves all receiver threads regardless of their state.
      * @return ResponseEntity containing list of all receiver threads
@@ -97,6 +125,36 @@ public class ReceiverThreadController {
         return ResponseEntity.ok(iReceiverThreadService.updateReceiverThreadPriority(id, priority));
     }
 
+    /**
+     * Updates the batch settings of a specific receiver thread while it keeps running.
+     * @param id ID of the receiver thread to update
+     * @param batchSize maximum number of messages consumed in one batch
+     * @param lingerMillis time to wait for a batch to fill, current value is kept if omitted
+     * @return ResponseEntity containing ID of updated thread
+     * @throws ThreadManagementException if batch size is lower than one or linger time is negative
+     */
+    @PutMapping("/{threadId}/updateReceiverThreadBatching")
+    public ResponseEntity<UUID> updateReceiverThreadBatching(
+            @RequestParam UUID id,
+            @RequestParam Integer batchSize,
+            @RequestParam(required = false) Long lingerMillis
+    ) {
+        return ResponseEntity.ok(iReceiverThreadService.updateReceiverThreadBatching(id, batchSize, lingerMillis));
+    }
+
+    /**
+     * Updates state and priority of many receiver threads with a single call, e.g. to stop or start thousands of threads.
+     * @param bulkThreadUpdateDto IDs of the threads, or a filter on their current state and priority, and the new values
+     * @return ResponseEntity containing the number of updated threads
+     * @throws IllegalArgumentException if neither a new state nor a new priority is given
+     */
+    @PutMapping("/updateReceiverThreads")
+    public ResponseEntity<Integer> updateReceiverThreads(
+            @RequestBody BulkThreadUpdateDto bulkThreadUpdateDto // Selected threads and their new values
+    ) {
+        return ResponseEntity.ok(iReceiverThreadService.updateReceiverThreads(bulkThreadUpdateDto));
+    }
+
     /**
      * Updates the state of a specific receiver thread.
      * @param id ID of the receiver thread to update
@@ -123,6 +181,23 @@ public class ReceiverThreadController {
         return ResponseEntity.ok(iReceiverThreadService.deleteReceiverThreadById(id));
     }
 
+    /**
+     * Deletes many receiver threads with a single call and stops their tasks right away.
+     * @param ids IDs of the threads to delete
+     * @param threadState state of the threads to delete if no IDs are given
+     * @param priority priority of the threads to delete if no IDs are given
+     * @return ResponseEntity containing the number of deleted threads
+     * @throws IllegalArgumentException if neither IDs nor a filter are given
+     */
+    @DeleteMapping("/deleteReceiverThreads")
+    public ResponseEntity<Integer> deleteReceiverThreads(
+            @RequestParam(required = false) List<UUID> ids, // IDs of the threads to delete
+            @RequestParam(required = false) ThreadState threadState, // Delete threads in this state
+            @RequestParam(required = false) Integer priority // Delete threads with this priority
+    ) {
+        return ResponseEntity.ok(iReceiverThreadService.deleteReceiverThreads(ids, threadState, priority));
+    }
+
     /**
      * Deletes all receiver threads from the system.
      * @return ResponseEntity containing true if all threads were successfully deleted
@@ -1,17 +1,23 @@
 package com.example.threadmanagement.application.controller;
 
 import com.example.threadmanagement.domain.service.interfaces.ISenderThreadService;
+import com.example.threadmanagement.model.dto.BulkThreadUpdateDto;
 import com.example.threadmanagement.model.dto.ReceiverThreadDto;
 import com.example.threadmanagement.model.dto.SenderThreadDto;
+import com.example.threadmanagement.model.dto.ThreadPageDto;
+import com.example.threadmanagement.model.dto.ThreadSortKey;
+import com.example.threadmanagement.model.entity.OverflowPolicy;
 import com.example.threadmanagement.model.entity.ThreadState;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -53,6 +59,29 @@ public class SenderThreadController {
         return ResponseEntity.ok(iSenderThreadService.getActiveSenderThreads());
     }
 
+    /**
+     * Retrieves one page of sender threads, optionally filtered by state and priority.
+     * The next page is requested with the nextAfterId and nextAfterCreatedAt of the current page.
+     * @param threadState only threads in this state are returned
+     * @param priority only threads with this priority are returned
+     * @param sortKey column the page is sorted by, ID or CREATED_AT
+     * @param afterId ID of the last thread of the previous page
+     * @param afterCreatedAt creation time of the last thread of the previous page, when sorting by CREATED_AT
+     * @param size number of threads per page, at most SenderThreadRepository.MAX_PAGE_SIZE
+     * @return ResponseEntity containing the page of sender threads
+     */
+    @GetMapping("/getSenderThreadPage")
+    public ResponseEntity<ThreadPageDto<SenderThreadDto>> getSenderThreadPage(
+            @RequestParam(required = false) ThreadState threadState, // Only threads in this state
+            @RequestParam(required = false) Integer priority, // Only threads with this priority
+            @RequestParam(defaultValue = "ID") ThreadSortKey sortKey, // Sort column
+            @RequestParam(required = false) UUID afterId, // Continue after this thread
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterCreatedAt, // Continue after this creation time
+            @RequestParam(defaultValue = "100") int size // Threads per page
+    ) {
+        return ResponseEntity.ok(iSenderThreadService.getSenderThreadPage(threadState, priority, sortKey, afterId, afterCreatedAt, size));
+    }
+
     /**
      * Retrieves all sender threads regardless of their state.
      * @return ResponseEntity containing list of all sender threads
@@ -99,6 +128,51 @@ public class SenderThreadController {
         return ResponseEntity.ok(iSenderThreadService.updateSenderThreadPriority(id, priority));
     }
 
+    /**
+     * Updates the production rate of a specific sender thread while it keeps running.
+     * @param id ID of the sender thread to update
+     * @param rate new rate in messages per second, fractional values are allowed
+     * @param burst number of messages that may be sent back to back, current burst is kept if omitted
+     * @return ResponseEntity containing ID of updated thread
+     * @throws ThreadManagementException if rate is not positive or burst is lower than one
+     */
+    @PutMapping("/{threadId}/updateSenderThreadRate")
+    public ResponseEntity<UUID> updateSenderThreadRate(
+            @RequestParam UUID id, // ID of the thread to update
+            @RequestParam Double rate, // New rate in messages per second
+            @RequestParam(required = false) Integer burst // New burst size
+    ) {
+        return ResponseEntity.ok(iSenderThreadService.updateSenderThreadRate(id, rate, burst));
+    }
+
+    /**
+     * Updates the overflow policy of a specific sender thread.
+     * @param id ID of the sender thread to update
+     * @param overflowPolicy what the thread does when the shared queue is full
+     * @return ResponseEntity containing ID of updated thread
+     * @throws ThreadManagementException if overflow policy is null
+     */
+    @PutMapping("/{threadId}/updateSenderThreadOverflowPolicy")
+    public ResponseEntity<UUID> updateSenderThreadOverflowPolicy(
+            @RequestParam UUID id, // ID of the thread to update
+            @RequestParam OverflowPolicy overflowPolicy // New overflow policy
+    ) {
+        return ResponseEntity.ok(iSenderThreadService.updateSenderThreadOverflowPolicy(id, overflowPolicy));
+    }
+
+    /**
+     * Updates state and priority of many sender threads with a single call, e.g. to stop or start thousands of threads.
+     * @param bulkThreadUpdateDto IDs of the threads, or a filter on their current state and priority, and the new values
+     * @return ResponseEntity containing the number of updated threads
+     * @throws IllegalArgumentException if neither a new state nor a new priority is given
+     */
+    @PutMapping("/updateSenderThreads")
+    public ResponseEntity<Integer> updateSenderThreads(
+            @RequestBody BulkThreadUpdateDto bulkThreadUpdateDto // Selected threads and their new values
+    ) {
+        return ResponseEntity.ok(iSenderThreadService.updateSenderThreads(bulkThreadUpdateDto));
+    }
+
     /**
      * Updates the state of a specific sender thread.
      * @param id ID of the sender thread to update
@@ -125,6 +199,23 @@ public class SenderThreadController {
         return ResponseEntity.ok(iSenderThreadService.deleteSenderThreadById(id));
     }
 
+    /**
+     * Deletes many sender threads with a single call and stops their tasks right away.
+     * @param ids IDs of the threads to delete
+     * @param threadState state of the threads to delete if no IDs are given
+     * @param priority priority of the threads to delete if no IDs are given
+     * @return ResponseEntity containing the number of deleted threads
+     * @throws IllegalArgumentException if neither IDs nor a filter are given
+     */
+    @DeleteMapping("/deleteSenderThreads")
+    public ResponseEntity<Integer> deleteSenderThreads(
+            @RequestParam(required = false) List<UUID> ids, // IDs of the threads to delete
+            @RequestParam(required = false) ThreadState threadState, // Delete threads in this state
+            @RequestParam(required = false) Integer priority // Delete threads with this priority
+    ) {
+        return ResponseEntity.ok(iSenderThreadService.deleteSenderThreads(ids, threadState, priority));
+    }
+
     /**
      * Deletes all sender threads from the system.
      * @return ResponseEntity containing true if all threads were successfully deleted
@@ -1,26 +1,33 @@
 package com.example.threadmanagement.application.controller.websocket;
 
-import com.example.threadmanagement.domain.service.MessageQueueService;
+import com.example.threadmanagement.domain.broadcast.MessageQueuePublisher;
 import com.example.threadmanagement.model.dto.MessageQueuePagingDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.handler.annotation.SendTo;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.stereotype.Controller;
 
 @Controller
 @RequiredArgsConstructor
 public class MessageQueueWebSocketController {
-    private final MessageQueueService messageQueueService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final MessageQueuePublisher messageQueuePublisher;
 
+    /**
+     * Registers the queue page the calling session is viewing and replies with its current content.
+     * From then on the page is pushed to /user/topic/messageQueue/page of this session only, whenever it changes,
+     * until the session registers another page or disconnects.
+     * @param request page and size the session is viewing
+     * @param sessionId ID of the calling WebSocket session
+     * @return current content of the page
+     */
     @MessageMapping("/sendMessageQueue")
-    @SendTo("/topic/messageQueue")
-    public Page<String> sendMessageQueue(@Payload MessageQueuePagingDto request) {
-        Page<String>  result = messageQueueService.getQueuePage(request.getPage(), request.getSize());
-        messagingTemplate.convertAndSend("/topic/messageQueue", result);
-        return result;
+    @SendToUser(destinations = MessageQueuePublisher.SESSION_DESTINATION, broadcast = false)
+    public Page<String> sendMessageQueue(@Payload MessageQueuePagingDto request,
+                                         @Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId) {
+        return messageQueuePublisher.subscribe(sessionId, request.getPage(), request.getSize());
     }
 }
@@ -1,21 +1,37 @@
 package com.example.threadmanagement.application.controller.websocket;
 
 import com.example.threadmanagement.domain.service.interfaces.IReceiverThreadService;
+import com.example.threadmanagement.model.dto.ReceiverThreadDto;
+import com.example.threadmanagement.model.dto.ThreadSnapshotDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
 @Controller
 @RequiredArgsConstructor
 public class ReceiverThreadWebSocketController {
     private final IReceiverThreadService iReceiverThreadService;
-    private final SimpMessagingTemplate messagingTemplate;
 
+    /**
+     * Sends the snapshot of all receiver threads to a client subscribing to /app/receiverThreads/snapshot.
+     * The client then applies the change events of /topic/receiverThreads with a higher version on top of it.
+     * @return snapshot of all receiver threads
+     */
+    @SubscribeMapping("/receiverThreads/snapshot")
+    public ThreadSnapshotDto<ReceiverThreadDto> receiverThreadSnapshot() {
+        return iReceiverThreadService.getReceiverThreadSnapshot();
+    }
+
+    /**
+     * Sends a fresh snapshot to the requesting session only, e.g. after the client detected a gap in the versions.
+     * /topic/receiverThreads carries change events only, so the full list is no longer broadcast to everybody.
+     * @return snapshot of all receiver threads
+     */
     @MessageMapping("/sendReceiverThreads")
-    @SendTo("/topic/receiverThreads")
-    public void sendReceiverThreads() {
-        messagingTemplate.convertAndSend("/topic/receiverThreads", iReceiverThreadService.getAllReceiverThreads());
+    @SendToUser(destinations = "/topic/receiverThreads/snapshot", broadcast = false)
+    public ThreadSnapshotDto<ReceiverThreadDto> sendReceiverThreads() {
+        return iReceiverThreadService.getReceiverThreadSnapshot();
     }
-}
+}
\ No newline at end of file
@@ -1,22 +1,37 @@
 package com.example.threadmanagement.application.controller.websocket;
 
 import com.example.threadmanagement.domain.service.interfaces.ISenderThreadService;
+import com.example.threadmanagement.model.dto.SenderThreadDto;
+import com.example.threadmanagement.model.dto.ThreadSnapshotDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
 @Controller
 @RequiredArgsConstructor
 public class SenderThreadWebSocketController {
     private final ISenderThreadService iSenderThreadService;
-    private final SimpMessagingTemplate messagingTemplate;
 
+    /**
+     * Sends the snapshot of all sender threads to a client subscribing to /app/senderThreads/snapshot.
+     * The client then applies the change events of /topic/senderThreads with a higher version on top of it.
+     * @return snapshot of all sender threads
+     */
+    @SubscribeMapping("/senderThreads/snapshot")
+    public ThreadSnapshotDto<SenderThreadDto> senderThreadSnapshot() {
+        return iSenderThreadService.getSenderThreadSnapshot();
+    }
+
+    /**
+     * Sends a fresh snapshot to the requesting session only, e.g. after the client detected a gap in the versions.
+     * /topic/senderThreads carries change events only, so the full list is no longer broadcast to everybody.
+     * @return snapshot of all sender threads
+     */
     @MessageMapping("/sendSenderThreads")
-    @SendTo("/topic/senderThreads")
-    public void sendSenderThreads() {
-        messagingTemplate.convertAndSend("/topic/senderThreads",
-                iSenderThreadService.getAllSenderThreads());
+    @SendToUser(destinations = "/topic/senderThreads/snapshot", broadcast = false)
+    public ThreadSnapshotDto<SenderThreadDto> sendSenderThreads() {
+        return iSenderThreadService.getSenderThreadSnapshot();
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.example.threadmanagement.config;
+
+/**
+ * Enum representing the kind of threads that run sender and receiver lifecycles.
+ * Selected through the thread.lifecycle.execution-mode property.
+ */
+public enum ExecutionMode {
+    /**
+     * Every lifecycle runs on its own pooled platform (OS) thread.
+     * Thread priorities are applied to the underlying OS thread.
+     */
+    PLATFORM,
+
+    /**
+     * Every lifecycle runs on its own virtual thread, multiplexed over a small set of carrier threads.
+     * Thread priorities are ignored because virtual threads always run at normal priority.
+     */
+    VIRTUAL
+}
@@ -1,5 +1,8 @@
 package com.example.threadmanagement.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManagerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
@@ -7,7 +10,6 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
@@ -26,20 +28,40 @@ public class JpaConfig {
     @Autowired
     private Environment env;
 
-    @Bean
-    public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
+    /**
+     * Pooled DataSource, so repository calls borrow an open connection instead of opening a new one each time.
+     * Pool size and timeouts come from the spring.datasource.hikari properties. Prepared statements are cached
+     * per connection by the SQL Server driver. Pool usage, pending requests and acquire time are exported as
+     * hikaricp.* meters. The metrics tracker has to be set here, the pool no longer accepts it once started.
+     * @param meterRegistry registry receiving the pool metrics
+     * @return pooled DataSource
+     */
+    @Bean(destroyMethod = "close")
+    public DataSource dataSource(MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = new HikariDataSource();
         dataSource.setDriverClassName("com.microsoft.sqlserver.jdbc.SQLServerDriver");
-        dataSource.setUrl(env.getProperty("spring.datasource.url"));
+        dataSource.setJdbcUrl(env.getProperty("spring.datasource.url"));
         dataSource.setUsername(env.getProperty("spring.datasource.username"));
         dataSource.setPassword(env.getProperty("spring.datasource.password"));
+        dataSource.setPoolName(env.getProperty("spring.datasource.hikari.pool-name", "ThreadManagementPool"));
+        dataSource.setMaximumPoolSize(env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 20));
+        dataSource.setMinimumIdle(env.getProperty("spring.datasource.hikari.minimum-idle", Integer.class, 5));
+        dataSource.setConnectionTimeout(env.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 5000L));
+        dataSource.setIdleTimeout(env.getProperty("spring.datasource.hikari.idle-timeout", Long.class, 600000L));
+        dataSource.setMaxLifetime(env.getProperty("spring.datasource.hikari.max-lifetime", Long.class, 1800000L));
+        dataSource.addDataSourceProperty("disableStatementPooling", "false");
+        dataSource.addDataSourceProperty("statementPoolingCacheSize",
+                env.getProperty("thread.datasource.statement-cache-size", Integer.class, 256));
+        dataSource.addDataSourceProperty("useBulkCopyForBatchInsert",
+                env.getProperty("thread.datasource.bulk-copy-for-batch-insert", Boolean.class, false));
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
         return dataSource;
     }
 
     @Bean
-    public LocalContainerEntityManagerFactoryBean entityManagerFactory() {
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
         LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
-        em.setDataSource(dataSource());
+        em.setDataSource(dataSource);
         em.setPackagesToScan("com.example.threadmanagement.model.entity");
 
         HibernateJpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
@@ -49,6 +71,9 @@ public class JpaConfig {
         properties.put("hibernate.hbm2ddl.auto", "update");
         properties.put("hibernate.dialect", "org.hibernate.dialect.SQLServerDialect");
         properties.put("hibernate.show_sql", "true");
+        properties.put("hibernate.jdbc.batch_size", env.getProperty("thread.persistence.insert-batch-size", "1000"));
+        properties.put("hibernate.order_inserts", "true");
+        properties.put("hibernate.order_updates", "true");
         em.setJpaPropertyMap(properties);
 
         return em;
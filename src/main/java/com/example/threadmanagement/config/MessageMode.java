@@ -0,0 +1,18 @@
+package com.example.threadmanagement.config;
+
+/**
+ * Enum representing how sender messages are represented in memory.
+ * Selected through the thread.message.mode property.
+ */
+public enum MessageMode {
+    /**
+     * Every message is a new immutable QueueMessage record.
+     */
+    OBJECT,
+
+    /**
+     * Messages are encoded into recycled slots of a preallocated byte buffer and read through flyweights,
+     * so the message path allocates nothing in steady state. Falls back to records if the pool runs empty.
+     */
+    POOLED
+}
@@ -0,0 +1,46 @@
+package com.example.threadmanagement.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Enum representing the encoding of STOMP payloads sent to a WebSocket session.
+ * A session asks for a format with the accept-payload-format header of its CONNECT frame.
+ */
+public enum PayloadFormat {
+    /**
+     * Jackson JSON text, the default and the only format available over SockJS.
+     */
+    JSON,
+
+    /**
+     * Concise Binary Object Representation (RFC 8949), sent as binary WebSocket frames.
+     */
+    CBOR,
+
+    /**
+     * Jackson's binary JSON format, sent as binary WebSocket frames.
+     */
+    SMILE;
+
+    /**
+     * Returns the name of the format as it appears in STOMP headers.
+     * @return lower case format name
+     */
+    public String headerValue() {
+        return name().toLowerCase();
+    }
+
+    /**
+     * Creates a Jackson factory that reads and writes this format.
+     * @return new factory for the format
+     */
+    public JsonFactory createFactory() {
+        return switch (this) {
+            case JSON -> new JsonFactory();
+            case CBOR -> new CBORFactory();
+            case SMILE -> new SmileFactory();
+        };
+    }
+}
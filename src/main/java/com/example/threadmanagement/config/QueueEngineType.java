@@ -0,0 +1,27 @@
+package com.example.threadmanagement.config;
+
+/**
+ * Enum representing the data structure behind the shared queue.
+ * Selected through the thread.queue.engine property.
+ */
+public enum QueueEngineType {
+    /**
+     * LinkedBlockingQueue with separate locks for producers and consumers.
+     */
+    LINKED_BLOCKING,
+
+    /**
+     * Preallocated ArrayBlockingQueue with a single lock shared by producers and consumers.
+     */
+    ARRAY_BLOCKING,
+
+    /**
+     * Lock-free LinkedTransferQueue, bounded by a semaphore.
+     */
+    LINKED_TRANSFER,
+
+    /**
+     * Preallocated lock-free ring buffer with padded sequences, the capacity is rounded up to a power of two.
+     */
+    RING_BUFFER
+}
@@ -0,0 +1,18 @@
+package com.example.threadmanagement.config;
+
+/**
+ * Enum representing how receiver lifecycles consume the shared queue.
+ * Selected through the thread.receiver.consumption-mode property.
+ */
+public enum ReceiverConsumptionMode {
+    /**
+     * Every receiver polls at most one message per second.
+     */
+    POLL,
+
+    /**
+     * Every receiver blocks until a message arrives and then drains up to its batch size,
+     * optionally lingering to fill the batch.
+     */
+    BATCH
+}
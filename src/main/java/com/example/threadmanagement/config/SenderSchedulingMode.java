@@ -0,0 +1,17 @@
+package com.example.threadmanagement.config;
+
+/**
+ * Enum representing how sender lifecycles are driven.
+ * Selected through the thread.sender.scheduling-mode property.
+ */
+public enum SenderSchedulingMode {
+    /**
+     * Every sender owns a lifecycle task on the lifecycle executor that sleeps between messages.
+     */
+    LOOP,
+
+    /**
+     * Senders are logical entries fired by a shared scheduler, so thousands of senders only cost a few threads.
+     */
+    SCHEDULER
+}
@@ -1,26 +1,71 @@
 package com.example.threadmanagement.config;
 
+import com.example.threadmanagement.domain.metrics.LifecycleExecutorMetrics;
+import com.example.threadmanagement.domain.queue.BlockingQueueEngine;
+import com.example.threadmanagement.domain.queue.RingBufferQueueEngine;
+import com.example.threadmanagement.domain.queue.TransferQueueEngine;
+import com.example.threadmanagement.domain.queue.interfaces.IMessageQueueEngine;
+import com.example.threadmanagement.model.message.interfaces.IQueueMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.*;
 
+@Slf4j
 @Configuration
 public class ThreadConfig {
 
+    @Value("${thread.lifecycle.execution-mode:PLATFORM}")
+    private ExecutionMode executionMode;
+
+    @Value("${thread.queue.capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${thread.queue.engine:LINKED_BLOCKING}")
+    private QueueEngineType queueEngineType;
+
+    @Value("${thread.message.mode:OBJECT}")
+    private MessageMode messageMode;
+
+    /**
+     * Creates the executor that runs sender and receiver lifecycles.
+     * PLATFORM mode keeps the cached pool of daemon OS threads, VIRTUAL mode starts one virtual thread per lifecycle.
+     * @param lifecycleExecutorMetrics metrics component that tracks the threads created by this executor
+     * @return executor service for lifecycle tasks
+     */
     @Bean
-    public ExecutorService executorService() {
-        return Executors.newCachedThreadPool(r -> {
-            Thread thread = new Thread(r);
-            thread.setDaemon(true);
-            return thread;
-        });
+    public ExecutorService executorService(LifecycleExecutorMetrics lifecycleExecutorMetrics) {
+        if (executionMode == ExecutionMode.VIRTUAL) {
+            log.info("Lifecycle tasks run on virtual threads, thread priorities are ignored");
+            return Executors.newThreadPerTaskExecutor(
+                    lifecycleExecutorMetrics.instrument(Thread.ofVirtual().name("lifecycle-virtual-", 0).factory()));
+        }
+
+        return Executors.newCachedThreadPool(
+                lifecycleExecutorMetrics.instrument(Thread.ofPlatform().name("lifecycle-platform-", 0).daemon(true).factory()));
     }
 
+    /**
+     * Creates the bounded queue that senders add messages to and receivers consume from.
+     * The engine behind it is selected by configuration, what a sender does when it is full is decided by its overflow policy.
+     * @return shared message queue
+     */
     @Bean
-    public BlockingQueue<String> sharedQueue() {
-        return new LinkedBlockingQueue<>();
+    public IMessageQueueEngine<IQueueMessage> sharedQueue() {
+        log.info("Shared queue uses the {} engine with capacity {}", queueEngineType, queueCapacity);
+        if (messageMode == MessageMode.POOLED
+                && (queueEngineType == QueueEngineType.LINKED_BLOCKING || queueEngineType == QueueEngineType.LINKED_TRANSFER)) {
+            log.warn("The {} engine allocates a node per message, use ARRAY_BLOCKING or RING_BUFFER for an allocation-free message path", queueEngineType);
+        }
+        return switch (queueEngineType) {
+            case LINKED_BLOCKING -> new BlockingQueueEngine<>(new LinkedBlockingQueue<>(queueCapacity));
+            case ARRAY_BLOCKING -> new BlockingQueueEngine<>(new ArrayBlockingQueue<>(queueCapacity));
+            case LINKED_TRANSFER -> new TransferQueueEngine<>(queueCapacity);
+            case RING_BUFFER -> new RingBufferQueueEngine<>(queueCapacity);
+        };
     }
 
     @Bean
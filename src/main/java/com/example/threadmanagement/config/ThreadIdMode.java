@@ -0,0 +1,24 @@
+package com.example.threadmanagement.config;
+
+/**
+ * Enum representing how the IDs of new sender and receiver threads are generated.
+ * Selected through the thread.id.mode property. Existing IDs are read the same way whatever the mode.
+ */
+public enum ThreadIdMode {
+    /**
+     * Random version 4 UUIDs. New rows land anywhere in the clustered index and split its pages.
+     */
+    RANDOM,
+
+    /**
+     * Version 7 UUIDs with the creation time in the first six bytes. Ordered for stores that compare UUIDs
+     * byte by byte, but not for SQL Server, which compares the last six bytes of a uniqueidentifier first.
+     */
+    TIME_ORDERED,
+
+    /**
+     * Version 8 UUIDs with the creation time in the last six bytes, so SQL Server appends new rows at the end
+     * of the clustered index, like NEWSEQUENTIALID() but generated in the application.
+     */
+    SEQUENTIAL
+}
@@ -1,25 +1,75 @@
 package com.example.threadmanagement.config;
 
+import com.example.threadmanagement.domain.broadcast.MeteredJsonMessageConverter;
+import com.example.threadmanagement.domain.broadcast.PayloadFormatEncoder;
+import com.example.threadmanagement.domain.broadcast.PayloadFormatNegotiator;
+import com.example.threadmanagement.domain.broadcast.SlowConsumerProtection;
+import com.example.threadmanagement.domain.metrics.WebSocketMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    private final PayloadFormatNegotiator payloadFormatNegotiator;
+    private final PayloadFormatEncoder payloadFormatEncoder;
+    private final SlowConsumerProtection slowConsumerProtection;
+    private final WebSocketMetrics webSocketMetrics;
+    private final ObjectMapper objectMapper;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic");  // Enable a simple memory-based message broker
         config.setApplicationDestinationPrefixes("/app"); // Set prefix for messages bound for methods annotated with @MessageMapping
+        config.setUserDestinationPrefix("/user"); // Set prefix for destinations of a single session, e.g. its queue page
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
                 .setAllowedOrigins("http://localhost:3000")  // Replace with your React app URL
-                .withSockJS();  // Fallback options for browsers that don't support WebSocket
+                .addInterceptors(payloadFormatNegotiator);  // Plain WebSocket, may negotiate binary payloads
+        registry.addEndpoint("/ws")
+                .setAllowedOrigins("http://localhost:3000")  // Replace with your React app URL
+                .withSockJS();  // Fallback options for browsers that don't support WebSocket, JSON only
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(slowConsumerProtection.getSendTimeLimitMillis()) // Close sessions whose write takes longer
+                .setSendBufferSizeLimit(slowConsumerProtection.getSendBufferSizeLimit()) // Bytes buffered per session
+                .setMessageSizeLimit(slowConsumerProtection.getMessageSizeLimit()) // Largest inbound STOMP message
+                .addDecoratorFactory(slowConsumerProtection); // Topic-aware buffering and dropping per session
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(payloadFormatNegotiator); // Pick the payload format of a session on CONNECT
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(payloadFormatEncoder); // Encode payloads in the format of the receiving session
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        // Same converters as the defaults, with a JSON converter that records serialization time
+        messageConverters.add(new StringMessageConverter());
+        messageConverters.add(new ByteArrayMessageConverter());
+        messageConverters.add(new MeteredJsonMessageConverter(objectMapper, webSocketMetrics));
+        return false;
     }
-}
\ No newline at end of file
+}
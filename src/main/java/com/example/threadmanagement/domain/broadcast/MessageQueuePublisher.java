@@ -0,0 +1,172 @@
+package com.example.threadmanagement.domain.broadcast;
+
+import com.example.threadmanagement.domain.queue.interfaces.IMessageQueueEngine;
+import com.example.threadmanagement.domain.service.MessageQueueService;
+import com.example.threadmanagement.model.message.interfaces.IQueueMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single publisher of the shared queue pages.
+ * The first page is sent to /topic/messageQueue for everybody. In addition every WebSocket session can register the
+ * page it is viewing and gets only that window on its own user destination, /user/topic/messageQueue/page.
+ * Senders and receivers no longer publish pages themselves. Instead the pages are checked at a fixed interval and
+ * only sent if they changed, so the broadcast cost does not depend on the number of threads.
+ */
+@Component
+@RequiredArgsConstructor
+public class MessageQueuePublisher {
+    public static final String DESTINATION = "/topic/messageQueue";
+    public static final String SESSION_DESTINATION = "/topic/messageQueue/page";
+    public static final int PAGE_SIZE = 14;
+    public static final int MAX_PAGE_SIZE = 200;
+    private static final long[] NO_SIGNATURE = new long[0];
+
+    private final IMessageQueueEngine<IQueueMessage> sharedQueue;
+    private final MessageQueueService messageQueueService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SubscriptionTracker subscriptionTracker;
+
+    private final Map<String, PageSubscription> subscriptions = new ConcurrentHashMap<>();
+
+    private long[] lastSignature = NO_SIGNATURE;
+
+    /**
+     * Registers the page a WebSocket session is viewing, replacing its previous registration.
+     * @param sessionId ID of the WebSocket session
+     * @param page zero-based page number, negative values are treated as 0
+     * @param size number of messages per page, limited to 1..MAX_PAGE_SIZE
+     * @return the current content of the page, to be sent to the session right away
+     */
+    public Page<String> subscribe(String sessionId, int page, int size) {
+        PageSubscription subscription = new PageSubscription(Math.max(page, 0), Math.clamp(size, 1, MAX_PAGE_SIZE));
+        subscription.lastSignature = signature(subscription.page, subscription.size);
+        subscriptions.put(sessionId, subscription);
+        return messageQueueService.getQueuePage(subscription.page, subscription.size);
+    }
+
+    /**
+     * Drops the page registration of a WebSocket session.
+     * @param sessionId ID of the WebSocket session
+     */
+    public void unsubscribe(String sessionId) {
+        subscriptions.remove(sessionId);
+    }
+
+    /**
+     * Drops the page registration of a session when its WebSocket connection is closed.
+     * @param event disconnect event of the session
+     */
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        unsubscribe(event.getSessionId());
+    }
+
+    /**
+     * Returns the number of sessions with a registered page.
+     * @return number of page subscriptions
+     */
+    public int getSubscriptionCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Publishes the first page and every registered page whose content changed since it was last sent.
+     * Sessions viewing the same window share one fingerprint and one page per run. The first page is only looked at
+     * while /topic/messageQueue has subscribers, and is sent again as soon as the first subscriber comes back.
+     * Runs every thread.queue.publish-interval-ms milliseconds, 100 by default.
+     */
+    @Scheduled(fixedDelayString = "${thread.queue.publish-interval-ms:100}")
+    public synchronized void publishIfChanged() {
+        if (subscriptionTracker.hasSubscribers(DESTINATION)) {
+            long[] signature = signature(0, PAGE_SIZE);
+            if (!Arrays.equals(signature, lastSignature)) {
+                lastSignature = signature;
+                messagingTemplate.convertAndSend(DESTINATION, messageQueueService.getQueuePage(0, PAGE_SIZE));
+            }
+        }
+        else {
+            lastSignature = NO_SIGNATURE;
+        }
+
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        Map<Long, long[]> signatures = new HashMap<>();
+        Map<Long, Page<String>> pages = new HashMap<>();
+        for (Map.Entry<String, PageSubscription> entry : subscriptions.entrySet()) {
+            PageSubscription subscription = entry.getValue();
+            Long window = ((long) subscription.page << 32) | subscription.size;
+            long[] windowSignature = signatures.computeIfAbsent(window, key -> signature(subscription.page, subscription.size));
+            if (Arrays.equals(windowSignature, subscription.lastSignature)) {
+                continue;
+            }
+            subscription.lastSignature = windowSignature;
+            Page<String> windowPage = pages.computeIfAbsent(window,
+                    key -> messageQueueService.getQueuePage(subscription.page, subscription.size));
+            sendToSession(entry.getKey(), windowPage);
+        }
+    }
+
+    /**
+     * Sends a page to the user destination of a single session.
+     * Sessions are not authenticated, so the session ID is used as user name.
+     * @param sessionId ID of the WebSocket session
+     * @param page page to send
+     */
+    private void sendToSession(String sessionId, Page<String> page) {
+        SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headerAccessor.setSessionId(sessionId);
+        headerAccessor.setLeaveMutable(true);
+        messagingTemplate.convertAndSendToUser(sessionId, SESSION_DESTINATION, page, headerAccessor.getMessageHeaders());
+    }
+
+    /**
+     * Builds a cheap fingerprint of what a page shows: the queue size and the sender, sequence and
+     * enqueue time of every message on the page. Pooled messages are recycled, so their content is compared
+     * instead of their identity.
+     * @param page zero-based page number
+     * @param size number of messages per page
+     * @return fingerprint of the page
+     */
+    private long[] signature(int page, int size) {
+        int totalMessages = sharedQueue.size();
+        long start = (long) page * size;
+        List<IQueueMessage> window = start > totalMessages ? List.of() : sharedQueue.peekRange((int) start, size);
+        long[] signature = new long[1 + window.size() * 3];
+        signature[0] = totalMessages;
+        for (int i = 0; i < window.size(); i++) {
+            IQueueMessage message = window.get(i);
+            signature[1 + i * 3] = message.senderId().getLeastSignificantBits();
+            signature[2 + i * 3] = message.sequence();
+            signature[3 + i * 3] = message.enqueueNanos();
+        }
+        return signature;
+    }
+
+    /**
+     * Page a session is viewing and the fingerprint of what it was last sent.
+     */
+    private static final class PageSubscription {
+        private final int page;
+        private final int size;
+        private volatile long[] lastSignature;
+
+        private PageSubscription(int page, int size) {
+            this.page = page;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.threadmanagement.domain.broadcast;
+
+import com.example.threadmanagement.config.PayloadFormat;
+import com.example.threadmanagement.domain.metrics.WebSocketMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.DefaultContentTypeResolver;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Jackson message converter for STOMP payloads that records how long serialization takes.
+ * Uses the application's ObjectMapper and marks payloads as application/json, like the default converter.
+ */
+public class MeteredJsonMessageConverter extends MappingJackson2MessageConverter {
+    private final WebSocketMetrics webSocketMetrics;
+
+    public MeteredJsonMessageConverter(ObjectMapper objectMapper, WebSocketMetrics webSocketMetrics) {
+        this.webSocketMetrics = webSocketMetrics;
+        setObjectMapper(objectMapper);
+        DefaultContentTypeResolver contentTypeResolver = new DefaultContentTypeResolver();
+        contentTypeResolver.setDefaultMimeType(MimeTypeUtils.APPLICATION_JSON);
+        setContentTypeResolver(contentTypeResolver);
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        long start = System.nanoTime();
+        Object converted = super.convertToInternal(payload, headers, conversionHint);
+        webSocketMetrics.recordSerialization(PayloadFormat.JSON, System.nanoTime() - start);
+        return converted;
+    }
+}
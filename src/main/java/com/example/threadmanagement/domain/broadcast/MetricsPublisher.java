@@ -0,0 +1,34 @@
+package com.example.threadmanagement.domain.broadcast;
+
+import com.example.threadmanagement.domain.metrics.MetricsSnapshotAggregator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes a metrics snapshot to /topic/metrics at a fixed rate, so operators can watch the load of the node
+ * without polling the REST endpoints. Nothing is aggregated while nobody is subscribed.
+ */
+@Component
+@RequiredArgsConstructor
+public class MetricsPublisher {
+    public static final String DESTINATION = "/topic/metrics";
+
+    private final MetricsSnapshotAggregator metricsSnapshotAggregator;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SubscriptionTracker subscriptionTracker;
+
+    /**
+     * Sends the current snapshot to every subscriber of /topic/metrics.
+     * Runs every thread.metrics.publish-interval-ms milliseconds, 1000 by default.
+     */
+    @Scheduled(fixedRateString = "${thread.metrics.publish-interval-ms:1000}")
+    public void publish() {
+        if (!subscriptionTracker.hasSubscribers(DESTINATION)) {
+            metricsSnapshotAggregator.reset();
+            return;
+        }
+        messagingTemplate.convertAndSend(DESTINATION, metricsSnapshotAggregator.takeSnapshot());
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.threadmanagement.domain.broadcast;
+
+import com.example.threadmanagement.config.PayloadFormat;
+import com.example.threadmanagement.domain.metrics.WebSocketMetrics;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Re-encodes outgoing JSON payloads for sessions that negotiated a binary format.
+ * Payloads are serialized to JSON once by the message converter. The simple broker then hands the same payload
+ * array to every subscribed session, so the binary form is cached by array identity and computed once per
+ * broadcast and format, not once per session. The JSON is transcoded token by token without building a tree.
+ * Binary frames are sent with content-type application/octet-stream, which makes STOMP use binary WebSocket
+ * messages, and name their encoding in the payload-format header.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PayloadFormatEncoder implements ChannelInterceptor {
+    public static final String PAYLOAD_FORMAT_HEADER = "payload-format";
+    private static final int CACHED_PAYLOADS = 16;
+
+    private final PayloadFormatNegotiator payloadFormatNegotiator;
+    private final WebSocketMetrics webSocketMetrics;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Map<PayloadFormat, JsonFactory> binaryFactories = new EnumMap<>(Map.of(
+            PayloadFormat.CBOR, PayloadFormat.CBOR.createFactory(),
+            PayloadFormat.SMILE, PayloadFormat.SMILE.createFactory()));
+    private final Map<PayloadFormat, Map<byte[], byte[]>> encodedPayloads = new EnumMap<>(Map.of(
+            PayloadFormat.CBOR, recentPayloads(),
+            PayloadFormat.SMILE, recentPayloads()));
+
+    /**
+     * Replaces the JSON payload of a MESSAGE frame with the format negotiated by its session
+     * and records the size of every MESSAGE frame.
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE
+                || !(message.getPayload() instanceof byte[] json)) {
+            return message;
+        }
+        PayloadFormat payloadFormat = payloadFormatNegotiator.formatOf(SimpMessageHeaderAccessor.getSessionId(headers));
+        if (payloadFormat == PayloadFormat.JSON || json.length == 0 || !isJson(headers.get(MessageHeaders.CONTENT_TYPE))) {
+            webSocketMetrics.recordFrame(PayloadFormat.JSON, json.length);
+            return message;
+        }
+
+        byte[] encoded;
+        try {
+            encoded = encodedPayloads.get(payloadFormat).computeIfAbsent(json, key -> transcode(key, payloadFormat));
+        }
+        catch (UncheckedIOException e) {
+            log.warn("Could not encode payload as {}, sending JSON instead", payloadFormat, e);
+            webSocketMetrics.recordFrame(PayloadFormat.JSON, json.length);
+            return message;
+        }
+        webSocketMetrics.recordFrame(payloadFormat, encoded.length);
+
+        SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.wrap(message);
+        headerAccessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        headerAccessor.setNativeHeader(PAYLOAD_FORMAT_HEADER, payloadFormat.headerValue());
+        return MessageBuilder.createMessage(encoded, headerAccessor.getMessageHeaders());
+    }
+
+    /**
+     * Copies a JSON document into a binary format.
+     * @param json JSON document
+     * @param payloadFormat binary format to write
+     * @return encoded document
+     */
+    private byte[] transcode(byte[] json, PayloadFormat payloadFormat) {
+        long start = System.nanoTime();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = jsonFactory.createParser(json);
+             JsonGenerator generator = binaryFactories.get(payloadFormat).createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        webSocketMetrics.recordSerialization(payloadFormat, System.nanoTime() - start);
+        return out.toByteArray();
+    }
+
+    private static boolean isJson(Object contentType) {
+        MimeType mimeType = contentType instanceof MimeType type ? type
+                : contentType instanceof String value ? MimeTypeUtils.parseMimeType(value) : null;
+        return mimeType != null && MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(mimeType);
+    }
+
+    /**
+     * Creates a small cache of the last encoded payloads, keyed by the identity of the JSON array.
+     * @return synchronized least recently used map
+     */
+    private static Map<byte[], byte[]> recentPayloads() {
+        return Collections.synchronizedMap(new LinkedHashMap<>(CACHED_PAYLOADS, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<byte[], byte[]> eldest) {
+                return size() > CACHED_PAYLOADS;
+            }
+        });
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.threadmanagement.domain.broadcast;
+
+import com.example.threadmanagement.config.PayloadFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chooses the payload format of every WebSocket session when it connects.
+ * The client lists the formats it accepts in the accept-payload-format header of its CONNECT frame, most preferred
+ * first, e.g. "cbor, json". Binary formats are only chosen for sessions on the plain WebSocket endpoint, because
+ * SockJS transports carry text only. Sessions that ask for nothing or for unknown formats get JSON.
+ */
+@Slf4j
+@Component
+public class PayloadFormatNegotiator implements ChannelInterceptor, HandshakeInterceptor {
+    public static final String ACCEPT_HEADER = "accept-payload-format";
+    static final String BINARY_CAPABLE_ATTRIBUTE = PayloadFormatNegotiator.class.getName() + ".binaryCapable";
+
+    private final Map<String, PayloadFormat> sessionFormats = new ConcurrentHashMap<>();
+
+    /**
+     * Marks sessions opened through an endpoint this interceptor is registered on as able to receive binary frames.
+     */
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        attributes.put(BINARY_CAPABLE_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    /**
+     * Negotiates the payload format of a session from its CONNECT frame. Other frames pass unchanged.
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.CONNECT) {
+            return message;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        Map<String, Object> sessionAttributes = SimpMessageHeaderAccessor.getSessionAttributes(message.getHeaders());
+        boolean binaryCapable = sessionAttributes != null && Boolean.TRUE.equals(sessionAttributes.get(BINARY_CAPABLE_ATTRIBUTE));
+        PayloadFormat payloadFormat = negotiate(
+                NativeMessageHeaderAccessor.getFirstNativeHeader(ACCEPT_HEADER, message.getHeaders()), binaryCapable);
+        if (sessionId != null && payloadFormat != PayloadFormat.JSON) {
+            sessionFormats.put(sessionId, payloadFormat);
+            log.debug("Session {} receives {} payloads", sessionId, payloadFormat);
+        }
+        return message;
+    }
+
+    /**
+     * Returns the payload format negotiated by a session.
+     * @param sessionId ID of the WebSocket session
+     * @return negotiated format, JSON for unknown sessions
+     */
+    public PayloadFormat formatOf(String sessionId) {
+        return sessionId != null ? sessionFormats.getOrDefault(sessionId, PayloadFormat.JSON) : PayloadFormat.JSON;
+    }
+
+    /**
+     * Forgets the payload format of a session when its WebSocket connection is closed.
+     * @param event disconnect event of the session
+     */
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        sessionFormats.remove(event.getSessionId());
+    }
+
+    /**
+     * Picks the first format of the accept list the session can receive.
+     * @param acceptHeader comma separated list of format names, may be null
+     * @param binaryCapable whether the session can receive binary frames
+     * @return chosen format, JSON if nothing else matches
+     */
+    static PayloadFormat negotiate(String acceptHeader, boolean binaryCapable) {
+        if (acceptHeader == null) {
+            return PayloadFormat.JSON;
+        }
+        for (String candidate : acceptHeader.split(",")) {
+            for (PayloadFormat payloadFormat : PayloadFormat.values()) {
+                if (payloadFormat.headerValue().equals(candidate.trim().toLowerCase())
+                        && (payloadFormat == PayloadFormat.JSON || binaryCapable)) {
+                    return payloadFormat;
+                }
+            }
+        }
+        return PayloadFormat.JSON;
+    }
+}
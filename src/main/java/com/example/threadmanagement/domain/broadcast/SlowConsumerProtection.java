@@ -0,0 +1,97 @@
+package com.example.threadmanagement.domain.broadcast;
+
+import com.example.threadmanagement.domain.metrics.WebSocketMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Wraps every WebSocket session in a {@link SlowConsumerSessionDecorator} before the STOMP handler sees it.
+ * Spring still puts its own send buffer in front of each session, but because the decorated session never blocks,
+ * that buffer stays empty and the topic-aware buffer below it decides what is queued and what is dropped.
+ * Flush tasks run on virtual threads, so a client that reads slowly only parks its own flush task.
+ */
+@Component
+@RequiredArgsConstructor
+public class SlowConsumerProtection implements WebSocketHandlerDecoratorFactory {
+    private final WebSocketMetrics webSocketMetrics;
+    private final ExecutorService flushExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Getter
+    @Value("${thread.websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMillis;
+
+    @Getter
+    @Value("${thread.websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Getter
+    @Value("${thread.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${thread.websocket.latest-only-destinations:/topic/messageQueue,/topic/metrics}")
+    private List<String> latestOnlyDestinations;
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new SlowConsumerHandler(handler);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdownNow();
+    }
+
+    /**
+     * Hands the decorated session to the STOMP handler for every callback of a connection.
+     */
+    private final class SlowConsumerHandler extends WebSocketHandlerDecorator {
+        private final Map<String, SlowConsumerSessionDecorator> sessions = new ConcurrentHashMap<>();
+
+        private SlowConsumerHandler(WebSocketHandler delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+            SlowConsumerSessionDecorator decoratedSession = new SlowConsumerSessionDecorator(session, flushExecutor,
+                    sendBufferSizeLimit, sendTimeLimitMillis, latestOnlyDestinations, webSocketMetrics::recordDroppedFrame);
+            sessions.put(session.getId(), decoratedSession);
+            webSocketMetrics.registerSession(session.getId(), decoratedSession,
+                    SlowConsumerSessionDecorator::getQueuedBytes, SlowConsumerSessionDecorator::getDroppedFrames);
+            super.afterConnectionEstablished(decoratedSession);
+        }
+
+        @Override
+        public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+            WebSocketSession decoratedSession = sessions.get(session.getId());
+            super.handleMessage(decoratedSession != null ? decoratedSession : session, message);
+        }
+
+        @Override
+        public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+            WebSocketSession decoratedSession = sessions.get(session.getId());
+            super.handleTransportError(decoratedSession != null ? decoratedSession : session, exception);
+        }
+
+        @Override
+        public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+            SlowConsumerSessionDecorator decoratedSession = sessions.remove(session.getId());
+            webSocketMetrics.removeSession(session.getId());
+            super.afterConnectionClosed(decoratedSession != null ? decoratedSession : session, closeStatus);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.threadmanagement.domain.broadcast;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebSocket session with its own bounded send buffer and a drop policy that depends on the destination of a frame.
+ * Sending never blocks the caller: frames are queued and written by a flush task on the given executor,
+ * so one slow client cannot hold up the outbound channel threads that serve every other client.
+ * <ul>
+ *     <li>Control frames, i.e. everything that is not a MESSAGE and replies to a single session's request
+ *     (/app and /user destinations), are never dropped.</li>
+ *     <li>Frames of latest-only destinations carry a full state, like the queue page. A queued frame of the same
+ *     destination and subscription is replaced by the newer one, so the client only ever gets the latest.</li>
+ *     <li>Any other frame is dropped if it does not fit into the buffer. Thread change events are versioned,
+ *     so the client notices the gap and loads a new snapshot.</li>
+ * </ul>
+ * A session whose current write takes longer than the send time limit is closed.
+ */
+@Slf4j
+public class SlowConsumerSessionDecorator extends WebSocketSessionDecorator {
+    private static final int MAX_HEADER_BYTES = 1024;
+
+    enum FrameKind {
+        CONTROL,
+        LATEST_ONLY,
+        DROPPABLE
+    }
+
+    private final Executor flushExecutor;
+    private final long bufferSizeLimit;
+    private final long sendTimeLimitNanos;
+    private final List<String> latestOnlyDestinations;
+    private final Runnable droppedFrameListener;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<PendingFrame> pendingFrames = new ArrayDeque<>();
+    private final Map<String, PendingFrame> pendingLatestFrames = new HashMap<>();
+    private volatile long queuedBytes;
+    private volatile long droppedFrames;
+    private volatile long sendStartNanos;
+    private volatile boolean closed;
+    private boolean flushing;
+
+    /**
+     * @param delegate session to write to
+     * @param flushExecutor executor running the flush task of the session
+     * @param bufferSizeLimit maximum number of queued bytes before droppable frames are dropped
+     * @param sendTimeLimitMillis maximum time a single write may take before the session is closed
+     * @param latestOnlyDestinations destination prefixes whose frames only the latest one matters of
+     * @param droppedFrameListener called every time a frame is dropped or replaced
+     */
+    public SlowConsumerSessionDecorator(WebSocketSession delegate, Executor flushExecutor, long bufferSizeLimit,
+                                        long sendTimeLimitMillis, List<String> latestOnlyDestinations,
+                                        Runnable droppedFrameListener) {
+        super(delegate);
+        this.flushExecutor = flushExecutor;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMillis);
+        this.latestOnlyDestinations = latestOnlyDestinations;
+        this.droppedFrameListener = droppedFrameListener;
+    }
+
+    /**
+     * Queues a frame for sending according to its kind and starts a flush task if none is running.
+     * @param message STOMP frame to send
+     */
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (closed) {
+            return;
+        }
+        if (isSendTimeLimitExceeded()) {
+            log.warn("Closing WebSocket session {}, a write is taking longer than {} ms", getId(),
+                    TimeUnit.NANOSECONDS.toMillis(sendTimeLimitNanos));
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+            return;
+        }
+
+        PendingFrame frame = classify(message);
+        synchronized (lock) {
+            if (frame.kind == FrameKind.LATEST_ONLY) {
+                PendingFrame queued = pendingLatestFrames.get(frame.key);
+                if (queued != null) {
+                    queuedBytes += frame.size - queued.size;
+                    queued.message = frame.message;
+                    queued.size = frame.size;
+                    frameDropped();
+                    return;
+                }
+            }
+            if (frame.kind != FrameKind.CONTROL && queuedBytes + frame.size > bufferSizeLimit) {
+                frameDropped();
+                return;
+            }
+            pendingFrames.addLast(frame);
+            if (frame.kind == FrameKind.LATEST_ONLY) {
+                pendingLatestFrames.put(frame.key, frame);
+            }
+            queuedBytes += frame.size;
+            if (!flushing) {
+                flushing = true;
+                flushExecutor.execute(this::flush);
+            }
+        }
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        closed = true;
+        synchronized (lock) {
+            pendingFrames.clear();
+            pendingLatestFrames.clear();
+            queuedBytes = 0;
+        }
+        getDelegate().close(status);
+    }
+
+    /**
+     * Returns the number of bytes waiting to be written to the client.
+     * @return queued bytes
+     */
+    public long getQueuedBytes() {
+        return queuedBytes;
+    }
+
+    /**
+     * Returns the number of frames dropped or replaced by a newer frame since the session was opened.
+     * @return dropped frames
+     */
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    /**
+     * Writes queued frames one after the other until the queue is empty.
+     */
+    private void flush() {
+        while (true) {
+            PendingFrame frame;
+            synchronized (lock) {
+                frame = pendingFrames.pollFirst();
+                if (frame == null || closed) {
+                    flushing = false;
+                    return;
+                }
+                if (frame.kind == FrameKind.LATEST_ONLY) {
+                    pendingLatestFrames.remove(frame.key);
+                }
+            }
+            sendStartNanos = System.nanoTime();
+            try {
+                getDelegate().sendMessage(frame.message);
+            }
+            catch (IOException | RuntimeException e) {
+                log.debug("Failed to send to WebSocket session {}, closing it", getId(), e);
+                closeQuietly();
+            }
+            finally {
+                sendStartNanos = 0;
+                synchronized (lock) {
+                    queuedBytes = Math.max(0, queuedBytes - frame.size);
+                }
+            }
+        }
+    }
+
+    private boolean isSendTimeLimitExceeded() {
+        long start = sendStartNanos;
+        return start != 0 && System.nanoTime() - start > sendTimeLimitNanos;
+    }
+
+    private void frameDropped() {
+        droppedFrames++;
+        droppedFrameListener.run();
+    }
+
+    private void closeQuietly() {
+        try {
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+        }
+        catch (IOException | RuntimeException e) {
+            log.debug("Failed to close WebSocket session {}", getId(), e);
+        }
+    }
+
+    /**
+     * Determines the kind of a STOMP frame from its command and destination header.
+     * Only the header block is read, the body is never decoded.
+     * @param message STOMP frame
+     * @return frame with its kind and replacement key
+     */
+    PendingFrame classify(WebSocketMessage<?> message) {
+        String headers = headerBlock(message);
+        int commandEnd = headers.indexOf('\n');
+        String command = commandEnd < 0 ? headers : headers.substring(0, commandEnd);
+        String destination = header(headers, "destination");
+        if (!"MESSAGE".equals(command) || destination == null) {
+            return new PendingFrame(FrameKind.CONTROL, null, message);
+        }
+
+        String topic = destination.startsWith("/user/") ? destination.substring("/user".length()) : destination;
+        for (String latestOnlyDestination : latestOnlyDestinations) {
+            if (topic.startsWith(latestOnlyDestination)) {
+                return new PendingFrame(FrameKind.LATEST_ONLY, destination + '\n' + header(headers, "subscription"), message);
+            }
+        }
+        if (destination.startsWith("/user/") || destination.startsWith("/app/")) {
+            return new PendingFrame(FrameKind.CONTROL, null, message);
+        }
+        return new PendingFrame(FrameKind.DROPPABLE, null, message);
+    }
+
+    private static String headerBlock(WebSocketMessage<?> message) {
+        String frame;
+        if (message instanceof TextMessage textMessage) {
+            String payload = textMessage.getPayload();
+            frame = payload.substring(0, Math.min(payload.length(), MAX_HEADER_BYTES));
+        }
+        else if (message instanceof BinaryMessage binaryMessage) {
+            ByteBuffer payload = binaryMessage.getPayload().duplicate();
+            byte[] head = new byte[Math.min(payload.remaining(), MAX_HEADER_BYTES)];
+            payload.get(head);
+            frame = new String(head, StandardCharsets.UTF_8);
+        }
+        else {
+            return "";
+        }
+        int headerEnd = frame.indexOf("\n\n");
+        return headerEnd < 0 ? frame : frame.substring(0, headerEnd);
+    }
+
+    private static String header(String headers, String name) {
+        String prefix = '\n' + name + ':';
+        int start = headers.indexOf(prefix);
+        if (start < 0) {
+            return null;
+        }
+        start += prefix.length();
+        int end = headers.indexOf('\n', start);
+        return end < 0 ? headers.substring(start) : headers.substring(start, end);
+    }
+
+    /**
+     * Frame waiting to be written. The message of a latest-only frame is replaced in place by newer frames.
+     */
+    static final class PendingFrame {
+        private final FrameKind kind;
+        private final String key;
+        private WebSocketMessage<?> message;
+        private int size;
+
+        private PendingFrame(FrameKind kind, String key, WebSocketMessage<?> message) {
+            this.kind = kind;
+            this.key = key;
+            this.message = message;
+            this.size = message.getPayloadLength();
+        }
+
+        FrameKind getKind() {
+            return kind;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.threadmanagement.domain.broadcast;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the STOMP subscriptions per destination from the session events of the WebSocket handler.
+ * Publishers ask it before building a payload, so a node without any open dashboard does no broadcast work.
+ * Pattern subscriptions like /topic/** are matched the way the simple broker matches them.
+ */
+@Component
+public class SubscriptionTracker {
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, Integer> subscriberCounts = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, String>> sessionSubscriptions = new ConcurrentHashMap<>();
+
+    /**
+     * Returns whether at least one session is subscribed to a destination.
+     * @param destination broker destination, e.g. /topic/senderThreads
+     * @return true if a message sent to the destination would reach a client
+     */
+    public boolean hasSubscribers(String destination) {
+        if (subscriberCounts.containsKey(destination)) {
+            return true;
+        }
+        for (String subscribed : subscriberCounts.keySet()) {
+            if (pathMatcher.isPattern(subscribed) && pathMatcher.match(subscribed, destination)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of sessions subscribed to exactly this destination.
+     * @param destination subscribed destination
+     * @return number of subscriptions
+     */
+    public int getSubscriberCount(String destination) {
+        return subscriberCounts.getOrDefault(destination, 0);
+    }
+
+    /**
+     * Counts a new subscription, replacing an earlier one with the same subscription ID.
+     * @param event subscribe event of a session
+     */
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        Message<byte[]> message = event.getMessage();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders());
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (sessionId == null || subscriptionId == null || destination == null) {
+            return;
+        }
+        String previous = sessionSubscriptions.computeIfAbsent(sessionId, key -> new ConcurrentHashMap<>())
+                .put(subscriptionId, destination);
+        if (previous != null) {
+            decrement(previous);
+        }
+        subscriberCounts.merge(destination, 1, Integer::sum);
+    }
+
+    /**
+     * Removes a subscription a session cancelled.
+     * @param event unsubscribe event of a session
+     */
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        Message<byte[]> message = event.getMessage();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders());
+        if (sessionId == null || subscriptionId == null) {
+            return;
+        }
+        Map<String, String> subscriptions = sessionSubscriptions.get(sessionId);
+        String destination = subscriptions != null ? subscriptions.remove(subscriptionId) : null;
+        if (destination != null) {
+            decrement(destination);
+        }
+    }
+
+    /**
+     * Removes every subscription of a closed session.
+     * @param event disconnect event of the session
+     */
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = sessionSubscriptions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::decrement);
+        }
+    }
+
+    private void decrement(String destination) {
+        subscriberCounts.computeIfPresent(destination, (key, count) -> count > 1 ? count - 1 : null);
+    }
+}
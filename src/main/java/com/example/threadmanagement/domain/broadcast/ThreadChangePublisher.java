@@ -0,0 +1,155 @@
+package com.example.threadmanagement.domain.broadcast;
+
+import com.example.threadmanagement.model.dto.ThreadChangeEventDto;
+import com.example.threadmanagement.model.dto.ThreadChangeType;
+import com.example.threadmanagement.model.dto.ThreadSnapshotDto;
+import com.example.threadmanagement.model.entity.ThreadType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Publishes thread changes to /topic/senderThreads and /topic/receiverThreads as delta events.
+ * Every event carries a version that grows by one per event and per thread type, so the size of a broadcast
+ * depends on the number of changed threads and not on the number of existing threads.
+ * Clients load a snapshot once on subscribe and apply every event with a higher version on top of it.
+ * Nothing is built or sent while a topic has no subscribers. Clients subscribe to the topic before they ask for the
+ * snapshot, so a change skipped before their subscription is already contained in the snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+public class ThreadChangePublisher {
+    public static final String SENDER_DESTINATION = "/topic/senderThreads";
+    public static final String RECEIVER_DESTINATION = "/topic/receiverThreads";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SubscriptionTracker subscriptionTracker;
+
+    private final Map<ThreadType, long[]> versions = new EnumMap<>(Map.of(
+            ThreadType.SENDER, new long[1],
+            ThreadType.RECEIVER, new long[1]));
+
+    /**
+     * Publishes one CREATED event per created thread in a single message.
+     * @param threadType type of the created threads
+     * @param threads created threads
+     * @param idOf function returning the ID of a thread
+     */
+    public <T> void publishCreated(ThreadType threadType, List<T> threads, Function<T, UUID> idOf) {
+        if (threads.isEmpty() || !hasSubscribers(threadType)) {
+            return;
+        }
+        long[] version = versions.get(threadType);
+        synchronized (version) {
+            List<ThreadChangeEventDto<T>> events = new ArrayList<>(threads.size());
+            for (T thread : threads) {
+                events.add(new ThreadChangeEventDto<>(ThreadChangeType.CREATED, ++version[0], idOf.apply(thread), thread));
+            }
+            messagingTemplate.convertAndSend(destination(threadType), events);
+        }
+    }
+
+    /**
+     * Publishes an UPDATED event carrying the thread as it is after the change.
+     * @param threadType type of the updated thread
+     * @param id ID of the updated thread
+     * @param thread updated thread
+     */
+    public <T> void publishUpdated(ThreadType threadType, UUID id, T thread) {
+        if (!hasSubscribers(threadType)) {
+            return;
+        }
+        long[] version = versions.get(threadType);
+        synchronized (version) {
+            messagingTemplate.convertAndSend(destination(threadType),
+                    List.of(new ThreadChangeEventDto<>(ThreadChangeType.UPDATED, ++version[0], id, thread)));
+        }
+    }
+
+    /**
+     * Publishes one UPDATED event per thread in a single message, used by bulk updates.
+     * @param threadType type of the updated threads
+     * @param threads updated threads as they are after the change
+     * @param idOf function returning the ID of a thread
+     */
+    public <T> void publishUpdated(ThreadType threadType, List<T> threads, Function<T, UUID> idOf) {
+        if (threads.isEmpty() || !hasSubscribers(threadType)) {
+            return;
+        }
+        long[] version = versions.get(threadType);
+        synchronized (version) {
+            List<ThreadChangeEventDto<T>> events = new ArrayList<>(threads.size());
+            for (T thread : threads) {
+                events.add(new ThreadChangeEventDto<>(ThreadChangeType.UPDATED, ++version[0], idOf.apply(thread), thread));
+            }
+            messagingTemplate.convertAndSend(destination(threadType), events);
+        }
+    }
+
+    /**
+     * Publishes one DELETED event per deleted thread in a single message.
+     * @param threadType type of the deleted threads
+     * @param ids IDs of the deleted threads
+     */
+    public void publishDeleted(ThreadType threadType, Collection<UUID> ids) {
+        if (ids.isEmpty() || !hasSubscribers(threadType)) {
+            return;
+        }
+        long[] version = versions.get(threadType);
+        synchronized (version) {
+            List<ThreadChangeEventDto<Object>> events = new ArrayList<>(ids.size());
+            for (UUID id : ids) {
+                events.add(new ThreadChangeEventDto<>(ThreadChangeType.DELETED, ++version[0], id, null));
+            }
+            messagingTemplate.convertAndSend(destination(threadType), events);
+        }
+    }
+
+    /**
+     * Builds a snapshot of all threads of one type together with the version it is valid for.
+     * The version is read before the threads are loaded. Every event up to that version was published after its
+     * change was stored, so the loaded threads contain it. Later events may already be contained as well, which
+     * is harmless because applying a CREATED, UPDATED or DELETED event twice gives the same result.
+     * @param threadType type of the threads
+     * @param loader loads all threads of the type
+     * @return snapshot of the threads
+     */
+    public <T> ThreadSnapshotDto<T> snapshot(ThreadType threadType, Supplier<List<T>> loader) {
+        long version = currentVersion(threadType);
+        return new ThreadSnapshotDto<>(version, loader.get());
+    }
+
+    /**
+     * Returns the version of the last published event of one thread type.
+     * @param threadType type of the threads
+     * @return current version, 0 if nothing was published yet
+     */
+    public long currentVersion(ThreadType threadType) {
+        long[] version = versions.get(threadType);
+        synchronized (version) {
+            return version[0];
+        }
+    }
+
+    /**
+     * Returns whether any client listens to the changes of one thread type.
+     * Callers use it to skip loading the data of an event nobody would receive.
+     * @param threadType type of the threads
+     * @return true if the topic of the thread type has at least one subscriber
+     */
+    public boolean hasSubscribers(ThreadType threadType) {
+        return subscriptionTracker.hasSubscribers(destination(threadType));
+    }
+
+    private String destination(ThreadType threadType) {
+        return threadType == ThreadType.SENDER ? SENDER_DESTINATION : RECEIVER_DESTINATION;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.threadmanagement.domain.lifecycle;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared scheduler that fires the produce tick of logical senders.
+ * Each sender is a self-rescheduling entry on a small scheduled pool instead of a sleeping thread,
+ * so the number of threads does not grow with the number of senders.
+ * Ticks are scheduled against an absolute deadline, so execution delays do not accumulate into drift.
+ */
+@Slf4j
+@Component
+public class SenderTickScheduler {
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final Map<UUID, ScheduledTick> scheduledTicks = new ConcurrentHashMap<>();
+    private final Timer lagTimer;
+    private final Counter skippedTicksCounter;
+
+    public SenderTickScheduler(MeterRegistry meterRegistry,
+                               @Value("${thread.sender.scheduler-threads:2}") int schedulerThreads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.scheduler = new ScheduledThreadPoolExecutor(schedulerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sender-scheduler-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+
+        this.lagTimer = Timer.builder("threadmanagement.scheduler.lag")
+                .description("Delay between the planned and the actual firing time of a sender tick")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.skippedTicksCounter = Counter.builder("threadmanagement.scheduler.ticks.skipped")
+                .description("Sender ticks skipped because the scheduler fell behind by more than one period")
+                .register(meterRegistry);
+        Gauge.builder("threadmanagement.scheduler.senders", scheduledTicks, Map::size)
+                .description("Logical senders currently registered on the scheduler")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers a sender on the scheduler. The first tick fires one period from now.
+     * The sender stays scheduled while its control block is active for the given generation.
+     * @param controlBlock control block of the sender, also providing its period
+     * @param generation generation the sender was started with
+     * @param tick action producing the sender's message(s)
+     */
+    public void schedule(ThreadControlBlock controlBlock, long generation, Runnable tick) {
+        ScheduledTick scheduledTick = new ScheduledTick(controlBlock, generation, tick);
+        ScheduledTick previousTick = scheduledTicks.put(controlBlock.getThreadId(), scheduledTick);
+        if (previousTick != null) {
+            previousTick.cancel();
+        }
+        scheduledTick.start();
+    }
+
+    /**
+     * Checks whether a sender currently has a live entry on the scheduler.
+     * @param id ID of the sender thread
+     * @return true if the sender is scheduled
+     */
+    public boolean isScheduled(UUID id) {
+        ScheduledTick scheduledTick = scheduledTicks.get(id);
+        return scheduledTick != null && !scheduledTick.cancelled;
+    }
+
+    /**
+     * Removes a sender from the scheduler. A tick that is already executing completes, no further tick fires.
+     * @param id ID of the sender thread
+     */
+    public void cancel(UUID id) {
+        ScheduledTick scheduledTick = scheduledTicks.remove(id);
+        if (scheduledTick != null) {
+            scheduledTick.cancel();
+        }
+    }
+
+    /**
+     * Returns the number of scheduler threads currently executing a tick.
+     * @return active scheduler threads
+     */
+    public int getActiveCount() {
+        return scheduler.getActiveCount();
+    }
+
+    /**
+     * Returns the number of senders registered on the scheduler.
+     * @return scheduled senders
+     */
+    public int getScheduledCount() {
+        return scheduledTicks.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Scheduler entry of one logical sender.
+     */
+    private final class ScheduledTick implements Runnable {
+        private final ThreadControlBlock controlBlock;
+        private final long generation;
+        private final Runnable tick;
+        private long nextFireNanos;
+        private volatile boolean cancelled;
+        private volatile ScheduledFuture<?> future;
+
+        private ScheduledTick(ThreadControlBlock controlBlock, long generation, Runnable tick) {
+            this.controlBlock = controlBlock;
+            this.generation = generation;
+            this.tick = tick;
+        }
+
+        private void start() {
+            nextFireNanos = System.nanoTime() + controlBlock.getPeriodNanos();
+            future = scheduler.schedule(this, controlBlock.getPeriodNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        private void cancel() {
+            cancelled = true;
+            ScheduledFuture<?> scheduledFuture = future;
+            if (scheduledFuture != null) {
+                scheduledFuture.cancel(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (cancelled || !controlBlock.isActive(generation)) {
+                scheduledTicks.remove(controlBlock.getThreadId(), this);
+                return;
+            }
+
+            long now = System.nanoTime();
+            lagTimer.record(Math.max(0, now - nextFireNanos), TimeUnit.NANOSECONDS);
+
+            try {
+                tick.run();
+            } catch (RuntimeException e) {
+                log.error("Tick of sender {} failed", controlBlock.getThreadId(), e);
+            }
+
+            long periodNanos = controlBlock.getPeriodNanos();
+            nextFireNanos += periodNanos;
+            if (nextFireNanos < now) {
+                long missedTicks = (now - nextFireNanos) / periodNanos + 1;
+                skippedTicksCounter.increment(missedTicks);
+                nextFireNanos += missedTicks * periodNanos;
+            }
+
+            if (!cancelled) {
+                future = scheduler.schedule(this, nextFireNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
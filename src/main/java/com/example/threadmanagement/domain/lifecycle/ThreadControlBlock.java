@@ -0,0 +1,193 @@
+package com.example.threadmanagement.domain.lifecycle;
+
+import com.example.threadmanagement.model.entity.OverflowPolicy;
+import com.example.threadmanagement.model.entity.ThreadState;
+import com.example.threadmanagement.model.entity.ThreadType;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory control block of a single sender or receiver thread.
+ * Lifecycle loops read state and priority from here instead of querying the database on every iteration,
+ * the database only keeps the durable copy.
+ */
+@Getter
+public class ThreadControlBlock {
+
+    /**
+     * Unique identifier of the controlled thread.
+     */
+    private final UUID threadId;
+
+    /**
+     * Type of the controlled thread (SENDER or RECEIVER).
+     */
+    private final ThreadType type;
+
+    /**
+     * Current state of the thread, written by the service and read by the running lifecycle.
+     */
+    @Setter
+    private volatile ThreadState state;
+
+    /**
+     * Current priority of the thread, applied by the running lifecycle on its next iteration.
+     */
+    @Setter
+    private volatile Integer priority;
+
+    /**
+     * Interval between two produce ticks of a sender when it is driven by the shared scheduler.
+     */
+    @Setter
+    private volatile long periodNanos = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Target production rate of a sender in messages per second.
+     */
+    private volatile double rate = 1;
+
+    /**
+     * Number of messages a sender may send back to back after being idle.
+     */
+    private volatile int burst = 1;
+
+    /**
+     * What a sender does when the shared queue is full.
+     */
+    @Setter
+    private volatile OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    /**
+     * Maximum number of messages a receiver consumes in one batch.
+     */
+    @Setter
+    private volatile int batchSize = 1;
+
+    /**
+     * Time in milliseconds a receiver waits for more messages to fill a batch.
+     */
+    @Setter
+    private volatile long lingerMillis;
+
+    /**
+     * Token bucket pacing the messages of a sender, one message per second unless configured otherwise.
+     */
+    private final TokenBucket tokenBucket = new TokenBucket(1, 1);
+
+    /**
+     * Set once the thread has been deleted, a removed block never becomes active again.
+     */
+    private volatile boolean removed;
+
+    /**
+     * Incremented every time a new lifecycle task is started for this thread.
+     * A task only keeps running while the generation it was started with is still the current one.
+     */
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Sequence number of the last message created by a sender, kept across restarts of its lifecycle.
+     */
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong messageSequence = new AtomicLong();
+
+    /**
+     * Messages a sender added to the shared queue or a receiver consumed from it, kept across restarts of its lifecycle.
+     */
+    @Getter(AccessLevel.NONE)
+    private final LongAdder processedMessages = new LongAdder();
+
+    public ThreadControlBlock(UUID threadId, ThreadType type, ThreadState state, Integer priority) {
+        this.threadId = threadId;
+        this.type = type;
+        this.state = state;
+        this.priority = priority;
+    }
+
+    /**
+     * Returns the generation of the most recently started lifecycle task.
+     * @return current generation
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Starts a new generation, which makes every lifecycle task started before it stale.
+     * @return the new generation to hand to the task being started
+     */
+    public long nextGeneration() {
+        return generation.incrementAndGet();
+    }
+
+    /**
+     * Returns the sequence number for the next message of a sender.
+     * @return next message sequence number, starting at one
+     */
+    public long nextMessageSequence() {
+        return messageSequence.incrementAndGet();
+    }
+
+    /**
+     * Counts messages the thread produced or consumed.
+     * @param messages number of messages
+     */
+    public void recordProcessed(long messages) {
+        processedMessages.add(messages);
+    }
+
+    /**
+     * Returns the number of messages the thread produced or consumed since it was registered.
+     * @return processed messages
+     */
+    public long getProcessedMessages() {
+        return processedMessages.sum();
+    }
+
+    /**
+     * Checks whether a lifecycle task started with the given generation should keep running.
+     * @param taskGeneration generation the task was started with
+     * @return true if the thread is running, not removed and the task is the current generation
+     */
+    public boolean isActive(long taskGeneration) {
+        return !removed && state == ThreadState.RUNNING && generation.get() == taskGeneration;
+    }
+
+    /**
+     * Configures the production rate of a sender.
+     * The scheduler period is the message interval, but never shorter than the minimum period, in which case
+     * every tick sends all tokens accumulated since the previous one. The bucket capacity is raised to cover
+     * one period (or one minimum period) of tokens, so wake-up jitter does not lower the effective rate.
+     * @param ratePerSecond target number of messages per second, may be fractional
+     * @param burst number of messages that may be sent back to back after an idle period
+     * @param minPeriodNanos shortest allowed interval between two scheduler ticks
+     * @throws IllegalArgumentException if the rate is not a positive finite number
+     */
+    public void configureRate(double ratePerSecond, int burst, long minPeriodNanos) {
+        if (!Double.isFinite(ratePerSecond) || ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be a positive finite number");
+        }
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        // At least one nanosecond, the scheduler divides by the period to count missed ticks
+        long period = Math.max(1, Math.max(intervalNanos, minPeriodNanos));
+        tokenBucket.configure(ratePerSecond, Math.max(burst, ratePerSecond * minPeriodNanos / TimeUnit.SECONDS.toNanos(1)));
+        this.rate = ratePerSecond;
+        this.burst = burst;
+        this.periodNanos = period;
+    }
+
+    /**
+     * Marks the thread as deleted so that its lifecycle task stops.
+     */
+    void markRemoved() {
+        this.removed = true;
+        this.state = ThreadState.STOPPED;
+    }
+}
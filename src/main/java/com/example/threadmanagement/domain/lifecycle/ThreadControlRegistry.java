@@ -0,0 +1,92 @@
+package com.example.threadmanagement.domain.lifecycle;
+
+import com.example.threadmanagement.model.entity.ThreadState;
+import com.example.threadmanagement.model.entity.ThreadType;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the in-memory control blocks of all sender and receiver threads known to this node.
+ * Services update the blocks on every state or priority change so running lifecycles see the change immediately.
+ */
+@Component
+public class ThreadControlRegistry {
+    private final Map<UUID, ThreadControlBlock> controlBlocks = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a thread or updates the state and priority of an already registered one.
+     * @param id ID of the thread
+     * @param type type of the thread
+     * @param state current state of the thread
+     * @param priority current priority of the thread
+     * @return control block of the thread
+     */
+    public ThreadControlBlock register(UUID id, ThreadType type, ThreadState state, Integer priority) {
+        ThreadControlBlock controlBlock = controlBlocks.computeIfAbsent(id,
+                key -> new ThreadControlBlock(key, type, state, priority));
+        if (state != null) {
+            controlBlock.setState(state);
+        }
+        if (priority != null) {
+            controlBlock.setPriority(priority);
+        }
+        return controlBlock;
+    }
+
+    /**
+     * Retrieves the control block of a thread.
+     * @param id ID of the thread
+     * @return Optional containing the control block if the thread is registered, empty otherwise
+     */
+    public Optional<ThreadControlBlock> get(UUID id) {
+        return Optional.ofNullable(controlBlocks.get(id));
+    }
+
+    /**
+     * Returns the control blocks of all registered threads.
+     * @return unmodifiable, weakly consistent view of the control blocks
+     */
+    public Collection<ThreadControlBlock> getAll() {
+        return Collections.unmodifiableCollection(controlBlocks.values());
+    }
+
+    /**
+     * Removes a thread from the registry and marks its control block as removed.
+     * @param id ID of the thread to remove
+     * @return Optional containing the removed control block, empty if the thread was not registered
+     */
+    public Optional<ThreadControlBlock> remove(UUID id) {
+        ThreadControlBlock controlBlock = controlBlocks.remove(id);
+        if (controlBlock != null) {
+            controlBlock.markRemoved();
+        }
+        return Optional.ofNullable(controlBlock);
+    }
+
+    /**
+     * Removes every thread of the given type from the registry.
+     * @param type type of the threads to remove
+     * @return IDs of the removed threads
+     */
+    public List<UUID> removeAll(ThreadType type) {
+        List<UUID> removedIds = new ArrayList<>();
+        Iterator<ThreadControlBlock> iterator = controlBlocks.values().iterator();
+        while (iterator.hasNext()) {
+            ThreadControlBlock controlBlock = iterator.next();
+            if (controlBlock.getType() == type) {
+                iterator.remove();
+                controlBlock.markRemoved();
+                removedIds.add(controlBlock.getThreadId());
+            }
+        }
+        return removedIds;
+    }
+}
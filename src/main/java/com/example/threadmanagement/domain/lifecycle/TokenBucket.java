@@ -0,0 +1,85 @@
+package com.example.threadmanagement.domain.lifecycle;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token bucket used to pace the messages of a single sender.
+ * Tokens are refilled continuously from System.nanoTime, so fractional rates (e.g. 0.2 msg/s) and
+ * high rates (10k+ msg/s) are both paced accurately: a late wake-up is compensated by the tokens
+ * accumulated in the meantime, up to the bucket capacity.
+ */
+public class TokenBucket {
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private double tokensPerNano;
+    private double capacity;
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * Creates an empty bucket, so the first token becomes available after one interval.
+     * @param ratePerSecond tokens added per second, must be positive
+     * @param capacity maximum number of tokens that can be accumulated
+     */
+    public TokenBucket(double ratePerSecond, double capacity) {
+        this.lastRefillNanos = System.nanoTime();
+        configure(ratePerSecond, capacity);
+    }
+
+    /**
+     * Changes rate and capacity. Tokens accumulated so far are kept, bounded by the new capacity.
+     * @param ratePerSecond tokens added per second, must be positive
+     * @param capacity maximum number of tokens that can be accumulated
+     */
+    public synchronized void configure(double ratePerSecond, double capacity) {
+        if (ratePerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("Rate must be positive and capacity at least one token");
+        }
+        refill(System.nanoTime());
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = capacity;
+        this.tokens = Math.min(tokens, capacity);
+    }
+
+    /**
+     * Takes up to the given number of tokens without blocking.
+     * @param maxTokens maximum number of tokens to take
+     * @return number of tokens taken, zero if none is available
+     */
+    public synchronized int tryAcquire(int maxTokens) {
+        refill(System.nanoTime());
+        int granted = (int) Math.min(maxTokens, Math.floor(tokens));
+        tokens -= granted;
+        return granted;
+    }
+
+    /**
+     * Takes one token, parking the calling thread until it becomes available.
+     * The thread is parked in bounded slices, so rate changes are picked up while waiting.
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                refill(System.nanoTime());
+                if (tokens >= 1) {
+                    tokens -= 1;
+                    return;
+                }
+                waitNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+
+            LockSupport.parkNanos(this, Math.min(waitNanos, MAX_PARK_NANOS));
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+    }
+}
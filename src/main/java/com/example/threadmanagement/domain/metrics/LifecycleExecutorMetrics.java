@@ -0,0 +1,84 @@
+package com.example.threadmanagement.domain.metrics;
+
+import com.example.threadmanagement.config.ExecutionMode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exposes gauges that compare how many OS threads the lifecycle executor needs in each execution mode.
+ * Both modes publish the same meter names tagged with the active mode, so dashboards can put them side by side.
+ * The carriers of virtual threads belong to the JDK scheduler, which does not expose its live pool size before
+ * JDK 24, so in VIRTUAL mode the carrier gauges report the scheduler's configured parallelism and maximum pool size.
+ * Both are read once at startup, so no gauge walks the JVM's threads.
+ */
+@Component
+public class LifecycleExecutorMetrics {
+    private static final String SCHEDULER_PARALLELISM_PROPERTY = "jdk.virtualThreadScheduler.parallelism";
+    private static final String SCHEDULER_MAX_POOL_SIZE_PROPERTY = "jdk.virtualThreadScheduler.maxPoolSize";
+    private static final int DEFAULT_SCHEDULER_MAX_POOL_SIZE = 256;
+
+    private final AtomicInteger liveLifecycleThreads = new AtomicInteger();
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    public LifecycleExecutorMetrics(MeterRegistry meterRegistry,
+                                    @Value("${thread.lifecycle.execution-mode:PLATFORM}") ExecutionMode executionMode) {
+        Tags tags = Tags.of("mode", executionMode.name());
+
+        Gauge.builder("threadmanagement.lifecycle.threads.live", liveLifecycleThreads, AtomicInteger::get)
+                .description("Lifecycle threads (platform or virtual) that are currently alive")
+                .tags(tags)
+                .register(meterRegistry);
+        if (executionMode == ExecutionMode.VIRTUAL) {
+            int parallelism = Integer.getInteger(SCHEDULER_PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors());
+            int maxPoolSize = Integer.getInteger(SCHEDULER_MAX_POOL_SIZE_PROPERTY, Math.max(parallelism, DEFAULT_SCHEDULER_MAX_POOL_SIZE));
+            Gauge.builder("threadmanagement.lifecycle.carrier.threads", () -> parallelism)
+                    .description("OS threads that carry lifecycle work, the parallelism of the virtual thread scheduler")
+                    .tags(tags)
+                    .register(meterRegistry);
+            Gauge.builder("threadmanagement.lifecycle.carrier.threads.max", () -> maxPoolSize)
+                    .description("Most carrier threads the virtual thread scheduler adds while carriers are pinned or blocked")
+                    .tags(tags)
+                    .register(meterRegistry);
+        } else {
+            Gauge.builder("threadmanagement.lifecycle.carrier.threads", liveLifecycleThreads, AtomicInteger::get)
+                    .description("OS threads that carry lifecycle work, every lifecycle thread in PLATFORM mode")
+                    .tags(tags)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("threadmanagement.lifecycle.os.threads", threadMXBean, ThreadMXBean::getThreadCount)
+                .description("Live platform threads in the JVM, virtual threads are not included")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Wraps a thread factory so that every thread it creates is counted while it is alive.
+     * @param delegate factory creating the actual platform or virtual threads
+     * @return instrumented thread factory
+     */
+    public ThreadFactory instrument(ThreadFactory delegate) {
+        return runnable -> delegate.newThread(() -> {
+            liveLifecycleThreads.incrementAndGet();
+            try {
+                runnable.run();
+            } finally {
+                liveLifecycleThreads.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Returns the number of lifecycle threads that are currently alive.
+     * @return live lifecycle threads
+     */
+    public int getLiveLifecycleThreads() {
+        return liveLifecycleThreads.get();
+    }
+}
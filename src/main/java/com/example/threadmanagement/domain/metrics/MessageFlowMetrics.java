@@ -0,0 +1,186 @@
+package com.example.threadmanagement.domain.metrics;
+
+import com.example.threadmanagement.model.entity.OverflowPolicy;
+import com.example.threadmanagement.model.entity.ThreadType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Meters describing the flow of messages through the shared queue.
+ */
+@Slf4j
+@Component
+public class MessageFlowMetrics {
+    private final com.sun.management.ThreadMXBean threadMXBean = resolveThreadMXBean();
+    private final DistributionSummary receiverBatchSize;
+    private final Timer messageLatency;
+    private final LongAdder enqueuedMessages = new LongAdder();
+    private final LongAdder dequeuedMessages = new LongAdder();
+    private final Map<OverflowPolicy, Counter> rejectedMessages = new EnumMap<>(OverflowPolicy.class);
+    private final Map<OverflowPolicy, Counter> droppedMessages = new EnumMap<>(OverflowPolicy.class);
+    private final Map<ThreadType, DistributionSummary> allocationPerMessage = new EnumMap<>(ThreadType.class);
+
+    public MessageFlowMetrics(MeterRegistry meterRegistry) {
+        for (OverflowPolicy overflowPolicy : OverflowPolicy.values()) {
+            rejectedMessages.put(overflowPolicy, Counter.builder("threadmanagement.queue.rejected")
+                    .description("Messages a sender could not add because the shared queue was full")
+                    .baseUnit("messages")
+                    .tag("policy", overflowPolicy.name())
+                    .register(meterRegistry));
+            droppedMessages.put(overflowPolicy, Counter.builder("threadmanagement.queue.dropped")
+                    .description("Queued messages removed to make room for newer ones")
+                    .baseUnit("messages")
+                    .tag("policy", overflowPolicy.name())
+                    .register(meterRegistry));
+        }
+        this.receiverBatchSize = DistributionSummary.builder("threadmanagement.receiver.batch.size")
+                .description("Number of messages consumed by a receiver in one batch")
+                .baseUnit("messages")
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(1, 10, 100, 1000)
+                .register(meterRegistry);
+        for (ThreadType threadType : ThreadType.values()) {
+            allocationPerMessage.put(threadType, DistributionSummary.builder("threadmanagement.lifecycle.allocation.per.message")
+                    .description("Bytes allocated by a lifecycle thread per message it produced or consumed")
+                    .baseUnit("bytes")
+                    .tag("type", threadType.name())
+                    .register(meterRegistry));
+        }
+        this.messageLatency = Timer.builder("threadmanagement.message.latency")
+                .description("Time between a sender creating a message and a receiver consuming it")
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        FunctionCounter.builder("threadmanagement.queue.enqueued", enqueuedMessages, LongAdder::sum)
+                .description("Messages added to the shared queue")
+                .baseUnit("messages")
+                .register(meterRegistry);
+        FunctionCounter.builder("threadmanagement.queue.dequeued", dequeuedMessages, LongAdder::sum)
+                .description("Messages taken from the shared queue by receivers")
+                .baseUnit("messages")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a message that was added to the shared queue.
+     */
+    public void recordEnqueued() {
+        enqueuedMessages.increment();
+    }
+
+    /**
+     * Records messages a receiver took from the shared queue.
+     * @param messages number of messages taken
+     */
+    public void recordDequeued(int messages) {
+        dequeuedMessages.add(messages);
+    }
+
+    /**
+     * Returns the number of messages added to the shared queue since startup.
+     * @return enqueued messages
+     */
+    public long getEnqueuedTotal() {
+        return enqueuedMessages.sum();
+    }
+
+    /**
+     * Returns the number of messages taken from the shared queue since startup.
+     * @return dequeued messages
+     */
+    public long getDequeuedTotal() {
+        return dequeuedMessages.sum();
+    }
+
+    /**
+     * Returns the recent latency distribution, including the p50, p95 and p99 values.
+     * Percentiles decay over the timer's rolling window, so they describe the last minutes rather than all time.
+     * @return snapshot of the message latency timer
+     */
+    public HistogramSnapshot latencySnapshot() {
+        return messageLatency.takeSnapshot();
+    }
+
+    /**
+     * Records the size of a batch consumed by a receiver.
+     * @param batchSize number of messages in the batch
+     */
+    public void recordReceiverBatch(int batchSize) {
+        receiverBatchSize.record(batchSize);
+    }
+
+    /**
+     * Records the time a consumed message spent between its sender and the receiver.
+     * @param latencyNanos latency in nanoseconds
+     */
+    public void recordLatency(long latencyNanos) {
+        messageLatency.record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the number of bytes the calling thread has allocated so far.
+     * Used as the start of an allocation window, see {@link #recordAllocation(ThreadType, long, long)}.
+     * @return allocated bytes, or -1 if the JVM cannot measure it for the current thread
+     */
+    public long currentThreadAllocatedBytes() {
+        return threadMXBean != null ? threadMXBean.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Records the bytes the calling thread allocated per message since the start of the window.
+     * Windows that could not be measured or handled no message are ignored.
+     * @param threadType whether the calling thread is a sender or a receiver
+     * @param windowStartBytes value of {@link #currentThreadAllocatedBytes()} at the start of the window
+     * @param messages number of messages handled in the window
+     */
+    public void recordAllocation(ThreadType threadType, long windowStartBytes, long messages) {
+        if (windowStartBytes < 0 || messages <= 0) {
+            return;
+        }
+        long allocatedBytes = currentThreadAllocatedBytes();
+        if (allocatedBytes >= windowStartBytes) {
+            allocationPerMessage.get(threadType).record((double) (allocatedBytes - windowStartBytes) / messages);
+        }
+    }
+
+    /**
+     * Records a message that was not added to the shared queue because it was full.
+     * @param overflowPolicy policy of the sender that produced the message
+     */
+    public void recordRejected(OverflowPolicy overflowPolicy) {
+        rejectedMessages.get(overflowPolicy).increment();
+    }
+
+    /**
+     * Records a queued message that was removed to make room for a newer one.
+     * @param overflowPolicy policy of the sender that caused the removal
+     */
+    public void recordDropped(OverflowPolicy overflowPolicy) {
+        droppedMessages.get(overflowPolicy).increment();
+    }
+
+    /**
+     * Looks up the HotSpot thread bean that can report allocated bytes per thread.
+     * @return thread bean, or null if allocation measurement is not available
+     */
+    private static com.sun.management.ThreadMXBean resolveThreadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean
+                && threadMXBean.isThreadAllocatedMemorySupported()) {
+            threadMXBean.setThreadAllocatedMemoryEnabled(true);
+            return threadMXBean;
+        }
+        log.info("Thread allocation measurement is not available, allocation metrics stay empty");
+        return null;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.threadmanagement.domain.metrics;
+
+import com.example.threadmanagement.domain.lifecycle.SenderTickScheduler;
+import com.example.threadmanagement.domain.lifecycle.ThreadControlBlock;
+import com.example.threadmanagement.domain.lifecycle.ThreadControlRegistry;
+import com.example.threadmanagement.domain.queue.interfaces.IMessageQueueEngine;
+import com.example.threadmanagement.model.dto.MetricsSnapshotDto;
+import com.example.threadmanagement.model.dto.ThreadThroughputDto;
+import com.example.threadmanagement.model.message.interfaces.IQueueMessage;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds compact snapshots of the message flow for the live metrics stream.
+ * Rates are computed from the counters of the previous snapshot, so every call covers the interval since the last one.
+ * Only in-memory counters and the head of the queue are read, the database is never queried.
+ */
+@Component
+public class MetricsSnapshotAggregator {
+    private final IMessageQueueEngine<IQueueMessage> sharedQueue;
+    private final MessageFlowMetrics messageFlowMetrics;
+    private final LifecycleExecutorMetrics lifecycleExecutorMetrics;
+    private final SenderTickScheduler senderTickScheduler;
+    private final ThreadControlRegistry threadControlRegistry;
+    private final int topThreads;
+
+    private long previousNanos;
+    private long previousEnqueued;
+    private long previousDequeued;
+    private Map<UUID, Long> previousProcessed = new HashMap<>();
+
+    public MetricsSnapshotAggregator(IMessageQueueEngine<IQueueMessage> sharedQueue,
+                                     MessageFlowMetrics messageFlowMetrics,
+                                     LifecycleExecutorMetrics lifecycleExecutorMetrics,
+                                     SenderTickScheduler senderTickScheduler,
+                                     ThreadControlRegistry threadControlRegistry,
+                                     @Value("${thread.metrics.top-threads:20}") int topThreads) {
+        this.sharedQueue = sharedQueue;
+        this.messageFlowMetrics = messageFlowMetrics;
+        this.lifecycleExecutorMetrics = lifecycleExecutorMetrics;
+        this.senderTickScheduler = senderTickScheduler;
+        this.threadControlRegistry = threadControlRegistry;
+        this.topThreads = topThreads;
+    }
+
+    /**
+     * Takes a snapshot and makes it the baseline of the next one.
+     * The first snapshot after startup or {@link #reset()} has no baseline and reports zero rates.
+     * @return current metrics snapshot
+     */
+    public synchronized MetricsSnapshotDto takeSnapshot() {
+        long now = System.nanoTime();
+        boolean hasBaseline = previousNanos != 0;
+        double elapsedSeconds = hasBaseline ? (double) (now - previousNanos) / TimeUnit.SECONDS.toNanos(1) : 0;
+
+        MetricsSnapshotDto snapshot = new MetricsSnapshotDto();
+        snapshot.setTimestamp(System.currentTimeMillis());
+
+        long enqueued = messageFlowMetrics.getEnqueuedTotal();
+        long dequeued = messageFlowMetrics.getDequeuedTotal();
+        snapshot.setEnqueueRate(rate(enqueued - previousEnqueued, elapsedSeconds));
+        snapshot.setDequeueRate(rate(dequeued - previousDequeued, elapsedSeconds));
+
+        snapshot.setQueueDepth(sharedQueue.size());
+        snapshot.setQueueCapacity(sharedQueue.capacity());
+        List<IQueueMessage> head = sharedQueue.peekRange(0, 1);
+        snapshot.setOldestMessageAgeMillis(head.isEmpty() ? 0 : TimeUnit.NANOSECONDS.toMillis(head.get(0).ageNanos(now)));
+
+        for (ValueAtPercentile percentile : messageFlowMetrics.latencySnapshot().percentileValues()) {
+            double millis = percentile.value(TimeUnit.MILLISECONDS);
+            if (percentile.percentile() == 0.5) {
+                snapshot.setLatencyP50Millis(millis);
+            } else if (percentile.percentile() == 0.95) {
+                snapshot.setLatencyP95Millis(millis);
+            } else if (percentile.percentile() == 0.99) {
+                snapshot.setLatencyP99Millis(millis);
+            }
+        }
+
+        snapshot.setLiveLifecycleThreads(lifecycleExecutorMetrics.getLiveLifecycleThreads());
+        snapshot.setActiveSchedulerThreads(senderTickScheduler.getActiveCount());
+        snapshot.setScheduledSenders(senderTickScheduler.getScheduledCount());
+
+        Map<UUID, Long> processed = new HashMap<>();
+        List<ThreadThroughputDto> threads = new ArrayList<>();
+        for (ThreadControlBlock controlBlock : threadControlRegistry.getAll()) {
+            long count = controlBlock.getProcessedMessages();
+            processed.put(controlBlock.getThreadId(), count);
+            // Threads registered since the previous snapshot started from zero within the interval
+            long delta = count - previousProcessed.getOrDefault(controlBlock.getThreadId(), hasBaseline ? 0L : count);
+            if (delta > 0) {
+                threads.add(new ThreadThroughputDto(controlBlock.getThreadId(), controlBlock.getType(), rate(delta, elapsedSeconds)));
+            }
+        }
+        threads.sort(Comparator.comparingDouble(ThreadThroughputDto::getMessagesPerSecond).reversed());
+        snapshot.setThreads(threads.size() > topThreads ? new ArrayList<>(threads.subList(0, topThreads)) : threads);
+
+        previousNanos = now;
+        previousEnqueued = enqueued;
+        previousDequeued = dequeued;
+        previousProcessed = processed;
+        return snapshot;
+    }
+
+    /**
+     * Drops the baseline, so the next snapshot does not report an average over a long idle period.
+     */
+    public synchronized void reset() {
+        previousNanos = 0;
+        previousProcessed = new HashMap<>();
+    }
+
+    private static double rate(long count, double elapsedSeconds) {
+        return elapsedSeconds > 0 ? count / elapsedSeconds : 0;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.threadmanagement.domain.metrics;
+
+import com.example.threadmanagement.config.PayloadFormat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Meters describing the STOMP frames sent to WebSocket clients.
+ */
+@Component
+public class WebSocketMetrics {
+    private final MeterRegistry meterRegistry;
+    private final Counter droppedFrames;
+    private final Map<PayloadFormat, DistributionSummary> frameSize = new EnumMap<>(PayloadFormat.class);
+    private final Map<PayloadFormat, Timer> serializationTime = new EnumMap<>(PayloadFormat.class);
+
+    public WebSocketMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.droppedFrames = Counter.builder("threadmanagement.websocket.dropped.frames")
+                .description("Frames dropped or replaced by a newer frame because a client could not keep up")
+                .baseUnit("frames")
+                .register(meterRegistry);
+        for (PayloadFormat payloadFormat : PayloadFormat.values()) {
+            frameSize.put(payloadFormat, DistributionSummary.builder("threadmanagement.websocket.frame.size")
+                    .description("Payload size of a STOMP message frame sent to one WebSocket session")
+                    .baseUnit("bytes")
+                    .tag("format", payloadFormat.name())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            serializationTime.put(payloadFormat, Timer.builder("threadmanagement.websocket.serialization")
+                    .description("Time to encode one outgoing payload, JSON from the object, binary formats from the JSON")
+                    .tag("format", payloadFormat.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Records the payload size of a frame sent to one session.
+     * @param payloadFormat format of the payload
+     * @param bytes payload size in bytes
+     */
+    public void recordFrame(PayloadFormat payloadFormat, int bytes) {
+        frameSize.get(payloadFormat).record(bytes);
+    }
+
+    /**
+     * Records the time it took to encode one payload.
+     * @param payloadFormat format the payload was encoded to
+     * @param nanos encoding time in nanoseconds
+     */
+    public void recordSerialization(PayloadFormat payloadFormat, long nanos) {
+        serializationTime.get(payloadFormat).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a frame that was dropped or replaced by a newer frame for a slow client.
+     */
+    public void recordDroppedFrame() {
+        droppedFrames.increment();
+    }
+
+    /**
+     * Registers the queued bytes and dropped frames of one WebSocket session, tagged with its session ID.
+     * The meters have to be removed with {@link #removeSession(String)} when the session is closed.
+     * @param sessionId ID of the WebSocket session
+     * @param session object the values are read from
+     * @param queuedBytes function returning the bytes waiting to be written
+     * @param droppedFrames function returning the frames dropped so far
+     */
+    public <T> void registerSession(String sessionId, T session, ToDoubleFunction<T> queuedBytes, ToDoubleFunction<T> droppedFrames) {
+        Gauge.builder("threadmanagement.websocket.session.queued.bytes", session, queuedBytes)
+                .description("Bytes waiting to be written to one WebSocket session")
+                .baseUnit("bytes")
+                .tag("session", sessionId)
+                .register(meterRegistry);
+        FunctionCounter.builder("threadmanagement.websocket.session.dropped.frames", session, droppedFrames)
+                .description("Frames dropped or replaced for one WebSocket session")
+                .baseUnit("frames")
+                .tag("session", sessionId)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Removes the meters of a closed WebSocket session.
+     * @param sessionId ID of the WebSocket session
+     */
+    public void removeSession(String sessionId) {
+        for (Meter meter : meterRegistry.find("threadmanagement.websocket.session.queued.bytes").tag("session", sessionId).meters()) {
+            meterRegistry.remove(meter);
+        }
+        for (Meter meter : meterRegistry.find("threadmanagement.websocket.session.dropped.frames").tag("session", sessionId).meters()) {
+            meterRegistry.remove(meter);
+        }
+    }
+}
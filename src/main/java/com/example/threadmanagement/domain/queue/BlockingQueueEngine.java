@@ -0,0 +1,81 @@
+package com.example.threadmanagement.domain.queue;
+
+import com.example.threadmanagement.domain.queue.interfaces.IMessageQueueEngine;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queue engine backed by a bounded JDK blocking queue, such as LinkedBlockingQueue or ArrayBlockingQueue.
+ * @param <E> type of the queued messages
+ */
+public class BlockingQueueEngine<E> implements IMessageQueueEngine<E> {
+    private final BlockingQueue<E> queue;
+    private final int capacity;
+
+    public BlockingQueueEngine(BlockingQueue<E> queue) {
+        this.queue = queue;
+        this.capacity = queue.size() + queue.remainingCapacity();
+    }
+
+    @Override
+    public boolean offer(E message) {
+        return queue.offer(message);
+    }
+
+    @Override
+    public boolean offer(E message, long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.offer(message, timeout, unit);
+    }
+
+    @Override
+    public void put(E message) throws InterruptedException {
+        queue.put(message);
+    }
+
+    @Override
+    public E poll() {
+        return queue.poll();
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.poll(timeout, unit);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> target, int maxMessages) {
+        return queue.drainTo(target, maxMessages);
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public List<E> snapshot() {
+        return new ArrayList<>(queue);
+    }
+
+    @Override
+    public List<E> peekRange(int offset, int limit) {
+        List<E> messages = new ArrayList<>(Math.max(0, limit));
+        Iterator<E> iterator = queue.iterator();
+        for (int skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (messages.size() < limit && iterator.hasNext()) {
+            messages.add(iterator.next());
+        }
+        return messages;
+    }
+}
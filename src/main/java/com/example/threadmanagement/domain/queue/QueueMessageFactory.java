@@ -0,0 +1,77 @@
+package com.example.threadmanagement.domain.queue;
+
+import com.example.threadmanagement.config.MessageMode;
+import com.example.threadmanagement.domain.queue.interfaces.IMessageQueueEngine;
+import com.example.threadmanagement.model.message.PooledQueueMessage;
+import com.example.threadmanagement.model.message.QueueMessage;
+import com.example.threadmanagement.model.message.interfaces.IQueueMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Creates the messages senders add to the shared queue.
+ * In POOLED mode messages are taken from a preallocated pool of flyweights and handed back by the receiver,
+ * otherwise every message is a new QueueMessage record.
+ * The pool is sized from the actual capacity of the shared queue, which engines like the ring buffer round up,
+ * so a full queue never drains the pool.
+ */
+@Slf4j
+@Component
+public class QueueMessageFactory {
+    private static final String PAYLOAD = "Data";
+    private static final byte[] PAYLOAD_BYTES = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+
+    private final MessageMode messageMode;
+    private final IMessageQueueEngine<PooledQueueMessage> freeMessages;
+    private final Counter poolMissCounter;
+
+    public QueueMessageFactory(MeterRegistry meterRegistry,
+                               @Value("${thread.message.mode:OBJECT}") MessageMode messageMode,
+                               IMessageQueueEngine<IQueueMessage> sharedQueue,
+                               @Value("${thread.message.pool-headroom:1024}") int poolHeadroom) {
+        this.messageMode = messageMode;
+        int poolSize = messageMode == MessageMode.POOLED ? sharedQueue.capacity() + poolHeadroom : 1;
+        this.freeMessages = new RingBufferQueueEngine<>(poolSize);
+        if (messageMode == MessageMode.POOLED) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(poolSize * PooledQueueMessage.SLOT_SIZE);
+            Consumer<PooledQueueMessage> recycler = freeMessages::offer;
+            for (int i = 0; i < poolSize; i++) {
+                freeMessages.offer(new PooledQueueMessage(
+                        buffer.slice(i * PooledQueueMessage.SLOT_SIZE, PooledQueueMessage.SLOT_SIZE), recycler));
+            }
+            log.info("Message pool holds {} buffers of {} bytes", poolSize, PooledQueueMessage.SLOT_SIZE);
+        }
+
+        this.poolMissCounter = Counter.builder("threadmanagement.message.pool.misses")
+                .description("Messages created as objects because the message pool was empty")
+                .register(meterRegistry);
+        Gauge.builder("threadmanagement.message.pool.available", freeMessages, IMessageQueueEngine::size)
+                .description("Pooled message buffers currently free")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates the next message of a sender, stamped with the current time.
+     * @param senderId ID of the sender thread
+     * @param sequence per-sender sequence number
+     * @return pooled flyweight in POOLED mode while buffers are available, a QueueMessage record otherwise
+     */
+    public IQueueMessage create(UUID senderId, long sequence) {
+        if (messageMode == MessageMode.POOLED) {
+            PooledQueueMessage pooledMessage = freeMessages.poll();
+            if (pooledMessage != null) {
+                return pooledMessage.encode(senderId, sequence, System.nanoTime(), System.currentTimeMillis(), PAYLOAD_BYTES);
+            }
+            poolMissCounter.increment();
+        }
+        return new QueueMessage(senderId, sequence, System.nanoTime(), System.currentTimeMillis(), PAYLOAD);
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.threadmanagement.domain.queue;
+
+import com.example.threadmanagement.domain.queue.interfaces.IMessageQueueEngine;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Preallocated lock-free multi-producer multi-consumer ring buffer.
+ * Every slot has a sequence number that tells producers and consumers whose turn it is, so a slot is claimed
+ * with a single CAS on the tail or head counter and no locks are taken. The head and tail counters and the slot
+ * sequences are padded to separate cache lines, so producers and consumers do not invalidate each other's lines.
+ * The capacity is rounded up to the next power of two and is at least two: with a single slot the sequence a producer
+ * publishes equals the one the next producer waits for, so an unconsumed message would be overwritten.
+ * Blocking operations spin briefly, then yield, then park.
+ * @param <E> type of the queued messages
+ */
+public class RingBufferQueueEngine<E> extends RingBufferHeadPadding implements IMessageQueueEngine<E> {
+    private static final int MIN_CAPACITY = 2;
+    private static final int MAX_CAPACITY = 1 << 24;
+    private static final int SEQUENCE_PADDING_SHIFT = 3;
+    private static final int SPIN_LIMIT = 100;
+    private static final int YIELD_LIMIT = 200;
+    private static final long MAX_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private static final VarHandle TAIL;
+    private static final VarHandle HEAD;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TAIL = lookup.findVarHandle(RingBufferTail.class, "tail", long.class);
+            HEAD = lookup.findVarHandle(RingBufferHead.class, "head", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+
+    public RingBufferQueueEngine(int requestedCapacity) {
+        if (requestedCapacity < 1 || requestedCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity Must Be Between One And 2^24");
+        }
+        this.capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(requestedCapacity - 1) << 1);
+        this.mask = capacity - 1;
+        this.slots = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity << SEQUENCE_PADDING_SHIFT);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(sequenceIndex(i), i);
+        }
+    }
+
+    @Override
+    public boolean offer(E message) {
+        if (message == null) {
+            throw new NullPointerException();
+        }
+        long position = (long) TAIL.getVolatile(this);
+        while (true) {
+            int slot = (int) (position & mask);
+            long difference = sequences.getAcquire(sequenceIndex(slot)) - position;
+            if (difference == 0) {
+                if (TAIL.compareAndSet(this, position, position + 1)) {
+                    slots[slot] = message;
+                    sequences.setRelease(sequenceIndex(slot), position + 1);
+                    return true;
+                }
+                position = (long) TAIL.getVolatile(this);
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = (long) TAIL.getVolatile(this);
+            }
+        }
+    }
+
+    @Override
+    public boolean offer(E message, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int attempts = 0;
+        while (!offer(message)) {
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return false;
+            }
+            backOff(attempts++, remainingNanos);
+        }
+        return true;
+    }
+
+    @Override
+    public void put(E message) throws InterruptedException {
+        int attempts = 0;
+        while (!offer(message)) {
+            backOff(attempts++, MAX_PARK_NANOS);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long position = (long) HEAD.getVolatile(this);
+        while (true) {
+            int slot = (int) (position & mask);
+            long difference = sequences.getAcquire(sequenceIndex(slot)) - (position + 1);
+            if (difference == 0) {
+                if (HEAD.compareAndSet(this, position, position + 1)) {
+                    E message = (E) slots[slot];
+                    slots[slot] = null;
+                    sequences.setRelease(sequenceIndex(slot), position + capacity);
+                    return message;
+                }
+                position = (long) HEAD.getVolatile(this);
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = (long) HEAD.getVolatile(this);
+            }
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int attempts = 0;
+        E message;
+        while ((message = poll()) == null) {
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return null;
+            }
+            backOff(attempts++, remainingNanos);
+        }
+        return message;
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> target, int maxMessages) {
+        int drained = 0;
+        E message;
+        while (drained < maxMessages && (message = poll()) != null) {
+            target.add(message);
+            drained++;
+        }
+        return drained;
+    }
+
+    @Override
+    public int size() {
+        long head = (long) HEAD.getVolatile(this);
+        long tail = (long) TAIL.getVolatile(this);
+        return (int) Math.max(0, Math.min(capacity, tail - head));
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public List<E> snapshot() {
+        return peekRange(0, capacity);
+    }
+
+    /**
+     * Copies the messages of a window without removing them. Slots are addressed directly,
+     * so the cost only depends on the size of the window, not on its offset or the queue depth.
+     * A slot is only included if its sequence still marks it as filled for the same lap after the read,
+     * so a message consumed and replaced during the copy is skipped instead of being reported out of order.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<E> peekRange(int offset, int limit) {
+        long head = (long) HEAD.getVolatile(this);
+        long tail = (long) TAIL.getVolatile(this);
+        long from = head + Math.max(0, offset);
+        long to = Math.min(tail, from + Math.max(0, limit));
+        List<E> messages = new ArrayList<>((int) Math.max(0, to - from));
+        for (long position = from; position < to; position++) {
+            int slot = (int) (position & mask);
+            if (sequences.getAcquire(sequenceIndex(slot)) != position + 1) {
+                continue;
+            }
+            E message = (E) slots[slot];
+            if (message != null && sequences.getAcquire(sequenceIndex(slot)) == position + 1) {
+                messages.add(message);
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Maps a slot to its sequence entry, which is spread out so that every sequence sits on its own cache line.
+     * @param slot slot index in the ring
+     * @return index in the padded sequence array
+     */
+    private static int sequenceIndex(int slot) {
+        return slot << SEQUENCE_PADDING_SHIFT;
+    }
+
+    /**
+     * Waits a little before the next attempt: spins first, then yields, then parks for a short time.
+     * @param attempt number of failed attempts so far
+     * @param maxParkNanos upper bound for the park time
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    private static void backOff(int attempt, long maxParkNanos) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (attempt < SPIN_LIMIT) {
+            Thread.onSpinWait();
+        } else if (attempt < YIELD_LIMIT) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(Math.min(maxParkNanos, MAX_PARK_NANOS));
+        }
+    }
+}
+
+/**
+ * Padding before the tail counter of the ring buffer.
+ */
+abstract class RingBufferTailPadding {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
+
+/**
+ * Tail counter of the ring buffer, the next position a producer claims.
+ */
+abstract class RingBufferTail extends RingBufferTailPadding {
+    volatile long tail;
+}
+
+/**
+ * Padding between the tail and the head counters of the ring buffer.
+ */
+abstract class RingBufferMiddlePadding extends RingBufferTail {
+    long p11, p12, p13, p14, p15, p16, p17;
+}
+
+/**
+ * Head counter of the ring buffer, the next position a consumer claims.
+ */
+abstract class RingBufferHead extends RingBufferMiddlePadding {
+    volatile long head;
+}
+
+/**
+ * Padding after the head counter of the ring buffer.
+ */
+abstract class RingBufferHeadPadding extends RingBufferHead {
+    long p21, p22, p23, p24, p25, p26, p27;
+}
@@ -0,0 +1,99 @@
+package com.example.threadmanagement.domain.queue;
+
+import com.example.threadmanagement.domain.metrics.MessageFlowMetrics;
+import com.example.threadmanagement.domain.queue.interfaces.IMessageQueueEngine;
+import com.example.threadmanagement.model.entity.OverflowPolicy;
+import com.example.threadmanagement.model.message.interfaces.IQueueMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds sender messages to the bounded shared queue and applies the sender's overflow policy when it is full.
+ */
+@Component
+@RequiredArgsConstructor
+public class SharedQueueProducer {
+    private final IMessageQueueEngine<IQueueMessage> sharedQueue;
+    private final MessageFlowMetrics messageFlowMetrics;
+
+    @Value("${thread.queue.offer-timeout-ms:100}")
+    private long offerTimeoutMillis;
+
+    /**
+     * Adds a message to the shared queue.
+     * Callers that must not wait, like the shared scheduler, pass mayBlock false, in which case the blocking
+     * policies reject the message instead of waiting for room. A rejected message is released.
+     * @param message message to add
+     * @param overflowPolicy overflow policy of the sender, BLOCK is used if null
+     * @param priority priority of the sender, only used by SHED_BY_PRIORITY
+     * @param mayBlock whether the calling thread may wait for room in the queue
+     * @return true if the message was added, false if it was rejected
+     * @throws InterruptedException if interrupted while waiting for room in the queue
+     */
+    public boolean enqueue(IQueueMessage message, OverflowPolicy overflowPolicy, Integer priority, boolean mayBlock) throws InterruptedException {
+        OverflowPolicy policy = overflowPolicy != null ? overflowPolicy : OverflowPolicy.BLOCK;
+        boolean added = switch (policy) {
+            case BLOCK -> {
+                if (!mayBlock) {
+                    yield sharedQueue.offer(message);
+                }
+                sharedQueue.put(message);
+                yield true;
+            }
+            case BLOCK_WITH_TIMEOUT -> mayBlock
+                    ? sharedQueue.offer(message, offerTimeoutMillis, TimeUnit.MILLISECONDS)
+                    : sharedQueue.offer(message);
+            case DROP_NEWEST -> sharedQueue.offer(message);
+            case DROP_OLDEST -> offerDroppingOldest(message);
+            case SHED_BY_PRIORITY -> hasRoomForPriority(priority) && sharedQueue.offer(message);
+        };
+
+        if (added) {
+            messageFlowMetrics.recordEnqueued();
+        } else {
+            messageFlowMetrics.recordRejected(policy);
+            message.release();
+        }
+        return added;
+    }
+
+    /**
+     * Returns the maximum number of messages the shared queue can hold.
+     * @return capacity of the shared queue
+     */
+    public int getCapacity() {
+        return sharedQueue.capacity();
+    }
+
+    /**
+     * Adds a message, removing the oldest queued messages until there is room for it.
+     * @param message message to add
+     * @return always true
+     */
+    private boolean offerDroppingOldest(IQueueMessage message) {
+        while (!sharedQueue.offer(message)) {
+            IQueueMessage oldest = sharedQueue.poll();
+            if (oldest != null) {
+                messageFlowMetrics.recordDropped(OverflowPolicy.DROP_OLDEST);
+                oldest.release();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the queue is below the fill level a sender of the given priority may use.
+     * The allowed share grows linearly with the priority, so a sender with the maximum priority may fill the whole queue.
+     * @param priority priority of the sender, normal priority is used if null
+     * @return true if the sender may still add messages
+     */
+    private boolean hasRoomForPriority(Integer priority) {
+        int effectivePriority = priority != null
+                ? Math.clamp(priority, Thread.MIN_PRIORITY, Thread.MAX_PRIORITY)
+                : Thread.NORM_PRIORITY;
+        long allowedSize = (long) getCapacity() * effectivePriority / Thread.MAX_PRIORITY;
+        return sharedQueue.size() < allowedSize;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.threadmanagement.domain.queue;
+
+import com.example.threadmanagement.domain.queue.interfaces.IMessageQueueEngine;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queue engine backed by a LinkedTransferQueue.
+ * The transfer queue itself is unbounded and lock-free, so the capacity is enforced with a semaphore
+ * holding one permit per free slot: producers take a permit before adding, consumers return it after removing.
+ * Null messages are rejected before a permit is taken so a failed add never leaks a slot.
+ * @param <E> type of the queued messages
+ */
+public class TransferQueueEngine<E> implements IMessageQueueEngine<E> {
+    private final LinkedTransferQueue<E> queue = new LinkedTransferQueue<>();
+    private final Semaphore freeSlots;
+    private final int capacity;
+
+    public TransferQueueEngine(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity Must Be At Least One");
+        }
+        this.capacity = capacity;
+        this.freeSlots = new Semaphore(capacity);
+    }
+
+    @Override
+    public boolean offer(E message) {
+        Objects.requireNonNull(message);
+        if (!freeSlots.tryAcquire()) {
+            return false;
+        }
+        queue.offer(message);
+        return true;
+    }
+
+    @Override
+    public boolean offer(E message, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(message);
+        if (!freeSlots.tryAcquire(timeout, unit)) {
+            return false;
+        }
+        queue.offer(message);
+        return true;
+    }
+
+    @Override
+    public void put(E message) throws InterruptedException {
+        Objects.requireNonNull(message);
+        freeSlots.acquire();
+        queue.offer(message);
+    }
+
+    @Override
+    public E poll() {
+        E message = queue.poll();
+        if (message != null) {
+            freeSlots.release();
+        }
+        return message;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E message = queue.poll(timeout, unit);
+        if (message != null) {
+            freeSlots.release();
+        }
+        return message;
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> target, int maxMessages) {
+        int drained = queue.drainTo(target, maxMessages);
+        if (drained > 0) {
+            freeSlots.release(drained);
+        }
+        return drained;
+    }
+
+    @Override
+    public int size() {
+        return Math.max(0, capacity - freeSlots.availablePermits());
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public List<E> snapshot() {
+        return new ArrayList<>(queue);
+    }
+
+    @Override
+    public List<E> peekRange(int offset, int limit) {
+        List<E> messages = new ArrayList<>(Math.max(0, limit));
+        Iterator<E> iterator = queue.iterator();
+        for (int skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (messages.size() < limit && iterator.hasNext()) {
+            messages.add(iterator.next());
+        }
+        return messages;
+    }
+}
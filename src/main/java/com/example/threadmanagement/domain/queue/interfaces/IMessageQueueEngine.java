@@ -0,0 +1,106 @@
+package com.example.threadmanagement.domain.queue.interfaces;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded multi-producer multi-consumer queue that carries messages from sender threads to receiver threads.
+ * Senders, receivers and the queue paging only depend on this interface, so the underlying structure
+ * can be chosen by configuration.
+ * @param <E> type of the queued messages
+ */
+public interface IMessageQueueEngine<E> {
+
+    /**
+     * Adds a message if the queue has room for it, without waiting.
+     * @param message message to add
+     * @return true if the message was added, false if the queue is full
+     */
+    boolean offer(E message);
+
+    /**
+     * Adds a message, waiting up to the given time for room in the queue.
+     * @param message message to add
+     * @param timeout maximum time to wait
+     * @param unit unit of the timeout
+     * @return true if the message was added, false if the queue stayed full
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean offer(E message, long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Adds a message, waiting as long as necessary for room in the queue.
+     * @param message message to add
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void put(E message) throws InterruptedException;
+
+    /**
+     * Removes the oldest message without waiting.
+     * @return the oldest message, or null if the queue is empty
+     */
+    E poll();
+
+    /**
+     * Removes the oldest message, waiting up to the given time for one to arrive.
+     * @param timeout maximum time to wait
+     * @param unit unit of the timeout
+     * @return the oldest message, or null if none arrived in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    E poll(long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Removes up to the given number of messages without waiting and adds them to the collection.
+     * @param target collection receiving the messages
+     * @param maxMessages maximum number of messages to remove
+     * @return number of messages removed
+     */
+    int drainTo(Collection<? super E> target, int maxMessages);
+
+    /**
+     * Returns the number of queued messages in constant time, without walking the queue.
+     * The value is exact when the queue is idle and a close estimate while it is being used concurrently.
+     * @return number of queued messages
+     */
+    int size();
+
+    /**
+     * Returns the maximum number of messages the queue can hold.
+     * @return capacity of the queue
+     */
+    int capacity();
+
+    /**
+     * Returns a weakly consistent copy of the queued messages, oldest first.
+     * Walks the whole queue, use {@link #peekRange(int, int)} when only a window is needed.
+     * @return list of queued messages
+     */
+    List<E> snapshot();
+
+    /**
+     * Returns a weakly consistent copy of a window of the queued messages without removing them.
+     * Only the messages up to the end of the window are visited, the rest of the queue is not touched.
+     * @param offset number of messages to skip, counted from the oldest
+     * @param limit maximum number of messages to return
+     * @return messages in the window, oldest first, fewer than limit at the end of the queue
+     */
+    List<E> peekRange(int offset, int limit);
+
+    /**
+     * Checks whether the queue currently holds no messages.
+     * @return true if the queue is empty
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of messages that can still be added without waiting.
+     * @return remaining capacity of the queue
+     */
+    default int remainingCapacity() {
+        return Math.max(0, capacity() - size());
+    }
+}
@@ -4,12 +4,20 @@ import com.example.threadmanagement.domain.repository.interfaces.IReceiverThread
 import com.example.threadmanagement.exception.ThreadManagementException;
 import com.example.threadmanagement.exception.ThreadNotFoundException;
 import com.example.threadmanagement.model.dto.ReceiverThreadDto;
+import com.example.threadmanagement.model.dto.ThreadPageDto;
+import com.example.threadmanagement.model.dto.ThreadSortKey;
 import com.example.threadmanagement.model.entity.ReceiverThreadEntity;
 import com.example.threadmanagement.model.entity.ThreadState;
+import com.example.threadmanagement.model.entity.ThreadType;
 import com.example.threadmanagement.model.mapper.interfaces.IReceiverThreadMapper;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,11 +26,16 @@ import java.util.stream.Collectors;
 @Repository
 @RequiredArgsConstructor
 public class ReceiverThreadRepository {
+    public static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_IDS_PER_STATEMENT = 1000;
+
     private final IReceiverThreadRepository iReceiverThreadRepository;
     private final IReceiverThreadMapper iReceiverThreadMapper;
+    private final ThreadStateStore threadStateStore;
+    private final ThreadBulkInserter threadBulkInserter;
 
     /**
-     * Creates multiple receiver threads in the database.
+     * Creates multiple receiver threads in the database with batched inserts.
      * @param receiverThreadDtoList list of receiver threads to be created in database
      * @return true if threads were successfully created
      * @throws ThreadManagementException if any error occurs during creation
@@ -30,8 +43,8 @@ public class ReceiverThreadRepository {
     public Boolean createReceiverThreadsWithList(List<ReceiverThreadDto> receiverThreadDtoList)
     {
         try {
-            List<ReceiverThreadEntity> receiverThreadEntityList = iReceiverThreadMapper.toEntityList(receiverThreadDtoList);
-            iReceiverThreadRepository.saveAll(receiverThreadEntityList);
+            threadBulkInserter.insertReceiverThreads(receiverThreadDtoList);
+            threadStateStore.markKnown(ThreadType.RECEIVER, receiverThreadDtoList.stream().map(ReceiverThreadDto::getId).toList());
             return true;
         }
         catch (Exception e)
@@ -48,8 +61,13 @@ public class ReceiverThreadRepository {
      */
     public Optional<ReceiverThreadDto> getReceiverThreadById(UUID id) {
         try{
-            return iReceiverThreadRepository.findById(id)
-                    .map(iReceiverThreadMapper::toDto);
+            Optional<ReceiverThreadDto> receiverThreadDto = iReceiverThreadRepository.findById(id)
+                    .map(iReceiverThreadMapper::toDto)
+                    .map(this::withPendingChange);
+            if (receiverThreadDto.isPresent()) {
+                threadStateStore.markKnown(ThreadType.RECEIVER, List.of(id));
+            }
+            return receiverThreadDto;
         }
         catch (IllegalArgumentException e)
         {
@@ -69,7 +87,61 @@ public class ReceiverThreadRepository {
     public List<ReceiverThreadDto>getAllReceiverThreads() {
         try{
             List<ReceiverThreadEntity> entities = iReceiverThreadRepository.findAll();
-            return iReceiverThreadMapper.toDtoList(entities);
+            List<ReceiverThreadDto> receiverThreadDtoList = iReceiverThreadMapper.toDtoList(entities);
+            receiverThreadDtoList.forEach(this::withPendingChange);
+            return receiverThreadDtoList;
+        }
+        catch (Exception e)
+        {
+            throw new ThreadManagementException(e.getMessage(),e.getCause());
+        }
+    }
+
+    /**
+     * Retrieves one page of receiver threads with keyset pagination: the next page starts after the last thread of the
+     * previous one instead of at an offset, so every page costs the same however far the client has paged.
+     * Pending changes are flushed first, so the filter sees the latest state of every thread.
+     * @param state only threads in this state are returned, any state if null
+     * @param priority only threads with this priority are returned, any priority if null
+     * @param sortKey column the page is sorted by, ties are broken by ID
+     * @param afterId ID of the last thread of the previous page, first page if null
+     * @param afterCreatedAt creation time of the last thread of the previous page, only used when sorting by creation time
+     * @param size number of threads per page, limited to 1..{@value #MAX_PAGE_SIZE}
+     * @return page of receiver threads with the position of the next page
+     * @throws IllegalArgumentException if sorting by creation time and only one of afterId and afterCreatedAt is given
+     * @throws ThreadManagementException if any error occurs while reading the page
+     */
+    public ThreadPageDto<ReceiverThreadDto> getReceiverThreadPage(ThreadState state, Integer priority, ThreadSortKey sortKey,
+                                                          UUID afterId, LocalDateTime afterCreatedAt, int size) {
+        if(sortKey == ThreadSortKey.CREATED_AT && (afterId == null) != (afterCreatedAt == null))
+        {
+            throw new IllegalArgumentException("AfterId And AfterCreatedAt Must Be Given Together");
+        }
+        try{
+            threadStateStore.flush();
+            int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+            PageRequest pageRequest = PageRequest.ofSize(pageSize + 1);
+            List<ReceiverThreadEntity> entities;
+            if(sortKey == ThreadSortKey.CREATED_AT)
+            {
+                entities = afterCreatedAt == null
+                        ? iReceiverThreadRepository.findFirstPageOrderByCreatedAt(state, priority, pageRequest)
+                        : iReceiverThreadRepository.findPageOrderByCreatedAtAfter(state, priority, afterCreatedAt, afterId, pageRequest);
+            }
+            else
+            {
+                entities = afterId == null
+                        ? iReceiverThreadRepository.findFirstPageOrderById(state, priority, pageRequest)
+                        : iReceiverThreadRepository.findPageOrderByIdAfter(state, priority, afterId, pageRequest);
+            }
+
+            boolean hasMore = entities.size() > pageSize;
+            List<ReceiverThreadEntity> pageEntities = hasMore ? entities.subList(0, pageSize) : entities;
+            List<ReceiverThreadDto> receiverThreadDtoList = new ArrayList<>(iReceiverThreadMapper.toDtoList(pageEntities));
+            receiverThreadDtoList.forEach(this::withPendingChange);
+            ReceiverThreadEntity last = pageEntities.isEmpty() ? null : pageEntities.get(pageEntities.size() - 1);
+            return new ThreadPageDto<>(receiverThreadDtoList, hasMore,
+                    last != null ? last.getId() : null, last != null ? last.getCreatedAt() : null);
         }
         catch (Exception e)
         {
@@ -79,13 +151,16 @@ public class ReceiverThreadRepository {
 
     /**
      * Retrieves all active receiver threads (state = RUNNING).
+     * Pending state changes are flushed first, so the query in the database sees them.
      * @return list of active receiver threads
      * @throws ThreadManagementException if any error occurs during retrieval
      */
     public List<ReceiverThreadDto> getActiveReceiverThreads() {
         try{
-            List<ReceiverThreadEntity> receiverThreadEntities = iReceiverThreadRepository.findAll();
+            threadStateStore.flush();
+            List<ReceiverThreadEntity> receiverThreadEntities = iReceiverThreadRepository.findByState(ThreadState.RUNNING);
             return iReceiverThreadMapper.toDtoList(receiverThreadEntities).stream()
+                    .map(this::withPendingChange)
                     .filter(receiverThreadDto -> receiverThreadDto.getState() == ThreadState.RUNNING )
                     .collect(Collectors.toList());
         }
@@ -97,13 +172,16 @@ public class ReceiverThreadRepository {
 
     /**
      * Retrieves all passive receiver threads (state = STOPPED).
+     * Pending state changes are flushed first, so the query in the database sees them.
      * @return list of passive receiver threads
      * @throws ThreadManagementException if any error occurs during retrieval
      */
     public List<ReceiverThreadDto> getPassiveReceiverThreads() {
         try{
-            List<ReceiverThreadEntity> entities = iReceiverThreadRepository.findAll();
+            threadStateStore.flush();
+            List<ReceiverThreadEntity> entities = iReceiverThreadRepository.findByState(ThreadState.STOPPED);
             return iReceiverThreadMapper.toDtoList(entities).stream()
+                    .map(this::withPendingChange)
                     .filter(receiverThreadDto -> receiverThreadDto.getState() == ThreadState.STOPPED )
                     .collect(Collectors.toList());
         }
@@ -123,6 +201,7 @@ public class ReceiverThreadRepository {
     public UUID deleteReceiverThreadById(UUID id) {
         try {
             iReceiverThreadRepository.deleteById(id);
+            threadStateStore.discard(ThreadType.RECEIVER, id);
             return id;
         }
         catch (IllegalArgumentException e)
@@ -136,13 +215,89 @@ public class ReceiverThreadRepository {
     }
 
     /**
-     * Deletes all receiver threads from the database.
+     * Retrieves the IDs of all receiver threads without loading the threads themselves.
+     * @return list of all receiver thread IDs
+     * @throws ThreadManagementException if any error occurs during retrieval
+     */
+    public List<UUID> getAllReceiverThreadIds() {
+        try {
+            return iReceiverThreadRepository.findAllIds();
+        }
+        catch (Exception e)
+        {
+            throw new ThreadManagementException(e.getMessage(),e.getCause());
+        }
+    }
+
+    /**
+     * Deletes the given receiver threads with one DELETE statement per {@value #MAX_IDS_PER_STATEMENT} IDs and drops
+     * their pending changes. IDs that do not exist are skipped, duplicates are deleted once.
+     * @param ids IDs of the receiver threads
+     * @return IDs of the deleted receiver threads
+     * @throws ThreadManagementException if any error occurs during the deletion
+     */
+    public List<UUID> deleteReceiverThreads(Collection<UUID> ids)
+    {
+        try
+        {
+            List<UUID> idList = List.copyOf(new LinkedHashSet<>(ids));
+            List<UUID> deletedReceiverThreadIds = new ArrayList<>(idList.size());
+            for(int from = 0; from < idList.size(); from += MAX_IDS_PER_STATEMENT)
+            {
+                List<UUID> existing = iReceiverThreadRepository.findIdsByIdIn(idList.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, idList.size())));
+                if(!existing.isEmpty())
+                {
+                    iReceiverThreadRepository.deleteByIdIn(existing);
+                    deletedReceiverThreadIds.addAll(existing);
+                }
+            }
+            deletedReceiverThreadIds.forEach(id -> threadStateStore.discard(ThreadType.RECEIVER, id));
+            return deletedReceiverThreadIds;
+        }
+        catch (Exception e)
+        {
+            throw new ThreadManagementException(e.getMessage(),e.getCause());
+        }
+    }
+
+    /**
+     * Deletes every receiver thread matching a filter and drops their pending changes.
+     * Pending changes are flushed first, so the filter sees the latest state of every thread. Exactly the threads
+     * read by the filter are deleted, by ID, so a thread that starts matching afterwards is neither deleted nor
+     * missing from the result.
+     * @param state only threads in this state are deleted, any state if null
+     * @param priority only threads with this priority are deleted, any priority if null
+     * @return IDs of the deleted receiver threads
+     * @throws ThreadManagementException if any error occurs during the deletion
+     */
+    public List<UUID> deleteReceiverThreadsByFilter(ThreadState state, Integer priority)
+    {
+        try
+        {
+            threadStateStore.flush();
+            List<UUID> matchingReceiverThreadIds = iReceiverThreadRepository.findIdsByFilter(state, priority);
+            for(int from = 0; from < matchingReceiverThreadIds.size(); from += MAX_IDS_PER_STATEMENT)
+            {
+                iReceiverThreadRepository.deleteByIdIn(matchingReceiverThreadIds.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, matchingReceiverThreadIds.size())));
+            }
+            matchingReceiverThreadIds.forEach(id -> threadStateStore.discard(ThreadType.RECEIVER, id));
+            return matchingReceiverThreadIds;
+        }
+        catch (Exception e)
+        {
+            throw new ThreadManagementException(e.getMessage(),e.getCause());
+        }
+    }
+
+    /**
+     * Deletes all receiver threads from the database with a single DELETE statement, without loading them first.
      * @return true if all threads were successfully deleted
      * @throws ThreadManagementException if any error occurs during deletion
      */
     public Boolean deleteAllReceiverThreads() {
         try {
-            iReceiverThreadRepository.deleteAll();
+            iReceiverThreadRepository.deleteAllInBatch();
+            threadStateStore.discardAll(ThreadType.RECEIVER);
             return true;
         }
         catch (Exception e)
@@ -152,8 +307,9 @@ public class ReceiverThreadRepository {
     }
 
     /**
-     * Updates a receiver thread's information in the database.
-     * @param receiverThreadDto updated thread information
+     * Updates a receiver thread's information.
+     * The change is acknowledged once it is in the write-behind store and reaches the database with the next flush.
+     * @param receiverThreadDto updated thread information, null fields keep their current value
      * @return updated receiver thread DTO
      * @throws ThreadNotFoundException if thread is not found in database
      * @throws ThreadManagementException for other errors during update
@@ -162,22 +318,22 @@ public class ReceiverThreadRepository {
     {
         try
         {
-            ReceiverThreadEntity receiverThreadEntity = iReceiverThreadRepository.findById(receiverThreadDto.getId()).orElseThrow(()
-                    -> new EntityNotFoundException("ReceiverThread Not Found"));
-
-            if(receiverThreadDto.getState() != null && receiverThreadEntity.getState() != receiverThreadDto.getState())
-            {
-                receiverThreadEntity.setState(receiverThreadDto.getState());
-            }
-            if(receiverThreadDto.getPriority() != null && receiverThreadEntity.getPriority() != receiverThreadDto.getPriority())
+            if(receiverThreadDto.getBatchSize() != null && receiverThreadDto.getBatchSize() < 1)
             {
-                receiverThreadEntity.setPriority(receiverThreadDto.getPriority());
+                throw new IllegalArgumentException("Batch Size Must Be At Least One");
             }
-            if(receiverThreadDto.getType() != null && receiverThreadEntity.getType() != receiverThreadDto.getType())
+            if(receiverThreadDto.getLingerMillis() != null && receiverThreadDto.getLingerMillis() < 0)
             {
-                receiverThreadEntity.setType(receiverThreadDto.getType());
+                throw new IllegalArgumentException("Linger Can't Be Negative");
             }
-            iReceiverThreadRepository.save(receiverThreadEntity);
+            requireExisting(receiverThreadDto.getId());
+
+            ThreadStateChange change = new ThreadStateChange();
+            change.setState(receiverThreadDto.getState());
+            change.setPriority(receiverThreadDto.getPriority());
+            change.setBatchSize(receiverThreadDto.getBatchSize());
+            change.setLingerMillis(receiverThreadDto.getLingerMillis());
+            threadStateStore.update(ThreadType.RECEIVER, receiverThreadDto.getId(), change);
             return receiverThreadDto;
         }
         catch (EntityNotFoundException e)
@@ -206,18 +362,49 @@ public class ReceiverThreadRepository {
             {
                 throw new IllegalArgumentException();
             }
-            ReceiverThreadEntity receiverThreadEntity = iReceiverThreadRepository.findById(id).orElseThrow(()
-                    -> new EntityNotFoundException("Receiver Thread Not Found"));
-            if(receiverThreadEntity.getPriority() != priority)
+            requireExisting(id);
+            ThreadStateChange change = new ThreadStateChange();
+            change.setPriority(priority);
+            threadStateStore.update(ThreadType.RECEIVER, id, change);
+            return id;
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new ThreadManagementException("Priority Can't Be Null",e.getCause());
+        }
+        catch (EntityNotFoundException e)
+        {
+            throw new ThreadNotFoundException(id);
+        }
+    }
+
+    /**
+     * Updates the batch settings of a specific receiver thread.
+     * @param id ID of the receiver thread
+     * @param batchSize new maximum batch size
+     * @param lingerMillis new linger time in milliseconds, the stored linger time is kept if null
+     * @return ID of the updated thread
+     * @throws ThreadManagementException if batch size is null or lower than one, or linger time is negative
+     * @throws ThreadNotFoundException if thread is not found
+     */
+    public UUID updateReceiverThreadBatching(UUID id, Integer batchSize, Long lingerMillis)
+    {
+        try
+        {
+            if(batchSize == null || batchSize < 1 || (lingerMillis != null && lingerMillis < 0))
             {
-                receiverThreadEntity.setPriority(priority);
+                throw new IllegalArgumentException();
             }
-            iReceiverThreadRepository.save(receiverThreadEntity);
+            requireExisting(id);
+            ThreadStateChange change = new ThreadStateChange();
+            change.setBatchSize(batchSize);
+            change.setLingerMillis(lingerMillis);
+            threadStateStore.update(ThreadType.RECEIVER, id, change);
             return id;
         }
         catch (IllegalArgumentException e)
         {
-            throw new ThreadManagementException("Priority Can't Be Null",e.getCause());
+            throw new ThreadManagementException("Batch Size Must Be At Least One And Linger Can't Be Negative",e.getCause());
         }
         catch (EntityNotFoundException e)
         {
@@ -241,13 +428,10 @@ public class ReceiverThreadRepository {
             {
                 throw new IllegalArgumentException();
             }
-            ReceiverThreadEntity receiverThreadEntity = iReceiverThreadRepository.findById(id).orElseThrow(()
-                    -> new EntityNotFoundException("Receiver Thread Not Found"));
-            if(receiverThreadEntity.getState() != threadState)
-            {
-                receiverThreadEntity.setState(threadState);
-            }
-            iReceiverThreadRepository.save(receiverThreadEntity);
+            requireExisting(id);
+            ThreadStateChange change = new ThreadStateChange();
+            change.setState(threadState);
+            threadStateStore.update(ThreadType.RECEIVER, id, change);
             return id;
         }
         catch (IllegalArgumentException e)
@@ -259,4 +443,125 @@ public class ReceiverThreadRepository {
             throw new ThreadNotFoundException(id);
         }
     }
+
+    /**
+     * Changes state and priority of the given receiver threads with one UPDATE statement per {@value #MAX_IDS_PER_STATEMENT} IDs,
+     * which keeps every statement below the SQL Server parameter limit.
+     * Pending changes are flushed first, so an older single-thread change cannot overwrite the bulk change later.
+     * @param ids IDs of the receiver threads
+     * @param state new state, unchanged if null
+     * @param priority new priority, unchanged if null
+     * @return the updated receiver threads as they are after the change
+     * @throws ThreadManagementException if any error occurs during the update
+     */
+    public List<ReceiverThreadDto> updateReceiverThreads(Collection<UUID> ids, ThreadState state, Integer priority)
+    {
+        try
+        {
+            threadStateStore.flush();
+            List<UUID> idList = List.copyOf(new LinkedHashSet<>(ids));
+            List<ReceiverThreadDto> updatedReceiverThreads = new ArrayList<>(idList.size());
+            for(int from = 0; from < idList.size(); from += MAX_IDS_PER_STATEMENT)
+            {
+                List<UUID> chunk = idList.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, idList.size()));
+                iReceiverThreadRepository.updateStateAndPriorityByIdIn(chunk, state, priority);
+                iReceiverThreadMapper.toDtoList(iReceiverThreadRepository.findAllById(chunk)).forEach(dto -> updatedReceiverThreads.add(withPendingChange(dto)));
+            }
+            threadStateStore.markKnown(ThreadType.RECEIVER, updatedReceiverThreads.stream().map(ReceiverThreadDto::getId).toList());
+            return updatedReceiverThreads;
+        }
+        catch (Exception e)
+        {
+            throw new ThreadManagementException(e.getMessage(),e.getCause());
+        }
+    }
+
+    /**
+     * Changes state and priority of every receiver thread matching a filter.
+     * Pending changes are flushed first, so the filter sees the latest state of every thread. Exactly the threads
+     * read by the filter are updated, by ID in chunks of {@value #MAX_IDS_PER_STATEMENT}, so the caller can apply and
+     * publish the change for every updated thread and a thread that starts matching afterwards is left unchanged.
+     * @param currentState only threads in this state are updated, any state if null
+     * @param currentPriority only threads with this priority are updated, any priority if null
+     * @param state new state, unchanged if null
+     * @param priority new priority, unchanged if null
+     * @return the updated receiver threads as they are after the change
+     * @throws ThreadManagementException if any error occurs during the update
+     */
+    public List<ReceiverThreadDto> updateReceiverThreadsByFilter(ThreadState currentState, Integer currentPriority, ThreadState state, Integer priority)
+    {
+        try
+        {
+            threadStateStore.flush();
+            List<ReceiverThreadDto> matchingReceiverThreads = new ArrayList<>(iReceiverThreadMapper.toDtoList(iReceiverThreadRepository.findByFilter(currentState, currentPriority)));
+            List<UUID> matchingReceiverThreadIds = matchingReceiverThreads.stream().map(ReceiverThreadDto::getId).toList();
+            for(int from = 0; from < matchingReceiverThreadIds.size(); from += MAX_IDS_PER_STATEMENT)
+            {
+                iReceiverThreadRepository.updateStateAndPriorityByIdIn(matchingReceiverThreadIds.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, matchingReceiverThreadIds.size())), state, priority);
+            }
+            for(ReceiverThreadDto receiverThreadDto : matchingReceiverThreads)
+            {
+                if(state != null)
+                {
+                    receiverThreadDto.setState(state);
+                }
+                if(priority != null)
+                {
+                    receiverThreadDto.setPriority(priority);
+                }
+            }
+            threadStateStore.markKnown(ThreadType.RECEIVER, matchingReceiverThreadIds);
+            return matchingReceiverThreads;
+        }
+        catch (Exception e)
+        {
+            throw new ThreadManagementException(e.getMessage(),e.getCause());
+        }
+    }
+
+    /**
+     * Makes sure a receiver thread exists before a change is accepted for it.
+     * Threads created, read or updated before are known to the state store, only unknown IDs cost a query.
+     * @param id ID of the receiver thread
+     * @throws EntityNotFoundException if the thread does not exist
+     */
+    private void requireExisting(UUID id)
+    {
+        if(!threadStateStore.isKnown(ThreadType.RECEIVER, id))
+        {
+            if(!iReceiverThreadRepository.existsById(id))
+            {
+                throw new EntityNotFoundException("Receiver Thread Not Found");
+            }
+            threadStateStore.markKnown(ThreadType.RECEIVER, List.of(id));
+        }
+    }
+
+    /**
+     * Applies the not yet flushed change of a receiver thread to a DTO read from the database.
+     * @param receiverThreadDto receiver thread as stored in the database
+     * @return the same DTO, showing the latest state
+     */
+    private ReceiverThreadDto withPendingChange(ReceiverThreadDto receiverThreadDto)
+    {
+        threadStateStore.pending(ThreadType.RECEIVER, receiverThreadDto.getId()).ifPresent(change -> {
+            if(change.getState() != null)
+            {
+                receiverThreadDto.setState(change.getState());
+            }
+            if(change.getPriority() != null)
+            {
+                receiverThreadDto.setPriority(change.getPriority());
+            }
+            if(change.getBatchSize() != null)
+            {
+                receiverThreadDto.setBatchSize(change.getBatchSize());
+            }
+            if(change.getLingerMillis() != null)
+            {
+                receiverThreadDto.setLingerMillis(change.getLingerMillis());
+            }
+        });
+        return receiverThreadDto;
+    }
 }
@@ -4,13 +4,21 @@ import com.example.threadmanagement.domain.repository.interfaces.ISenderThreadRe
 import com.example.threadmanagement.exception.ThreadManagementException;
 import com.example.threadmanagement.exception.ThreadNotFoundException;
 import com.example.threadmanagement.model.dto.SenderThreadDto;
+import com.example.threadmanagement.model.dto.ThreadPageDto;
+import com.example.threadmanagement.model.dto.ThreadSortKey;
+import com.example.threadmanagement.model.entity.OverflowPolicy;
 import com.example.threadmanagement.model.entity.SenderThreadEntity;
 import com.example.threadmanagement.model.entity.ThreadState;
+import com.example.threadmanagement.model.entity.ThreadType;
 import com.example.threadmanagement.model.mapper.interfaces.ISenderThreadMapper;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,11 +27,16 @@ import java.util.stream.Collectors;
 @Repository
 @RequiredArgsConstructor
 public class SenderThreadRepository{
+    public static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_IDS_PER_STATEMENT = 1000;
+
     private final ISenderThreadRepository iSenderThreadRepository;
     private final ISenderThreadMapper iThreadMapper;
+    private final ThreadStateStore threadStateStore;
+    private final ThreadBulkInserter threadBulkInserter;
 
     /**
-     * Creates multiple sender threads in the database.
+     * Creates multiple sender threads in the database with batched inserts.
      * @param senderThreadDtoList list of sender threads to be created in database
      * @return true if threads were successfully created
      * @throws ThreadManagementException if any error occurs during creation
@@ -31,8 +44,8 @@ public class SenderThreadRepository{
     public Boolean createSenderThreadsWithList(List<SenderThreadDto> senderThreadDtoList)
     {
         try {
-            List<SenderThreadEntity> senderThreadEntityList = iThreadMapper.toEntityList(senderThreadDtoList);
-            iSenderThreadRepository.saveAll(senderThreadEntityList);
+            threadBulkInserter.insertSenderThreads(senderThreadDtoList);
+            threadStateStore.markKnown(ThreadType.SENDER, senderThreadDtoList.stream().map(SenderThreadDto::getId).toList());
             return true;
         }
         catch (Exception e)
@@ -49,8 +62,13 @@ public class SenderThreadRepository{
      */
     public Optional<SenderThreadDto> getSenderThreadById(UUID id) {
         try {
-            return iSenderThreadRepository.findById(id)
-                    .map(iThreadMapper::toDto);
+            Optional<SenderThreadDto> senderThreadDto = iSenderThreadRepository.findById(id)
+                    .map(iThreadMapper::toDto)
+                    .map(this::withPendingChange);
+            if (senderThreadDto.isPresent()) {
+                threadStateStore.markKnown(ThreadType.SENDER, List.of(id));
+            }
+            return senderThreadDto;
         }
         catch (IllegalArgumentException e)
         {
@@ -70,7 +88,61 @@ public class SenderThreadRepository{
     public List<SenderThreadDto> getAllSenderThreads() {
         try{
             List<SenderThreadEntity> entities = iSenderThreadRepository.findAll();
-            return new ArrayList<>(iThreadMapper.toDtoList(entities));
+            List<SenderThreadDto> senderThreadDtoList = new ArrayList<>(iThreadMapper.toDtoList(entities));
+            senderThreadDtoList.forEach(this::withPendingChange);
+            return senderThreadDtoList;
+        }
+        catch (Exception e)
+        {
+            throw new ThreadManagementException(e.getMessage(),e.getCause());
+        }
+    }
+
+    /**
+     * Retrieves one page of sender threads with keyset pagination: the next page starts after the last thread of the
+     * previous one instead of at an offset, so every page costs the same however far the client has paged.
+     * Pending changes are flushed first, so the filter sees the latest state of every thread.
+     * @param state only threads in this state are returned, any state if null
+     * @param priority only threads with this priority are returned, any priority if null
+     * @param sortKey column the page is sorted by, ties are broken by ID
+     * @param afterId ID of the last thread of the previous page, first page if null
+     * @param afterCreatedAt creation time of the last thread of the previous page, only used when sorting by creation time
+     * @param size number of threads per page, limited to 1..{@value #MAX_PAGE_SIZE}
+     * @return page of sender threads with the position of the next page
+     * @throws IllegalArgumentException if sorting by creation time and only one of afterId and afterCreatedAt is given
+     * @throws ThreadManagementException if any error occurs while reading the page
+     */
+    public ThreadPageDto<SenderThreadDto> getSenderThreadPage(ThreadState state, Integer priority, ThreadSortKey sortKey,
+                                                          UUID afterId, LocalDateTime afterCreatedAt, int size) {
+        if(sortKey == ThreadSortKey.CREATED_AT && (afterId == null) != (afterCreatedAt == null))
+        {
+            throw new IllegalArgumentException("AfterId And AfterCreatedAt Must Be Given Together");
+        }
+        try{
+            threadStateStore.flush();
+            int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+            PageRequest pageRequest = PageRequest.ofSize(pageSize + 1);
+            List<SenderThreadEntity> entities;
+            if(sortKey == ThreadSortKey.CREATED_AT)
+            {
+                entities = afterCreatedAt == null
+                        ? iSenderThreadRepository.findFirstPageOrderByCreatedAt(state, priority, pageRequest)
+                        : iSenderThreadRepository.findPageOrderByCreatedAtAfter(state, priority, afterCreatedAt, afterId, pageRequest);
+            }
+            else
+            {
+                entities = afterId == null
+                        ? iSenderThreadRepository.findFirstPageOrderById(state, priority, pageRequest)
+                        : iSenderThreadRepository.findPageOrderByIdAfter(state, priority, afterId, pageRequest);
+            }
+
+            boolean hasMore = entities.size() > pageSize;
+            List<SenderThreadEntity> pageEntities = hasMore ? entities.subList(0, pageSize) : entities;
+            List<SenderThreadDto> senderThreadDtoList = new ArrayList<>(iThreadMapper.toDtoList(pageEntities));
+            senderThreadDtoList.forEach(this::withPendingChange);
+            SenderThreadEntity last = pageEntities.isEmpty() ? null : pageEntities.get(pageEntities.size() - 1);
+            return new ThreadPageDto<>(senderThreadDtoList, hasMore,
+                    last != null ? last.getId() : null, last != null ? last.getCreatedAt() : null);
         }
         catch (Exception e)
         {
@@ -80,13 +152,16 @@ public class SenderThreadRepository{
 
     /**
      * Retrieves all active sender threads (state = RUNNING).
+     * Pending state changes are flushed first, so the query in the database sees them.
      * @return list of active sender threads
      * @throws ThreadManagementException if any error occurs during retrieval
      */
     public List<SenderThreadDto> getActiveSenderThreads() {
         try{
-            List<SenderThreadEntity> senderThreadEntities = iSenderThreadRepository.findAll();
+            threadStateStore.flush();
+            List<SenderThreadEntity> senderThreadEntities = iSenderThreadRepository.findByState(ThreadState.RUNNING);
             return iThreadMapper.toDtoList(senderThreadEntities).stream()
+                    .map(this::withPendingChange)
                     .filter(thread -> thread.getState() == ThreadState.RUNNING )
                     .collect(Collectors.toList());
         }
@@ -98,13 +173,16 @@ public class SenderThreadRepository{
 
     /**
      * Retrieves all passive sender threads (state = STOPPED).
+     * Pending state changes are flushed first, so the query in the database sees them.
      * @return list of passive sender threads
      * @throws ThreadManagementException if any error occurs during retrieval
      */
     public List<SenderThreadDto> getPassiveSenderThreads() {
         try{
-            List<SenderThreadEntity> entities = iSenderThreadRepository.findAll();
+            threadStateStore.flush();
+            List<SenderThreadEntity> entities = iSenderThreadRepository.findByState(ThreadState.STOPPED);
             return iThreadMapper.toDtoList(entities).stream()
+                    .map(this::withPendingChange)
                     .filter(thread -> thread.getState() == ThreadState.STOPPED )
                     .collect(Collectors.toList());
         }
@@ -124,6 +202,7 @@ public class SenderThreadRepository{
     public UUID deleteSenderThreadById(UUID id) {
         try {
             iSenderThreadRepository.deleteById(id);
+            threadStateStore.discard(ThreadType.SENDER, id);
             return id;
         }
         catch (Exception e)
@@ -133,13 +212,89 @@ public class SenderThreadRepository{
     }
 
     /**
-     * Deletes all sender threads from the database.
+     * Retrieves the IDs of all sender threads without loading the threads themselves.
+     * @return list of all sender thread IDs
+     * @throws ThreadManagementException if any error occurs during retrieval
+     */
+    public List<UUID> getAllSenderThreadIds() {
+        try {
+            return iSenderThreadRepository.findAllIds();
+        }
+        catch (Exception e)
+        {
+            throw new ThreadManagementException(e.getMessage(),e.getCause());
+        }
+    }
+
+    /**
+     * Deletes the given sender threads with one DELETE statement per {@value #MAX_IDS_PER_STATEMENT} IDs and drops
+     * their pending changes. IDs that do not exist are skipped, duplicates are deleted once.
+     * @param ids IDs of the sender threads
+     * @return IDs of the deleted sender threads
+     * @throws ThreadManagementException if any error occurs during the deletion
+     */
+    public List<UUID> deleteSenderThreads(Collection<UUID> ids)
+    {
+        try
+        {
+            List<UUID> idList = List.copyOf(new LinkedHashSet<>(ids));
+            List<UUID> deletedSenderThreadIds = new ArrayList<>(idList.size());
+            for(int from = 0; from < idList.size(); from += MAX_IDS_PER_STATEMENT)
+            {
+                List<UUID> existing = iSenderThreadRepository.findIdsByIdIn(idList.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, idList.size())));
+                if(!existing.isEmpty())
+                {
+                    iSenderThreadRepository.deleteByIdIn(existing);
+                    deletedSenderThreadIds.addAll(existing);
+                }
+            }
+            deletedSenderThreadIds.forEach(id -> threadStateStore.discard(ThreadType.SENDER, id));
+            return deletedSenderThreadIds;
+        }
+        catch (Exception e)
+        {
+            throw new ThreadManagementException(e.getMessage(),e.getCause());
+        }
+    }
+
+    /**
+     * Deletes every sender thread matching a filter and drops their pending changes.
+     * Pending changes are flushed first, so the filter sees the latest state of every thread. Exactly the threads
+     * read by the filter are deleted, by ID, so a thread that starts matching afterwards is neither deleted nor
+     * missing from the result.
+     * @param state only threads in this state are deleted, any state if null
+     * @param priority only threads with this priority are deleted, any priority if null
+     * @return IDs of the deleted sender threads
+     * @throws ThreadManagementException if any error occurs during the deletion
+     */
+    public List<UUID> deleteSenderThreadsByFilter(ThreadState state, Integer priority)
+    {
+        try
+        {
+            threadStateStore.flush();
+            List<UUID> matchingSenderThreadIds = iSenderThreadRepository.findIdsByFilter(state, priority);
+            for(int from = 0; from < matchingSenderThreadIds.size(); from += MAX_IDS_PER_STATEMENT)
+            {
+                iSenderThreadRepository.deleteByIdIn(matchingSenderThreadIds.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, matchingSenderThreadIds.size())));
+            }
+            matchingSenderThreadIds.forEach(id -> threadStateStore.discard(ThreadType.SENDER, id));
+            return matchingSenderThreadIds;
+        }
+        catch (Exception e)
+        {
+            throw new ThreadManagementException(e.getMessage(),e.getCause());
+        }
+    }
+
+    /**
+     * Deletes all sender threads from the database with a single DELETE statement, without loading them first.
      * @return true if all threads were successfully deleted
      * @throws ThreadManagementException if any error occurs during deletion
      */
     public Boolean deleteAllSenderThreads() {
         try {
-            iSenderThreadRepository.deleteAll();
+            iSenderThreadRepository.deleteAllInBatch();
+            threadStateStore.discardAll(ThreadType.SENDER);
             return true;
         }
         catch (Exception e)
@@ -149,8 +304,9 @@ public class SenderThreadRepository{
     }
 
     /**
-     * Updates a sender thread's information in the database.
-     * @param senderThreadDto updated thread information
+     * Updates a sender thread's information.
+     * The change is acknowledged once it is in the write-behind store and reaches the database with the next flush.
+     * @param senderThreadDto updated thread information, null fields keep their current value
      * @return updated sender thread DTO
      * @throws ThreadNotFoundException if thread is not found in database
      * @throws ThreadManagementException for other errors during update
@@ -159,22 +315,23 @@ public class SenderThreadRepository{
     {
         try
         {
-            SenderThreadEntity senderThreadEntity = iSenderThreadRepository.findById(senderThreadDto.getId()).orElseThrow(()
-                    -> new EntityNotFoundException("Thread Not Found"));
-
-            if(senderThreadDto.getState() != null && senderThreadEntity.getState() != senderThreadDto.getState())
+            if(senderThreadDto.getRate() != null && senderThreadDto.getRate() <= 0)
             {
-                senderThreadEntity.setState(senderThreadDto.getState());
+                throw new IllegalArgumentException("Rate Must Be Positive");
             }
-            if(senderThreadDto.getPriority() != null && senderThreadEntity.getPriority() != senderThreadDto.getPriority())
+            if(senderThreadDto.getBurst() != null && senderThreadDto.getBurst() < 1)
             {
-                senderThreadEntity.setPriority(senderThreadDto.getPriority());
+                throw new IllegalArgumentException("Burst Must Be At Least One");
             }
-            if(senderThreadDto.getType() != null && senderThreadEntity.getType() != senderThreadDto.getType())
-            {
-                senderThreadEntity.setType(senderThreadDto.getType());
-            }
-            iSenderThreadRepository.save(senderThreadEntity);
+            requireExisting(senderThreadDto.getId());
+
+            ThreadStateChange change = new ThreadStateChange();
+            change.setState(senderThreadDto.getState());
+            change.setPriority(senderThreadDto.getPriority());
+            change.setRate(senderThreadDto.getRate());
+            change.setBurst(senderThreadDto.getBurst());
+            change.setOverflowPolicy(senderThreadDto.getOverflowPolicy());
+            threadStateStore.update(ThreadType.SENDER, senderThreadDto.getId(), change);
             return senderThreadDto;
         }
         catch (EntityNotFoundException e)
@@ -203,13 +360,10 @@ public class SenderThreadRepository{
             {
                 throw new IllegalArgumentException();
             }
-            SenderThreadEntity threadEntity = iSenderThreadRepository.findById(id).orElseThrow(()
-                    -> new EntityNotFoundException("Thread Not Found"));
-            if(threadEntity.getPriority() != priority)
-            {
-                threadEntity.setPriority(priority);
-            }
-            iSenderThreadRepository.save(threadEntity);
+            requireExisting(id);
+            ThreadStateChange change = new ThreadStateChange();
+            change.setPriority(priority);
+            threadStateStore.update(ThreadType.SENDER, id, change);
             return id;
         }
         catch (IllegalArgumentException e)
@@ -238,22 +392,210 @@ public class SenderThreadRepository{
             {
                 throw new IllegalArgumentException();
             }
-            SenderThreadEntity senderThreadEntity = iSenderThreadRepository.findById(id).orElseThrow(()
-                    -> new EntityNotFoundException("Thread Not Found"));
-            if(senderThreadEntity.getState() != threadState)
+            requireExisting(id);
+            ThreadStateChange change = new ThreadStateChange();
+            change.setState(threadState);
+            threadStateStore.update(ThreadType.SENDER, id, change);
+            return id;
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new ThreadManagementException("Thread State Can't Be Null",e.getCause());
+        }
+        catch (EntityNotFoundException e)
+        {
+            throw new ThreadNotFoundException(id);
+        }
+    }
+
+    /**
+     * Updates the production rate of a specific sender thread.
+     * @param id ID of the sender thread
+     * @param rate new rate in messages per second
+     * @param burst new burst size, the stored burst is kept if null
+     * @return ID of the updated thread
+     * @throws ThreadManagementException if rate is null or not positive, or burst is lower than one
+     * @throws ThreadNotFoundException if thread is not found
+     */
+    public UUID updateSenderThreadRate(UUID id, Double rate, Integer burst)
+    {
+        try
+        {
+            if(rate == null || !Double.isFinite(rate) || rate <= 0 || (burst != null && burst < 1))
+            {
+                throw new IllegalArgumentException();
+            }
+            requireExisting(id);
+            ThreadStateChange change = new ThreadStateChange();
+            change.setRate(rate);
+            change.setBurst(burst);
+            threadStateStore.update(ThreadType.SENDER, id, change);
+            return id;
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new ThreadManagementException("Rate Must Be Positive And Burst At Least One",e.getCause());
+        }
+        catch (EntityNotFoundException e)
+        {
+            throw new ThreadNotFoundException(id);
+        }
+    }
+
+    /**
+     * Updates the overflow policy of a specific sender thread.
+     * @param id ID of the sender thread
+     * @param overflowPolicy new overflow policy
+     * @return ID of the updated thread
+     * @throws ThreadNotFoundException if thread not found
+     * @throws ThreadManagementException if overflow policy is null
+     */
+    public UUID updateSenderThreadOverflowPolicy(UUID id, OverflowPolicy overflowPolicy)
+    {
+        try
+        {
+            if(overflowPolicy == null)
             {
-                senderThreadEntity.setState(threadState);
+                throw new IllegalArgumentException();
             }
-            iSenderThreadRepository.save(senderThreadEntity);
+            requireExisting(id);
+            ThreadStateChange change = new ThreadStateChange();
+            change.setOverflowPolicy(overflowPolicy);
+            threadStateStore.update(ThreadType.SENDER, id, change);
             return id;
         }
         catch (IllegalArgumentException e)
         {
-            throw new ThreadManagementException("Thread State Can't Be Null",e.getCause());
+            throw new ThreadManagementException("Overflow Policy Must Not Be Null",e.getCause());
         }
         catch (EntityNotFoundException e)
         {
             throw new ThreadNotFoundException(id);
         }
     }
+
+    /**
+     * Changes state and priority of the given sender threads with one UPDATE statement per {@value #MAX_IDS_PER_STATEMENT} IDs,
+     * which keeps every statement below the SQL Server parameter limit.
+     * Pending changes are flushed first, so an older single-thread change cannot overwrite the bulk change later.
+     * @param ids IDs of the sender threads
+     * @param state new state, unchanged if null
+     * @param priority new priority, unchanged if null
+     * @return the updated sender threads as they are after the change
+     * @throws ThreadManagementException if any error occurs during the update
+     */
+    public List<SenderThreadDto> updateSenderThreads(Collection<UUID> ids, ThreadState state, Integer priority)
+    {
+        try
+        {
+            threadStateStore.flush();
+            List<UUID> idList = List.copyOf(new LinkedHashSet<>(ids));
+            List<SenderThreadDto> updatedSenderThreads = new ArrayList<>(idList.size());
+            for(int from = 0; from < idList.size(); from += MAX_IDS_PER_STATEMENT)
+            {
+                List<UUID> chunk = idList.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, idList.size()));
+                iSenderThreadRepository.updateStateAndPriorityByIdIn(chunk, state, priority);
+                iThreadMapper.toDtoList(iSenderThreadRepository.findAllById(chunk)).forEach(dto -> updatedSenderThreads.add(withPendingChange(dto)));
+            }
+            threadStateStore.markKnown(ThreadType.SENDER, updatedSenderThreads.stream().map(SenderThreadDto::getId).toList());
+            return updatedSenderThreads;
+        }
+        catch (Exception e)
+        {
+            throw new ThreadManagementException(e.getMessage(),e.getCause());
+        }
+    }
+
+    /**
+     * Changes state and priority of every sender thread matching a filter.
+     * Pending changes are flushed first, so the filter sees the latest state of every thread. Exactly the threads
+     * read by the filter are updated, by ID in chunks of {@value #MAX_IDS_PER_STATEMENT}, so the caller can apply and
+     * publish the change for every updated thread and a thread that starts matching afterwards is left unchanged.
+     * @param currentState only threads in this state are updated, any state if null
+     * @param currentPriority only threads with this priority are updated, any priority if null
+     * @param state new state, unchanged if null
+     * @param priority new priority, unchanged if null
+     * @return the updated sender threads as they are after the change
+     * @throws ThreadManagementException if any error occurs during the update
+     */
+    public List<SenderThreadDto> updateSenderThreadsByFilter(ThreadState currentState, Integer currentPriority, ThreadState state, Integer priority)
+    {
+        try
+        {
+            threadStateStore.flush();
+            List<SenderThreadDto> matchingSenderThreads = new ArrayList<>(iThreadMapper.toDtoList(iSenderThreadRepository.findByFilter(currentState, currentPriority)));
+            List<UUID> matchingSenderThreadIds = matchingSenderThreads.stream().map(SenderThreadDto::getId).toList();
+            for(int from = 0; from < matchingSenderThreadIds.size(); from += MAX_IDS_PER_STATEMENT)
+            {
+                iSenderThreadRepository.updateStateAndPriorityByIdIn(matchingSenderThreadIds.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, matchingSenderThreadIds.size())), state, priority);
+            }
+            for(SenderThreadDto senderThreadDto : matchingSenderThreads)
+            {
+                if(state != null)
+                {
+                    senderThreadDto.setState(state);
+                }
+                if(priority != null)
+                {
+                    senderThreadDto.setPriority(priority);
+                }
+            }
+            threadStateStore.markKnown(ThreadType.SENDER, matchingSenderThreadIds);
+            return matchingSenderThreads;
+        }
+        catch (Exception e)
+        {
+            throw new ThreadManagementException(e.getMessage(),e.getCause());
+        }
+    }
+
+    /**
+     * Makes sure a sender thread exists before a change is accepted for it.
+     * Threads created, read or updated before are known to the state store, only unknown IDs cost a query.
+     * @param id ID of the sender thread
+     * @throws EntityNotFoundException if the thread does not exist
+     */
+    private void requireExisting(UUID id)
+    {
+        if(!threadStateStore.isKnown(ThreadType.SENDER, id))
+        {
+            if(!iSenderThreadRepository.existsById(id))
+            {
+                throw new EntityNotFoundException("Thread Not Found");
+            }
+            threadStateStore.markKnown(ThreadType.SENDER, List.of(id));
+        }
+    }
+
+    /**
+     * Applies the not yet flushed change of a sender thread to a DTO read from the database.
+     * @param senderThreadDto sender thread as stored in the database
+     * @return the same DTO, showing the latest state
+     */
+    private SenderThreadDto withPendingChange(SenderThreadDto senderThreadDto)
+    {
+        threadStateStore.pending(ThreadType.SENDER, senderThreadDto.getId()).ifPresent(change -> {
+            if(change.getState() != null)
+            {
+                senderThreadDto.setState(change.getState());
+            }
+            if(change.getPriority() != null)
+            {
+                senderThreadDto.setPriority(change.getPriority());
+            }
+            if(change.getRate() != null)
+            {
+                senderThreadDto.setRate(change.getRate());
+            }
+            if(change.getBurst() != null)
+            {
+                senderThreadDto.setBurst(change.getBurst());
+            }
+            if(change.getOverflowPolicy() != null)
+            {
+                senderThreadDto.setOverflowPolicy(change.getOverflowPolicy());
+            }
+        });
+        return senderThreadDto;
+    }
 }
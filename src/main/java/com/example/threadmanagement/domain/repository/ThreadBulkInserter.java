@@ -0,0 +1,128 @@
+package com.example.threadmanagement.domain.repository;
+
+import com.example.threadmanagement.model.dto.ReceiverThreadDto;
+import com.example.threadmanagement.model.dto.SenderThreadDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Inserts new sender and receiver threads with batched JDBC statements.
+ * The IDs are assigned by the caller, so saveAll would look every entity up before inserting it, one row at a time.
+ * Here the rows go straight into INSERT batches of thread.persistence.insert-batch-size rows.
+ * Every call records the rows per second it reached for its table.
+ */
+@Slf4j
+@Component
+public class ThreadBulkInserter {
+    static final String SENDER_INSERT = "INSERT INTO thrd.SenderThreads (id, type, threadState, priority, rate, burst, overflowPolicy) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    static final String RECEIVER_INSERT = "INSERT INTO thrd.ReceiverThreads (id, type, threadState, priority, batchSize, lingerMillis) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final int[] SENDER_TYPES = {Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.DOUBLE, Types.INTEGER, Types.VARCHAR};
+    private static final int[] RECEIVER_TYPES = {Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.INTEGER, Types.BIGINT};
+    private static final String SENDER_TABLE = "SenderThreads";
+    private static final String RECEIVER_TABLE = "ReceiverThreads";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Map<String, DistributionSummary> insertThroughput;
+    private final Map<String, Counter> insertedRows;
+
+    public ThreadBulkInserter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                              @Value("${thread.persistence.insert-batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.insertThroughput = Map.of(
+                SENDER_TABLE, throughputSummary(meterRegistry, SENDER_TABLE),
+                RECEIVER_TABLE, throughputSummary(meterRegistry, RECEIVER_TABLE));
+        this.insertedRows = Map.of(
+                SENDER_TABLE, insertedRowsCounter(meterRegistry, SENDER_TABLE),
+                RECEIVER_TABLE, insertedRowsCounter(meterRegistry, RECEIVER_TABLE));
+    }
+
+    /**
+     * Inserts new sender threads in one transaction.
+     * @param senderThreadDtoList sender threads to insert, with their IDs already assigned
+     */
+    @Transactional
+    public void insertSenderThreads(List<SenderThreadDto> senderThreadDtoList) {
+        insert(SENDER_TABLE, SENDER_INSERT, SENDER_TYPES, senderThreadDtoList, senderThreadDto -> new Object[] {
+                senderThreadDto.getId().toString(),
+                senderThreadDto.getType().name(),
+                senderThreadDto.getState().name(),
+                senderThreadDto.getPriority(),
+                senderThreadDto.getRate(),
+                senderThreadDto.getBurst(),
+                senderThreadDto.getOverflowPolicy() != null ? senderThreadDto.getOverflowPolicy().name() : null
+        });
+    }
+
+    /**
+     * Inserts new receiver threads in one transaction.
+     * @param receiverThreadDtoList receiver threads to insert, with their IDs already assigned
+     */
+    @Transactional
+    public void insertReceiverThreads(List<ReceiverThreadDto> receiverThreadDtoList) {
+        insert(RECEIVER_TABLE, RECEIVER_INSERT, RECEIVER_TYPES, receiverThreadDtoList, receiverThreadDto -> new Object[] {
+                receiverThreadDto.getId().toString(),
+                receiverThreadDto.getType().name(),
+                receiverThreadDto.getState().name(),
+                receiverThreadDto.getPriority(),
+                receiverThreadDto.getBatchSize(),
+                receiverThreadDto.getLingerMillis()
+        });
+    }
+
+    private <T> void insert(String table, String sql, int[] argTypes, List<T> rows, Function<T, Object[]> arguments) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(Math.min(rows.size(), batchSize));
+        for (T row : rows) {
+            batch.add(arguments.apply(row));
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(sql, batch, argTypes);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch, argTypes);
+        }
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+        double rowsPerSecond = rows.size() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        insertThroughput.get(table).record(rowsPerSecond);
+        insertedRows.get(table).increment(rows.size());
+        log.info("Inserted {} rows into {} in {} ms ({} rows/s)", rows.size(), table,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.round(rowsPerSecond));
+    }
+
+    private static DistributionSummary throughputSummary(MeterRegistry meterRegistry, String table) {
+        return DistributionSummary.builder("threadmanagement.persistence.insert.throughput")
+                .description("Rows per second reached by a bulk insert of new threads")
+                .baseUnit("rows/s")
+                .tag("table", table)
+                .register(meterRegistry);
+    }
+
+    private static Counter insertedRowsCounter(MeterRegistry meterRegistry, String table) {
+        return Counter.builder("threadmanagement.persistence.inserted")
+                .description("Rows written by bulk inserts of new threads")
+                .baseUnit("rows")
+                .tag("table", table)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.threadmanagement.domain.repository;
+
+import com.example.threadmanagement.config.ThreadIdMode;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates the primary keys of new sender and receiver threads.
+ * Time-based IDs are strictly increasing within the application: a counter below the millisecond timestamp
+ * orders IDs created in the same millisecond, and borrows from the next millisecond once it runs over.
+ */
+@Component
+public class ThreadIdGenerator {
+    /**
+     * Order in which SQL Server sorts uniqueidentifier values: last group first, then the fourth, third,
+     * second and first group, each of the first three in the little-endian byte order SQL Server stores them in.
+     */
+    public static final Comparator<UUID> SQL_SERVER_ORDER = ThreadIdGenerator::compareAsSqlServer;
+
+    private static final int[] SQL_SERVER_BYTE_ORDER = {10, 11, 12, 13, 14, 15, 8, 9, 6, 7, 4, 5, 0, 1, 2, 3};
+    private static final int V7_COUNTER_BITS = 12;
+    private static final int SEQUENTIAL_COUNTER_BITS = 14;
+    private static final long TIMESTAMP_MASK = 0xFFFF_FFFF_FFFFL;
+    private static final long VARIANT_BITS = 0x8000_0000_0000_0000L;
+
+    @Getter
+    private final ThreadIdMode threadIdMode;
+
+    private final AtomicLong lastTimeAndCounter = new AtomicLong();
+
+    /**
+     * @param threadIdMode how new IDs are generated
+     */
+    public ThreadIdGenerator(@Value("${thread.id.mode:SEQUENTIAL}") ThreadIdMode threadIdMode) {
+        this.threadIdMode = threadIdMode;
+    }
+
+    /**
+     * Returns a new thread ID in the configured mode.
+     * @return new unique ID
+     */
+    public UUID nextId() {
+        return switch (threadIdMode) {
+            case RANDOM -> UUID.randomUUID();
+            case TIME_ORDERED -> nextTimeOrderedId();
+            case SEQUENTIAL -> nextSequentialId();
+        };
+    }
+
+    /**
+     * Builds a version 7 UUID: 48 bits of Unix milliseconds, the version, a 12 bit counter, the variant
+     * and 62 random bits.
+     * @return new version 7 UUID
+     */
+    private UUID nextTimeOrderedId() {
+        long timeAndCounter = nextTimeAndCounter(V7_COUNTER_BITS);
+        long timestamp = timeAndCounter >>> V7_COUNTER_BITS;
+        long counter = timeAndCounter & ((1L << V7_COUNTER_BITS) - 1);
+        long mostSigBits = (timestamp & TIMESTAMP_MASK) << 16 | 0x7000L | counter;
+        long leastSigBits = VARIANT_BITS | ThreadLocalRandom.current().nextLong() >>> 2;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Builds a version 8 UUID whose last group holds 48 bits of Unix milliseconds and whose fourth group holds
+     * the variant and a 14 bit counter. The first three groups are random apart from the version.
+     * @return new SQL Server sequential UUID
+     */
+    private UUID nextSequentialId() {
+        long timeAndCounter = nextTimeAndCounter(SEQUENTIAL_COUNTER_BITS);
+        long timestamp = timeAndCounter >>> SEQUENTIAL_COUNTER_BITS;
+        long counter = timeAndCounter & ((1L << SEQUENTIAL_COUNTER_BITS) - 1);
+        long mostSigBits = ThreadLocalRandom.current().nextLong() & ~0xF000L | 0x8000L;
+        long leastSigBits = VARIANT_BITS | counter << 48 | timestamp & TIMESTAMP_MASK;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Returns the current time in milliseconds shifted left by the counter width, plus the counter.
+     * The value is always larger than the one returned before, even if the clock goes back.
+     * @param counterBits width of the counter
+     * @return timestamp and counter
+     */
+    private long nextTimeAndCounter(int counterBits) {
+        long now = System.currentTimeMillis() << counterBits;
+        return lastTimeAndCounter.updateAndGet(last -> Math.max(last + 1, now));
+    }
+
+    private static int compareAsSqlServer(UUID first, UUID second) {
+        byte[] firstBytes = storedBytes(first);
+        byte[] secondBytes = storedBytes(second);
+        for (int index : SQL_SERVER_BYTE_ORDER) {
+            int result = Integer.compare(firstBytes[index] & 0xFF, secondBytes[index] & 0xFF);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the bytes of a UUID as SQL Server stores them, with the first three groups little-endian.
+     * @param uuid UUID to convert
+     * @return 16 stored bytes
+     */
+    private static byte[] storedBytes(UUID uuid) {
+        long mostSigBits = uuid.getMostSignificantBits();
+        long leastSigBits = uuid.getLeastSignificantBits();
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (mostSigBits >>> (56 - 8 * i));
+            bytes[8 + i] = (byte) (leastSigBits >>> (56 - 8 * i));
+        }
+        swap(bytes, 0, 3);
+        swap(bytes, 1, 2);
+        swap(bytes, 4, 5);
+        swap(bytes, 6, 7);
+        return bytes;
+    }
+
+    private static void swap(byte[] bytes, int first, int second) {
+        byte temp = bytes[first];
+        bytes[first] = bytes[second];
+        bytes[second] = temp;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.threadmanagement.domain.repository;
+
+import com.example.threadmanagement.model.entity.OverflowPolicy;
+import com.example.threadmanagement.model.entity.ThreadState;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Columns of a sender or receiver thread that changed but are not written to the database yet.
+ * Fields that did not change are null and keep their stored value when the change is flushed.
+ */
+@Getter
+@Setter
+public class ThreadStateChange {
+    private ThreadState state;
+    private Integer priority;
+    private Double rate;
+    private Integer burst;
+    private OverflowPolicy overflowPolicy;
+    private Integer batchSize;
+    private Long lingerMillis;
+
+    /**
+     * Combines this change with a later one, the later value wins for every field it sets.
+     * @param newer change made after this one
+     * @return new change holding both
+     */
+    public ThreadStateChange mergedWith(ThreadStateChange newer) {
+        ThreadStateChange merged = new ThreadStateChange();
+        merged.state = newer.state != null ? newer.state : state;
+        merged.priority = newer.priority != null ? newer.priority : priority;
+        merged.rate = newer.rate != null ? newer.rate : rate;
+        merged.burst = newer.burst != null ? newer.burst : burst;
+        merged.overflowPolicy = newer.overflowPolicy != null ? newer.overflowPolicy : overflowPolicy;
+        merged.batchSize = newer.batchSize != null ? newer.batchSize : batchSize;
+        merged.lingerMillis = newer.lingerMillis != null ? newer.lingerMillis : lingerMillis;
+        return merged;
+    }
+}
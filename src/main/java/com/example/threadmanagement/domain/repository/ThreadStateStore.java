@@ -0,0 +1,238 @@
+package com.example.threadmanagement.domain.repository;
+
+import com.example.threadmanagement.model.entity.ThreadType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind store for the state, priority and settings of sender and receiver threads.
+ * Updates are acknowledged as soon as they are in memory. Changes of the same thread are coalesced and written
+ * to thrd.SenderThreads / thrd.ReceiverThreads in batched UPDATE statements every thread.state-store.flush-interval-ms,
+ * which is the longest time a change can stay in memory only. Pending changes are also flushed on shutdown and
+ * as soon as more than thread.state-store.max-pending threads have one.
+ * Reads go through {@link #pending(ThreadType, UUID)} so callers see their own writes before they are flushed.
+ */
+@Slf4j
+@Component
+public class ThreadStateStore {
+    static final String SENDER_UPDATE = "UPDATE thrd.SenderThreads SET threadState = COALESCE(?, threadState), "
+            + "priority = COALESCE(?, priority), rate = COALESCE(?, rate), burst = COALESCE(?, burst), "
+            + "overflowPolicy = COALESCE(?, overflowPolicy) WHERE id = ?";
+    static final String RECEIVER_UPDATE = "UPDATE thrd.ReceiverThreads SET threadState = COALESCE(?, threadState), "
+            + "priority = COALESCE(?, priority), batchSize = COALESCE(?, batchSize), "
+            + "lingerMillis = COALESCE(?, lingerMillis) WHERE id = ?";
+    private static final int[] SENDER_TYPES = {Types.VARCHAR, Types.INTEGER, Types.DOUBLE, Types.INTEGER, Types.VARCHAR, Types.VARCHAR};
+    private static final int[] RECEIVER_TYPES = {Types.VARCHAR, Types.INTEGER, Types.INTEGER, Types.BIGINT, Types.VARCHAR};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final int maxPending;
+    private final Map<ThreadType, Map<UUID, ThreadStateChange>> pendingChanges = new EnumMap<>(ThreadType.class);
+    private final Map<ThreadType, Set<UUID>> knownIds = new EnumMap<>(ThreadType.class);
+    private final Timer flushTimer;
+    private final Counter flushedRows;
+
+    public ThreadStateStore(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                            @Value("${thread.state-store.batch-size:500}") int batchSize,
+                            @Value("${thread.state-store.max-pending:10000}") int maxPending) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        for (ThreadType threadType : ThreadType.values()) {
+            pendingChanges.put(threadType, new ConcurrentHashMap<>());
+            knownIds.put(threadType, ConcurrentHashMap.newKeySet());
+        }
+
+        Gauge.builder("threadmanagement.statestore.pending", this, ThreadStateStore::getPendingCount)
+                .description("Threads with changes that are not written to the database yet")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("threadmanagement.statestore.flush")
+                .description("Time to write the pending thread changes to the database")
+                .register(meterRegistry);
+        this.flushedRows = Counter.builder("threadmanagement.statestore.flushed")
+                .description("Thread rows updated by write-behind flushes")
+                .baseUnit("rows")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a change of a thread, merged with a change of the same thread that is still pending.
+     * @param type type of the thread
+     * @param id ID of the thread
+     * @param change changed columns, unchanged columns are null
+     */
+    public void update(ThreadType type, UUID id, ThreadStateChange change) {
+        Map<UUID, ThreadStateChange> pending = pendingChanges.get(type);
+        pending.merge(id, change, ThreadStateChange::mergedWith);
+        if (getPendingCount() > maxPending) {
+            flush();
+        }
+    }
+
+    /**
+     * Returns the change of a thread that is not written to the database yet.
+     * @param type type of the thread
+     * @param id ID of the thread
+     * @return Optional containing the pending change, empty if the stored row is up to date
+     */
+    public Optional<ThreadStateChange> pending(ThreadType type, UUID id) {
+        return id != null ? Optional.ofNullable(pendingChanges.get(type).get(id)) : Optional.empty();
+    }
+
+    /**
+     * Checks whether a thread is known to exist without asking the database.
+     * @param type type of the thread
+     * @param id ID of the thread
+     * @return true if the thread was created, read or updated through this store and not deleted since
+     */
+    public boolean isKnown(ThreadType type, UUID id) {
+        return knownIds.get(type).contains(id);
+    }
+
+    /**
+     * Remembers that threads exist in the database.
+     * @param type type of the threads
+     * @param ids IDs of the threads
+     */
+    public void markKnown(ThreadType type, Collection<UUID> ids) {
+        Set<UUID> known = knownIds.get(type);
+        for (UUID id : ids) {
+            if (id != null) {
+                known.add(id);
+            }
+        }
+    }
+
+    /**
+     * Drops the pending change of a deleted thread.
+     * @param type type of the thread
+     * @param id ID of the deleted thread
+     */
+    public void discard(ThreadType type, UUID id) {
+        knownIds.get(type).remove(id);
+        pendingChanges.get(type).remove(id);
+    }
+
+    /**
+     * Drops every pending change of the given type, used when all threads of the type are deleted.
+     * @param type type of the deleted threads
+     */
+    public void discardAll(ThreadType type) {
+        knownIds.get(type).clear();
+        pendingChanges.get(type).clear();
+    }
+
+    /**
+     * Returns the number of threads with a pending change.
+     * @return pending changes over both thread types
+     */
+    public int getPendingCount() {
+        int count = 0;
+        for (Map<UUID, ThreadStateChange> pending : pendingChanges.values()) {
+            count += pending.size();
+        }
+        return count;
+    }
+
+    /**
+     * Writes every pending change to the database.
+     * A change that arrives while a flush is running stays pending and is written by the next flush.
+     * If the database is not reachable, the changes that were not written stay pending and are retried.
+     * Runs every thread.state-store.flush-interval-ms milliseconds, 200 by default.
+     */
+    @Scheduled(fixedDelayString = "${thread.state-store.flush-interval-ms:200}")
+    public synchronized void flush() {
+        flush(ThreadType.SENDER, SENDER_UPDATE, SENDER_TYPES);
+        flush(ThreadType.RECEIVER, RECEIVER_UPDATE, RECEIVER_TYPES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        int lost = getPendingCount();
+        if (lost > 0) {
+            log.error("{} thread changes could not be written to the database before shutdown", lost);
+        }
+    }
+
+    /**
+     * Writes the pending changes of one thread type in batches.
+     * Changes stay pending, and therefore visible to readers, until the batch writing them is committed.
+     * Only then are they removed, and only if no newer change was merged in while the batch was running.
+     * @param type type of the threads
+     * @param sql UPDATE statement of the type
+     * @param argTypes SQL types of the statement arguments
+     */
+    private void flush(ThreadType type, String sql, int[] argTypes) {
+        Map<UUID, ThreadStateChange> pending = pendingChanges.get(type);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<UUID, ThreadStateChange>> taken = new ArrayList<>(pending.size());
+        for (Map.Entry<UUID, ThreadStateChange> entry : pending.entrySet()) {
+            taken.add(Map.entry(entry.getKey(), entry.getValue()));
+        }
+
+        Timer.Sample sample = Timer.start();
+        int written = 0;
+        try {
+            for (int from = 0; from < taken.size(); from += batchSize) {
+                List<Map.Entry<UUID, ThreadStateChange>> entries = taken.subList(from, Math.min(from + batchSize, taken.size()));
+                List<Object[]> batch = new ArrayList<>(entries.size());
+                for (Map.Entry<UUID, ThreadStateChange> entry : entries) {
+                    batch.add(type == ThreadType.SENDER ? senderArguments(entry.getKey(), entry.getValue())
+                            : receiverArguments(entry.getKey(), entry.getValue()));
+                }
+                jdbcTemplate.batchUpdate(sql, batch, argTypes);
+                // A change merged in while the batch was running replaced the value and stays pending
+                entries.forEach(entry -> pending.remove(entry.getKey(), entry.getValue()));
+                written += entries.size();
+            }
+            sample.stop(flushTimer);
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} {} thread changes, retrying with the next flush", taken.size() - written, type, e);
+        } finally {
+            flushedRows.increment(written);
+        }
+    }
+
+    private static Object[] senderArguments(UUID id, ThreadStateChange change) {
+        return new Object[] {
+                change.getState() != null ? change.getState().name() : null,
+                change.getPriority(),
+                change.getRate(),
+                change.getBurst(),
+                change.getOverflowPolicy() != null ? change.getOverflowPolicy().name() : null,
+                id.toString()
+        };
+    }
+
+    private static Object[] receiverArguments(UUID id, ThreadStateChange change) {
+        return new Object[] {
+                change.getState() != null ? change.getState().name() : null,
+                change.getPriority(),
+                change.getBatchSize(),
+                change.getLingerMillis(),
+                id.toString()
+        };
+    }
+}
@@ -1,10 +1,141 @@
 package com.example.threadmanagement.domain.repository.interfaces;
 
 import com.example.threadmanagement.model.entity.SenderThreadEntity;
+import com.example.threadmanagement.model.entity.ThreadState;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface ISenderThreadRepository extends JpaRepository<SenderThreadEntity, UUID> {
-}
\ No newline at end of file
+
+    @Query("SELECT t.id FROM SenderThreadEntity t")
+    List<UUID> findAllIds();
+
+    /**
+     * Finds the sender threads in the given state, filtered in SQL on the indexed threadState column.
+     * @param state state to look for
+     * @return sender threads in that state
+     */
+    List<SenderThreadEntity> findByState(ThreadState state);
+
+    /**
+     * Finds the sender threads matching a filter. A null filter value matches every thread.
+     * @param state state the threads must have
+     * @param priority priority the threads must have
+     * @return matching sender threads
+     */
+    @Query("SELECT t FROM SenderThreadEntity t WHERE (:state IS NULL OR t.state = :state) "
+            + "AND (:priority IS NULL OR t.priority = :priority)")
+    List<SenderThreadEntity> findByFilter(@Param("state") ThreadState state, @Param("priority") Integer priority);
+
+    /**
+     * Changes state and priority of the given sender threads in one UPDATE statement.
+     * A null value keeps the stored one.
+     * @param ids IDs of the threads, at most a few thousand because SQL Server limits the parameters of a statement
+     * @param state new state
+     * @param priority new priority
+     * @return number of updated rows
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE SenderThreadEntity t SET t.state = COALESCE(:state, t.state), t.priority = COALESCE(:priority, t.priority) "
+            + "WHERE t.id IN :ids")
+    int updateStateAndPriorityByIdIn(@Param("ids") Collection<UUID> ids, @Param("state") ThreadState state,
+                                     @Param("priority") Integer priority);
+
+    /**
+     * Finds the IDs of the sender threads matching a filter. A null filter value matches every thread.
+     * @param state state the threads must have
+     * @param priority priority the threads must have
+     * @return IDs of the matching sender threads
+     */
+    @Query("SELECT t.id FROM SenderThreadEntity t WHERE (:state IS NULL OR t.state = :state) "
+            + "AND (:priority IS NULL OR t.priority = :priority)")
+    List<UUID> findIdsByFilter(@Param("state") ThreadState state, @Param("priority") Integer priority);
+
+    /**
+     * Deletes the given sender threads in one DELETE statement without loading them.
+     * @param ids IDs of the threads, at most a few thousand because SQL Server limits the parameters of a statement
+     * @return number of deleted rows
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SenderThreadEntity t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Finds which of the given sender threads exist.
+     * @param ids IDs of the threads, at most a few thousand because SQL Server limits the parameters of a statement
+     * @return IDs of the existing sender threads
+     */
+    @Query("SELECT t.id FROM SenderThreadEntity t WHERE t.id IN :ids")
+    List<UUID> findIdsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Reads the first page of sender threads sorted by ID.
+     * @param state state the threads must have, any state if null
+     * @param priority priority the threads must have, any priority if null
+     * @param pageable number of threads to read, the page number is not used
+     * @return sender threads of the page
+     */
+    @Query("SELECT t FROM SenderThreadEntity t WHERE (:state IS NULL OR t.state = :state) "
+            + "AND (:priority IS NULL OR t.priority = :priority) ORDER BY t.id")
+    List<SenderThreadEntity> findFirstPageOrderById(@Param("state") ThreadState state, @Param("priority") Integer priority,
+                                     Pageable pageable);
+
+    /**
+     * Reads the page of sender threads sorted by ID that follows the given ID.
+     * The cursor is a plain range predicate on the clustered key, so SQL Server seeks to it instead of scanning
+     * from the start, and the cost of a page is independent of how far the client has paged.
+     * @param state state the threads must have, any state if null
+     * @param priority priority the threads must have, any priority if null
+     * @param afterId ID of the last thread of the previous page
+     * @param pageable number of threads to read, the page number is not used
+     * @return sender threads of the page
+     */
+    @Query("SELECT t FROM SenderThreadEntity t WHERE t.id > :afterId "
+            + "AND (:state IS NULL OR t.state = :state) "
+            + "AND (:priority IS NULL OR t.priority = :priority) ORDER BY t.id")
+    List<SenderThreadEntity> findPageOrderByIdAfter(@Param("state") ThreadState state, @Param("priority") Integer priority,
+                                     @Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Reads the first page of sender threads sorted by creation time and ID.
+     * @param state state the threads must have, any state if null
+     * @param priority priority the threads must have, any priority if null
+     * @param pageable number of threads to read, the page number is not used
+     * @return sender threads of the page
+     */
+    @Query("SELECT t FROM SenderThreadEntity t WHERE (:state IS NULL OR t.state = :state) "
+            + "AND (:priority IS NULL OR t.priority = :priority) ORDER BY t.createdAt, t.id")
+    List<SenderThreadEntity> findFirstPageOrderByCreatedAt(@Param("state") ThreadState state, @Param("priority") Integer priority,
+                                            Pageable pageable);
+
+    /**
+     * Reads the page of sender threads sorted by creation time and ID that follows the given thread.
+     * The leading createdAt &gt;= :afterCreatedAt range lets SQL Server seek on the (createdAt, id) index, the
+     * second condition only skips the rows of the previous page that share its last creation time.
+     * @param state state the threads must have, any state if null
+     * @param priority priority the threads must have, any priority if null
+     * @param afterCreatedAt creation time of the last thread of the previous page
+     * @param afterId ID of the last thread of the previous page
+     * @param pageable number of threads to read, the page number is not used
+     * @return sender threads of the page
+     */
+    @Query("SELECT t FROM SenderThreadEntity t WHERE t.createdAt >= :afterCreatedAt "
+            + "AND (t.createdAt > :afterCreatedAt OR t.id > :afterId) "
+            + "AND (:state IS NULL OR t.state = :state) "
+            + "AND (:priority IS NULL OR t.priority = :priority) ORDER BY t.createdAt, t.id")
+    List<SenderThreadEntity> findPageOrderByCreatedAtAfter(@Param("state") ThreadState state, @Param("priority") Integer priority,
+                                            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                            @Param("afterId") UUID afterId, Pageable pageable);
+}
@@ -1,5 +1,7 @@
 package com.example.threadmanagement.domain.service;
 
+import com.example.threadmanagement.domain.queue.interfaces.IMessageQueueEngine;
+import com.example.threadmanagement.model.message.interfaces.IQueueMessage;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -10,29 +12,40 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
 public class MessageQueueService {
-    private final BlockingQueue<String> sharedQueue;
+    private final IMessageQueueEngine<IQueueMessage> sharedQueue;
     private final SimpMessagingTemplate messagingTemplate;
 
+    /**
+     * Returns one page of the shared queue as readable text.
+     * Only the requested window is copied and the total comes from the queue's constant-time size,
+     * so the cost does not depend on how deep the queue is.
+     * Messages are only formatted here, for the page being returned. Pooled messages recycled
+     * while the page is built have already been consumed and are left out.
+     * @param page zero-based page number
+     * @param size number of messages per page
+     * @return page of formatted messages
+     */
     public Page<String> getQueuePage(int page, int size) {
-        List<String> queueAsList = new ArrayList<>(sharedQueue);
-        int start = page * size;
-        int end = Math.min(start + size, queueAsList.size());
+        int totalMessages = sharedQueue.size();
+        long start = (long) page * size;
 
-        if (start > queueAsList.size()) {
+        if (start > totalMessages) {
             return Page.empty();
         }
 
-        List<String> pageContent = queueAsList.subList(start, end);
+        List<String> pageContent = sharedQueue.peekRange((int) start, size).stream()
+                .map(IQueueMessage::format)
+                .filter(Objects::nonNull)
+                .toList();
         return new PageImpl<>(
                 pageContent,
                 PageRequest.of(page, size),
-                queueAsList.size()
+                totalMessages
         );
     }
 }
\ No newline at end of file
@@ -1,30 +1,55 @@
 package com.example.threadmanagement.domain.service;
 
+import com.example.threadmanagement.config.ReceiverConsumptionMode;
+import com.example.threadmanagement.domain.broadcast.ThreadChangePublisher;
+import com.example.threadmanagement.domain.lifecycle.ThreadControlBlock;
+import com.example.threadmanagement.domain.lifecycle.ThreadControlRegistry;
+import com.example.threadmanagement.domain.metrics.MessageFlowMetrics;
+import com.example.threadmanagement.domain.queue.interfaces.IMessageQueueEngine;
 import com.example.threadmanagement.domain.repository.ReceiverThreadRepository;
+import com.example.threadmanagement.domain.repository.ThreadIdGenerator;
 import com.example.threadmanagement.domain.service.interfaces.IReceiverThreadService;
+import com.example.threadmanagement.model.dto.BulkThreadUpdateDto;
 import com.example.threadmanagement.model.dto.ReceiverThreadDto;
+import com.example.threadmanagement.model.dto.ThreadPageDto;
+import com.example.threadmanagement.model.dto.ThreadSnapshotDto;
+import com.example.threadmanagement.model.dto.ThreadSortKey;
 import com.example.threadmanagement.model.entity.ThreadState;
 import com.example.threadmanagement.model.entity.ThreadType;
+import com.example.threadmanagement.model.message.interfaces.IQueueMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class ReceiverThreadService implements IReceiverThreadService {
-    private final BlockingQueue<String> sharedQueue;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final long DEFAULT_LINGER_MILLIS = 0;
+
+    private final IMessageQueueEngine<IQueueMessage> sharedQueue;
     private final ExecutorService executorService;
     private final ReceiverThreadRepository receiverThreadRepository;
     private final Map<UUID, Future<?>> runningReceivers = new ConcurrentHashMap<>();
-    private final SimpMessagingTemplate messagingTemplate;
-    private final MessageQueueService messageQueueService;
+    private final ThreadChangePublisher threadChangePublisher;
+    private final ThreadControlRegistry threadControlRegistry;
+    private final MessageFlowMetrics messageFlowMetrics;
+    private final ThreadIdGenerator threadIdGenerator;
+
+    @Value("${thread.receiver.consumption-mode:POLL}")
+    private ReceiverConsumptionMode receiverConsumptionMode;
+
+    @Value("${thread.receiver.poll-timeout-ms:1000}")
+    private long pollTimeoutMillis;
 
     /**
      * Creates multiple receiver threads based on the specified amount and starts their lifecycle.
@@ -41,19 +66,21 @@ public class ReceiverThreadService implements IReceiverThreadService {
         }
 
         for (int i = 0; i < amount; i++) {
-            UUID threadId = UUID.randomUUID();
-            receiverThreadDtoList.add(new ReceiverThreadDto(threadId, ThreadType.RECEIVER, ThreadState.RUNNING, Thread.NORM_PRIORITY));
+            UUID threadId = threadIdGenerator.nextId();
+            receiverThreadDtoList.add(new ReceiverThreadDto(threadId, ThreadType.RECEIVER, ThreadState.RUNNING, Thread.NORM_PRIORITY,
+                    DEFAULT_BATCH_SIZE, DEFAULT_LINGER_MILLIS));
         }
 
         receiverThreadRepository.createReceiverThreadsWithList(receiverThreadDtoList);
 
         for(int i = 0; i < receiverThreadDtoList.size(); i++)
         {
-            UUID threadId = receiverThreadDtoList.get(i).getId();
-            runReceiverThreadLifeCycle(threadId);
+            ReceiverThreadDto receiverThreadDto = receiverThreadDtoList.get(i);
+            applyControlChange(receiverThreadDto.getId(), receiverThreadDto.getState(), receiverThreadDto.getPriority(),
+                    receiverThreadDto.getBatchSize(), receiverThreadDto.getLingerMillis());
         }
 
-        messagingTemplate.convertAndSend("/topic/receiverThreads", getAllReceiverThreads());
+        threadChangePublisher.publishCreated(ThreadType.RECEIVER, receiverThreadDtoList, ReceiverThreadDto::getId);
 
         return receiverThreadDtoList;
     }
@@ -66,20 +93,25 @@ public class ReceiverThreadService implements IReceiverThreadService {
      */
     public ReceiverThreadDto updateReceiverThread(ReceiverThreadDto receiverThreadDto)
     {
-        Optional<ReceiverThreadDto> currentReceiverThread = receiverThreadRepository.getReceiverThreadById(receiverThreadDto.getId());
+        Optional<ReceiverThreadDto> currentReceiverThread = findReceiverThread(receiverThreadDto.getId());
 
         if(currentReceiverThread.isEmpty())
         {
             throw new IllegalArgumentException();
         }
-        if(receiverThreadDto.getState() == ThreadState.RUNNING && currentReceiverThread.get().getState() != ThreadState.RUNNING)
-        {
-            runReceiverThreadLifeCycle(receiverThreadDto.getId());
-        }
 
-        messagingTemplate.convertAndSend("/topic/receiverThreads", getAllReceiverThreads());
+        ReceiverThreadDto result = receiverThreadRepository.updateReceiverThread(receiverThreadDto);
+
+        ThreadState threadState = receiverThreadDto.getState() != null ? receiverThreadDto.getState() : currentReceiverThread.get().getState();
+        Integer priority = receiverThreadDto.getPriority() != null ? receiverThreadDto.getPriority() : currentReceiverThread.get().getPriority();
+        Integer batchSize = receiverThreadDto.getBatchSize() != null ? receiverThreadDto.getBatchSize() : currentReceiverThread.get().getBatchSize();
+        Long lingerMillis = receiverThreadDto.getLingerMillis() != null ? receiverThreadDto.getLingerMillis() : currentReceiverThread.get().getLingerMillis();
+        applyControlChange(receiverThreadDto.getId(), threadState, priority, batchSize, lingerMillis);
 
-        return receiverThreadRepository.updateReceiverThread(receiverThreadDto);
+        threadChangePublisher.publishUpdated(ThreadType.RECEIVER, receiverThreadDto.getId(),
+                new ReceiverThreadDto(receiverThreadDto.getId(), ThreadType.RECEIVER, threadState, priority, batchSize, lingerMillis));
+
+        return result;
     }
 
     /**
@@ -91,18 +123,22 @@ public class ReceiverThreadService implements IReceiverThreadService {
      */
     public UUID updateReceiverThreadState(UUID id, ThreadState threadState)
     {
-        Optional<ReceiverThreadDto> receiverThreadDto = receiverThreadRepository.getReceiverThreadById(id);
-        if(receiverThreadDto.isEmpty())
+        if(threadState == null)
         {
             throw new IllegalArgumentException();
         }
-        receiverThreadRepository.updateReceiverThreadState(id, threadState);
-        if(receiverThreadDto.get().getState() != ThreadState.RUNNING && threadState == ThreadState.RUNNING)
+
+        Optional<ReceiverThreadDto> receiverThreadDto = findReceiverThread(id);
+        if(receiverThreadDto.isEmpty())
         {
-            runReceiverThreadLifeCycle(id);
+            throw new IllegalArgumentException();
         }
+        receiverThreadRepository.updateReceiverThreadState(id, threadState);
+        applyControlChange(id, threadState, receiverThreadDto.get().getPriority(),
+                receiverThreadDto.get().getBatchSize(), receiverThreadDto.get().getLingerMillis());
 
-        messagingTemplate.convertAndSend("/topic/receiverThreads", getAllReceiverThreads());
+        receiverThreadDto.get().setState(threadState);
+        threadChangePublisher.publishUpdated(ThreadType.RECEIVER, id, receiverThreadDto.get());
 
         return id;
     }
@@ -116,11 +152,65 @@ public class ReceiverThreadService implements IReceiverThreadService {
     public UUID updateReceiverThreadPriority(UUID id, Integer priority)
     {
         UUID updatedReceiverThreadId = receiverThreadRepository.updateReceiverThreadPriority(id, priority);
-        messagingTemplate.convertAndSend("/topic/receiverThreads", getAllReceiverThreads());
+        threadControlRegistry.get(id).ifPresent(controlBlock -> controlBlock.setPriority(priority));
+        publishUpdated(id);
+
+        return updatedReceiverThreadId;
+    }
+
+    /**
+     * Updates the batch settings of a specific receiver thread.
+     * A running receiver uses the new settings from its next batch on.
+     * @param id ID of the receiver thread to update
+     * @param batchSize new maximum number of messages per batch
+     * @param lingerMillis new time to wait for a batch to fill, the current value is kept if null
+     * @return ID of the updated receiver thread
+     */
+    public UUID updateReceiverThreadBatching(UUID id, Integer batchSize, Long lingerMillis)
+    {
+        UUID updatedReceiverThreadId = receiverThreadRepository.updateReceiverThreadBatching(id, batchSize, lingerMillis);
+        threadControlRegistry.get(id).ifPresent(controlBlock -> {
+            controlBlock.setBatchSize(batchSize);
+            if (lingerMillis != null) {
+                controlBlock.setLingerMillis(lingerMillis);
+            }
+        });
+        publishUpdated(id);
 
         return updatedReceiverThreadId;
     }
 
+    /**
+     * Updates state and priority of many receiver threads at once and manages their lifecycles accordingly.
+     * The threads are selected by their IDs, or by the filter if no IDs are given.
+     * All changes are published in a single message.
+     * @param bulkThreadUpdateDto IDs or filter of the threads and their new state and priority
+     * @return number of updated receiver threads
+     * @throws IllegalArgumentException if neither a new state nor a new priority is given
+     */
+    public Integer updateReceiverThreads(BulkThreadUpdateDto bulkThreadUpdateDto)
+    {
+        if(bulkThreadUpdateDto == null || (bulkThreadUpdateDto.getState() == null && bulkThreadUpdateDto.getPriority() == null))
+        {
+            throw new IllegalArgumentException();
+        }
+
+        List<ReceiverThreadDto> updatedReceiverThreads = bulkThreadUpdateDto.getIds() != null && !bulkThreadUpdateDto.getIds().isEmpty()
+                ? receiverThreadRepository.updateReceiverThreads(bulkThreadUpdateDto.getIds(),
+                        bulkThreadUpdateDto.getState(), bulkThreadUpdateDto.getPriority())
+                : receiverThreadRepository.updateReceiverThreadsByFilter(bulkThreadUpdateDto.getCurrentState(),
+                        bulkThreadUpdateDto.getCurrentPriority(), bulkThreadUpdateDto.getState(), bulkThreadUpdateDto.getPriority());
+
+        for (ReceiverThreadDto receiverThreadDto : updatedReceiverThreads) {
+            applyControlChange(receiverThreadDto.getId(), receiverThreadDto.getState(), receiverThreadDto.getPriority(),
+                    receiverThreadDto.getBatchSize(), receiverThreadDto.getLingerMillis());
+        }
+
+        threadChangePublisher.publishUpdated(ThreadType.RECEIVER, updatedReceiverThreads, ReceiverThreadDto::getId);
+
+        return updatedReceiverThreads.size();
+    }
+
     /**
      * Retrieves all active receiver threads (threads in RUNNING state).
      * @return list of active receiver thread DTOs
@@ -137,6 +227,21 @@ public class ReceiverThreadService implements IReceiverThreadService {
         return receiverThreadRepository.getPassiveReceiverThreads();
     }
 
+    /**
+     * Retrieves one page of receiver threads, continuing after the last thread of the previous page.
+     * @param threadState only threads in this state are returned, any state if null
+     * @param priority only threads with this priority are returned, any priority if null
+     * @param sortKey column the page is sorted by, ties are broken by ID
+     * @param afterId ID of the last thread of the previous page, first page if null
+     * @param afterCreatedAt creation time of the last thread of the previous page, only used when sorting by creation time
+     * @param size number of threads per page, limited to 1..ReceiverThreadRepository.MAX_PAGE_SIZE
+     * @return page of receiver threads with the position of the next page
+     */
+    public ThreadPageDto<ReceiverThreadDto> getReceiverThreadPage(ThreadState threadState, Integer priority, ThreadSortKey sortKey,
+                                                          UUID afterId, LocalDateTime afterCreatedAt, int size) {
+        return receiverThreadRepository.getReceiverThreadPage(threadState, priority, sortKey, afterId, afterCreatedAt, size);
+    }
+
     /**
      * Retrieves all receiver threads regardless of their state.
      * @return list of all receiver thread DTOs
@@ -146,26 +251,77 @@ public class ReceiverThreadService implements IReceiverThreadService {
     }
 
     /**
-     * Deletes a specific receiver thread by its ID.
+     * Retrieves all receiver threads together with the version of the last published change.
+     * Clients load the snapshot once and apply every change event with a higher version on top of it.
+     * @return snapshot of all receiver threads
+     */
+    public ThreadSnapshotDto<ReceiverThreadDto> getReceiverThreadSnapshot() {
+        return threadChangePublisher.snapshot(ThreadType.RECEIVER, this::getAllReceiverThreads);
+    }
+
+    /**
+     * Deletes a specific receiver thread by its ID and stops its running task immediately.
      * @param id ID of the receiver thread to delete
      * @return ID of the deleted receiver thread
      */
     public UUID deleteReceiverThreadById(UUID id)
     {
         UUID deletedReceiverThreadId = receiverThreadRepository.deleteReceiverThreadById(id);
-        messagingTemplate.convertAndSend("/topic/receiverThreads", getAllReceiverThreads());
+        threadControlRegistry.remove(id);
+        stopReceiverTask(id);
+        threadChangePublisher.publishDeleted(ThreadType.RECEIVER, List.of(id));
 
         return deletedReceiverThreadId;
     }
 
     /**
-     * Deletes all receiver threads from the system.
+     * Deletes many receiver threads at once and stops their tasks right away.
+     * The threads are selected by their IDs, or by state and priority if no IDs are given.
+     * All deletions are published in a single message.
+     * @param ids IDs of the receiver threads to delete
+     * @param threadState state of the receiver threads to delete if no IDs are given, any state if null
+     * @param priority priority of the receiver threads to delete if no IDs are given, any priority if null
+     * @return number of deleted receiver threads
+     * @throws IllegalArgumentException if neither IDs nor a filter are given
+     */
+    public Integer deleteReceiverThreads(List<UUID> ids, ThreadState threadState, Integer priority)
+    {
+        List<UUID> deletedReceiverThreadIds;
+        if(ids != null && !ids.isEmpty())
+        {
+            deletedReceiverThreadIds = receiverThreadRepository.deleteReceiverThreads(ids);
+        }
+        else if(threadState != null || priority != null)
+        {
+            deletedReceiverThreadIds = receiverThreadRepository.deleteReceiverThreadsByFilter(threadState, priority);
+        }
+        else
+        {
+            throw new IllegalArgumentException();
+        }
+
+        for (UUID receiverThreadId : deletedReceiverThreadIds) {
+            threadControlRegistry.remove(receiverThreadId);
+            stopReceiverTask(receiverThreadId);
+        }
+        threadChangePublisher.publishDeleted(ThreadType.RECEIVER, deletedReceiverThreadIds);
+
+        return deletedReceiverThreadIds.size();
+    }
+
+    /**
+     * Deletes all receiver threads from the system and stops every running receiver task immediately.
      * @return true if all receiver threads were successfully deleted
      */
     public Boolean deleteAllReceiverThreads()
     {
+        List<UUID> deletedReceiverThreadIds = threadChangePublisher.hasSubscribers(ThreadType.RECEIVER)
+                ? receiverThreadRepository.getAllReceiverThreadIds() : List.of();
         Boolean bulkDeletionResult = receiverThreadRepository.deleteAllReceiverThreads();
-        messagingTemplate.convertAndSend("/topic/receiverThreads", getAllReceiverThreads());
+        for (UUID receiverThreadId : threadControlRegistry.removeAll(ThreadType.RECEIVER)) {
+            stopReceiverTask(receiverThreadId);
+        }
+        threadChangePublisher.publishDeleted(ThreadType.RECEIVER, deletedReceiverThreadIds);
 
         return bulkDeletionResult;
     }
@@ -179,53 +335,250 @@ public class ReceiverThreadService implements IReceiverThreadService {
         List<ReceiverThreadDto> receiverThreadsList = receiverThreadRepository.getActiveReceiverThreads();
         for(int i = 0; i < receiverThreadsList.size(); i++)
         {
-            runReceiverThreadLifeCycle(receiverThreadsList.get(i).getId());
+            ReceiverThreadDto receiverThreadDto = receiverThreadsList.get(i);
+            applyControlChange(receiverThreadDto.getId(), receiverThreadDto.getState(), receiverThreadDto.getPriority(),
+                    receiverThreadDto.getBatchSize(), receiverThreadDto.getLingerMillis());
         }
-        messagingTemplate.convertAndSend("/topic/receiverThreads", getAllReceiverThreads());
 
         return true;
     }
 
+    /**
+     * Publishes the current state of a receiver thread after a partial update.
+     * Only the changed thread is loaded, not the whole list, and nothing is loaded while nobody listens.
+     * @param id ID of the updated receiver thread
+     */
+    private void publishUpdated(UUID id) {
+        if (!threadChangePublisher.hasSubscribers(ThreadType.RECEIVER)) {
+            return;
+        }
+        findReceiverThread(id)
+                .ifPresent(receiverThreadDto -> threadChangePublisher.publishUpdated(ThreadType.RECEIVER, id, receiverThreadDto));
+    }
+
+    /**
+     * Returns the current settings of a receiver thread.
+     * Every accepted change is applied to the in-memory control block, so a thread that has one is answered from
+     * memory and only a thread this node does not control yet is read from the database.
+     * @param id ID of the receiver thread
+     * @return Optional containing the receiver thread if found, empty otherwise
+     */
+    private Optional<ReceiverThreadDto> findReceiverThread(UUID id) {
+        Optional<ThreadControlBlock> controlBlock = threadControlRegistry.get(id);
+        if (controlBlock.isPresent()) {
+            ThreadControlBlock block = controlBlock.get();
+            return Optional.of(new ReceiverThreadDto(id, ThreadType.RECEIVER, block.getState(), block.getPriority(),
+                    block.getBatchSize(), block.getLingerMillis()));
+        }
+        return receiverThreadRepository.getReceiverThreadById(id);
+    }
+
+    /**
+     * Publishes a state, priority or batch change to the in-memory control block of a receiver thread.
+     * Starts the lifecycle if the thread becomes RUNNING and interrupts the running task if it is stopped.
+     * @param id ID of the receiver thread
+     * @param threadState new state of the thread
+     * @param priority new priority of the thread
+     * @param batchSize maximum batch size, the default batch size is used if null
+     * @param lingerMillis linger time in milliseconds, the default linger time is used if null
+     */
+    private void applyControlChange(UUID id, ThreadState threadState, Integer priority, Integer batchSize, Long lingerMillis) {
+        ThreadControlBlock controlBlock = threadControlRegistry.register(id, ThreadType.RECEIVER, threadState, priority);
+        controlBlock.setBatchSize(batchSize != null ? batchSize : DEFAULT_BATCH_SIZE);
+        controlBlock.setLingerMillis(lingerMillis != null ? lingerMillis : DEFAULT_LINGER_MILLIS);
+        if (threadState == ThreadState.RUNNING) {
+            runReceiverThreadLifeCycle(id);
+        } else {
+            stopReceiverTask(id);
+        }
+    }
+
+    /**
+     * Cancels the running task of a receiver thread, interrupting it if it is sleeping or blocked on the queue.
+     * @param id ID of the receiver thread to stop
+     */
+    private void stopReceiverTask(UUID id) {
+        Future<?> receiverTask = runningReceivers.remove(id);
+        if (receiverTask != null) {
+            receiverTask.cancel(true);
+        }
+    }
+
     /**
      * Initiates and manages the lifecycle of a specific receiver thread.
-     * Creates a task that continuously polls data from the shared queue until interrupted.
-     * Monitors thread state and priority changes, and handles thread termination.
-     * The receiver checks for new data every second and logs consumed messages.
+     * Creates a task that continuously polls data from the shared queue until the thread is stopped, deleted or interrupted.
+     * State and priority are read from the in-memory control block, so no database call is made per iteration.
+     * Does nothing if a task for the thread is already running.
      * @param receiverThreadId ID of the receiver thread to run
      */
     private void runReceiverThreadLifeCycle(UUID receiverThreadId) {
-        Future<?> receiverTask = executorService.submit(() -> {
-            long lastProcessTime = System.currentTimeMillis();
-            while (!Thread.currentThread().isInterrupted()) {
-                Optional<ReceiverThreadDto> thisThread = receiverThreadRepository.getReceiverThreadById(receiverThreadId);
-                if (thisThread.isEmpty() || thisThread.get().getState() == ThreadState.STOPPED) {
-                    Future<?> task = runningReceivers.get(receiverThreadId);
-                    task.cancel(true);
-                    runningReceivers.remove(receiverThreadId);
-                    break;
-                }
-                Thread.currentThread().setPriority(thisThread.get().getPriority());
-                try {
-                    long currentTime = System.currentTimeMillis();
-                    if (currentTime - lastProcessTime >= 1000) {
-                        String data = sharedQueue.poll();
-
-                        messagingTemplate.convertAndSend("/topic/messageQueue", messageQueueService.getQueuePage(0,14));
-
-                        if (data != null) {
-                            String timestamp = new java.text.SimpleDateFormat("HH:mm:ss").format(new Date());
-                            log.info("Receiver {} consumed: {} at {}", receiverThreadId, data, timestamp);
-                            lastProcessTime = currentTime;
-                        }
+        Optional<ThreadControlBlock> controlBlock = threadControlRegistry.get(receiverThreadId);
+        if (controlBlock.isEmpty()) {
+            return;
+        }
+
+        runningReceivers.compute(receiverThreadId, (id, runningTask) -> {
+            if (runningTask != null && !runningTask.isDone()) {
+                return runningTask;
+            }
+            long generation = controlBlock.get().nextGeneration();
+            AtomicReference<Future<?>> ownTask = new AtomicReference<>();
+            if (receiverConsumptionMode == ReceiverConsumptionMode.BATCH) {
+                ownTask.set(executorService.submit(() -> batchReceiverLifeCycle(receiverThreadId, controlBlock.get(), generation, ownTask)));
+            } else {
+                ownTask.set(executorService.submit(() -> receiverLifeCycle(receiverThreadId, controlBlock.get(), generation, ownTask)));
+            }
+            return ownTask.get();
+        });
+    }
+
+    /**
+     * Body of a receiver lifecycle task.
+     * Checks for new data every second and logs consumed messages while the control block stays active for the given generation.
+     * @param receiverThreadId ID of the receiver thread
+     * @param controlBlock control block of the receiver thread
+     * @param generation generation the task was started with
+     * @param ownTask future of this task, removed from the running receivers when the task ends
+     */
+    private void receiverLifeCycle(UUID receiverThreadId, ThreadControlBlock controlBlock, long generation,
+                                   AtomicReference<Future<?>> ownTask) {
+        long lastProcessTime = System.currentTimeMillis();
+        try {
+            while (!Thread.currentThread().isInterrupted() && controlBlock.isActive(generation)) {
+                applyPriority(controlBlock.getPriority());
+
+                long currentTime = System.currentTimeMillis();
+                if (currentTime - lastProcessTime >= 1000) {
+                    IQueueMessage data = sharedQueue.poll();
+                    if (data != null) {
+                        long latencyNanos = data.ageNanos(System.nanoTime());
+                        messageFlowMetrics.recordLatency(latencyNanos);
+                        messageFlowMetrics.recordDequeued(1);
+                        controlBlock.recordProcessed(1);
+                        log.info("Receiver {} consumed: {} after {} ms", receiverThreadId, data,
+                                TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+                        data.release();
+                        lastProcessTime = currentTime;
                     }
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    log.info("Receiver {} interrupted", receiverThreadId);
-                    break;
                 }
+                Thread.sleep(1000);
             }
-        });
-        runningReceivers.put(receiverThreadId, receiverTask);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Receiver {} interrupted", receiverThreadId);
+        } finally {
+            removeOwnTask(runningReceivers, receiverThreadId, ownTask);
+        }
+    }
+
+    /**
+     * Body of a receiver lifecycle task in batch mode.
+     * Blocks until a message arrives, drains up to the receiver's batch size and optionally lingers to fill the batch.
+     * Consumption therefore keeps up with the queue instead of being limited to one message per second.
+     * Consumed messages are released, which hands pooled buffers back to the message pool.
+     * @param receiverThreadId ID of the receiver thread
+     * @param controlBlock control block of the receiver thread
+     * @param generation generation the task was started with
+     * @param ownTask future of this task, removed from the running receivers when the task ends
+     */
+    private void batchReceiverLifeCycle(UUID receiverThreadId, ThreadControlBlock controlBlock, long generation,
+                                        AtomicReference<Future<?>> ownTask) {
+        List<IQueueMessage> batch = new ArrayList<>();
+        long lastRecordTime = System.currentTimeMillis();
+        long allocationWindowStart = messageFlowMetrics.currentThreadAllocatedBytes();
+        long allocationWindowMessages = 0;
+        try {
+            while (!Thread.currentThread().isInterrupted() && controlBlock.isActive(generation)) {
+                applyPriority(controlBlock.getPriority());
+
+                IQueueMessage first = sharedQueue.poll(pollTimeoutMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                int batchSize = controlBlock.getBatchSize();
+                batch.add(first);
+                sharedQueue.drainTo(batch, batchSize - batch.size());
+                if (batch.size() < batchSize && controlBlock.getLingerMillis() > 0) {
+                    lingerForBatch(batch, batchSize, controlBlock.getLingerMillis());
+                }
+
+                long now = System.nanoTime();
+                for (IQueueMessage data : batch) {
+                    messageFlowMetrics.recordLatency(data.ageNanos(now));
+                    log.debug("Receiver {} consumed: {}", receiverThreadId, data);
+                    data.release();
+                }
+                messageFlowMetrics.recordReceiverBatch(batch.size());
+                messageFlowMetrics.recordDequeued(batch.size());
+                controlBlock.recordProcessed(batch.size());
+                allocationWindowMessages += batch.size();
+                batch.clear();
+
+                long currentTime = System.currentTimeMillis();
+                if (currentTime - lastRecordTime >= 1000) {
+                    messageFlowMetrics.recordAllocation(ThreadType.RECEIVER, allocationWindowStart, allocationWindowMessages);
+                    lastRecordTime = currentTime;
+                    allocationWindowStart = messageFlowMetrics.currentThreadAllocatedBytes();
+                    allocationWindowMessages = 0;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Receiver {} interrupted", receiverThreadId);
+        } finally {
+            removeOwnTask(runningReceivers, receiverThreadId, ownTask);
+        }
+    }
+
+    /**
+     * Waits for more messages until the batch is full or the linger time has passed.
+     * An interrupt ends the wait early but keeps the messages already taken, so they are still consumed.
+     * @param batch batch being filled
+     * @param batchSize maximum batch size
+     * @param lingerMillis maximum time to wait in milliseconds
+     */
+    private void lingerForBatch(List<IQueueMessage> batch, int batchSize, long lingerMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        try {
+            while (batch.size() < batchSize) {
+                long remainingNanos = deadline - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    return;
+                }
+                IQueueMessage next = sharedQueue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    return;
+                }
+                batch.add(next);
+                sharedQueue.drainTo(batch, batchSize - batch.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Applies the stored priority to the thread running the lifecycle.
+     * Virtual threads always run at normal priority, so the priority is only kept as metadata for them.
+     * @param priority priority value stored for the receiver thread
+     */
+    private void applyPriority(Integer priority) {
+        Thread currentThread = Thread.currentThread();
+        if (priority == null || currentThread.isVirtual() || currentThread.getPriority() == priority) {
+            return;
+        }
+        currentThread.setPriority(priority);
+    }
+
+    /**
+     * Removes the future of a finished task, unless a restart has already replaced it with the future of a new task.
+     * The future is compared inside the map's lock, which also waits for the compute call that stored it.
+     * @param runningTasks running tasks by thread ID
+     * @param threadId ID of the thread
+     * @param ownTask future of the finished task
+     */
+    private static void removeOwnTask(Map<UUID, Future<?>> runningTasks, UUID threadId, AtomicReference<Future<?>> ownTask) {
+        runningTasks.computeIfPresent(threadId, (id, runningTask) -> runningTask == ownTask.get() ? null : runningTask);
     }
-}
\ No newline at end of file
+}
@@ -1,30 +1,60 @@
 package com.example.threadmanagement.domain.service;
 
+import com.example.threadmanagement.config.SenderSchedulingMode;
+import com.example.threadmanagement.domain.broadcast.ThreadChangePublisher;
+import com.example.threadmanagement.domain.lifecycle.SenderTickScheduler;
+import com.example.threadmanagement.domain.lifecycle.ThreadControlBlock;
+import com.example.threadmanagement.domain.lifecycle.ThreadControlRegistry;
+import com.example.threadmanagement.domain.metrics.MessageFlowMetrics;
+import com.example.threadmanagement.domain.queue.QueueMessageFactory;
+import com.example.threadmanagement.domain.queue.SharedQueueProducer;
 import com.example.threadmanagement.domain.repository.SenderThreadRepository;
+import com.example.threadmanagement.domain.repository.ThreadIdGenerator;
 import com.example.threadmanagement.domain.service.interfaces.ISenderThreadService;
+import com.example.threadmanagement.model.dto.BulkThreadUpdateDto;
 import com.example.threadmanagement.model.dto.SenderThreadDto;
+import com.example.threadmanagement.model.dto.ThreadPageDto;
+import com.example.threadmanagement.model.dto.ThreadSnapshotDto;
+import com.example.threadmanagement.model.dto.ThreadSortKey;
+import com.example.threadmanagement.model.entity.OverflowPolicy;
 import com.example.threadmanagement.model.entity.ThreadState;
 import com.example.threadmanagement.model.entity.ThreadType;
+import com.example.threadmanagement.model.message.interfaces.IQueueMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class SenderThreadService  implements ISenderThreadService {
-    private final BlockingQueue<String> sharedQueue;
+    private static final double DEFAULT_RATE = 1.0;
+    private static final int DEFAULT_BURST = 1;
+
+    private final SharedQueueProducer sharedQueueProducer;
     private final ExecutorService executorService;
     private final SenderThreadRepository senderThreadRepository;
     private final Map<UUID, Future<?>> runningSenders = new ConcurrentHashMap<>();
-    private final SimpMessagingTemplate messagingTemplate;
-    private final MessageQueueService messageQueueService;
+    private final ThreadChangePublisher threadChangePublisher;
+    private final ThreadControlRegistry threadControlRegistry;
+    private final SenderTickScheduler senderTickScheduler;
+    private final QueueMessageFactory queueMessageFactory;
+    private final MessageFlowMetrics messageFlowMetrics;
+    private final ThreadIdGenerator threadIdGenerator;
+
+    @Value("${thread.sender.scheduling-mode:LOOP}")
+    private SenderSchedulingMode senderSchedulingMode;
+
+    @Value("${thread.sender.min-period-ms:10}")
+    private long minPeriodMillis;
 
     /**
      * Creates multiple sender threads based on the specified amount and starts their lifecycle.
@@ -41,20 +71,18 @@ public class SenderThreadService  implements ISenderThreadService {
         }
 
         for (int i = 0; i < amount; i++) {
-            UUID threadId = UUID.randomUUID();
-            senderThreadDtoList.add(new SenderThreadDto(threadId, ThreadType.SENDER, ThreadState.RUNNING, Thread.NORM_PRIORITY));
+            UUID threadId = threadIdGenerator.nextId();
+            senderThreadDtoList.add(new SenderThreadDto(threadId, ThreadType.SENDER, ThreadState.RUNNING, Thread.NORM_PRIORITY, DEFAULT_RATE, DEFAULT_BURST, OverflowPolicy.BLOCK));
         }
 
         senderThreadRepository.createSenderThreadsWithList(senderThreadDtoList);
 
         for(int i = 0; i < senderThreadDtoList.size(); i++)
         {
-            UUID threadId = senderThreadDtoList.get(i).getId();
-            runSenderThreadLifeCycle(threadId);
+            applyControlChange(senderThreadDtoList.get(i));
         }
 
-        // This will trigger handleThreadRefresh
-        messagingTemplate.convertAndSend("/topic/senderThreads", getAllSenderThreads());
+        threadChangePublisher.publishCreated(ThreadType.SENDER, senderThreadDtoList, SenderThreadDto::getId);
 
         return senderThreadDtoList;
     }
@@ -67,7 +95,7 @@ public class SenderThreadService  implements ISenderThreadService {
      */
     public SenderThreadDto updateSenderThread(SenderThreadDto senderThreadDto)
     {
-        Optional<SenderThreadDto> currentSenderThread = senderThreadRepository.getSenderThreadById(senderThreadDto.getId());
+        Optional<SenderThreadDto> currentSenderThread = findSenderThread(senderThreadDto.getId());
         if(currentSenderThread.isEmpty())
         {
             throw new IllegalArgumentException();
@@ -75,12 +103,16 @@ public class SenderThreadService  implements ISenderThreadService {
 
         SenderThreadDto result = senderThreadRepository.updateSenderThread(senderThreadDto);
 
-        if(senderThreadDto.getState() == ThreadState.RUNNING && currentSenderThread.get().getState() != ThreadState.RUNNING)
-        {
-            runSenderThreadLifeCycle(senderThreadDto.getId());
-        }
+        SenderThreadDto current = currentSenderThread.get();
+        SenderThreadDto updated = new SenderThreadDto(senderThreadDto.getId(), ThreadType.SENDER,
+                senderThreadDto.getState() != null ? senderThreadDto.getState() : current.getState(),
+                senderThreadDto.getPriority() != null ? senderThreadDto.getPriority() : current.getPriority(),
+                senderThreadDto.getRate() != null ? senderThreadDto.getRate() : current.getRate(),
+                senderThreadDto.getBurst() != null ? senderThreadDto.getBurst() : current.getBurst(),
+                senderThreadDto.getOverflowPolicy() != null ? senderThreadDto.getOverflowPolicy() : current.getOverflowPolicy());
+        applyControlChange(updated);
 
-        messagingTemplate.convertAndSend("/topic/senderThreads", getAllSenderThreads());
+        threadChangePublisher.publishUpdated(ThreadType.SENDER, updated.getId(), updated);
 
         return result;
     }
@@ -94,7 +126,12 @@ public class SenderThreadService  implements ISenderThreadService {
      */
     public UUID updateSenderThreadState(UUID id, ThreadState threadState)
     {
-        Optional<SenderThreadDto> senderThreadDto = senderThreadRepository.getSenderThreadById(id);
+        if(threadState == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        Optional<SenderThreadDto> senderThreadDto = findSenderThread(id);
         if(senderThreadDto.isEmpty())
         {
             throw new IllegalArgumentException();
@@ -102,12 +139,10 @@ public class SenderThreadService  implements ISenderThreadService {
 
         UUID result = senderThreadRepository.updateSenderThreadState(id, threadState);
 
-        if(senderThreadDto.get().getState() != ThreadState.RUNNING && threadState == ThreadState.RUNNING)
-        {
-            runSenderThreadLifeCycle(id);
-        }
+        senderThreadDto.get().setState(threadState);
+        applyControlChange(senderThreadDto.get());
 
-        messagingTemplate.convertAndSend("/topic/senderThreads", getAllSenderThreads());
+        threadChangePublisher.publishUpdated(ThreadType.SENDER, id, senderThreadDto.get());
 
         return result;
     }
@@ -121,10 +156,73 @@ public class SenderThreadService  implements ISenderThreadService {
     public UUID updateSenderThreadPriority(UUID id, Integer priority)
     {
         UUID updatedSenderThreadId = senderThreadRepository.updateSenderThreadPriority(id, priority);
-        messagingTemplate.convertAndSend("/topic/senderThreads", getAllSenderThreads());
+        threadControlRegistry.get(id).ifPresent(controlBlock -> controlBlock.setPriority(priority));
+        publishUpdated(id);
         return updatedSenderThreadId;
     }
 
+    /**
+     * Updates the production rate of a specific sender thread.
+     * A running sender picks up the new rate immediately, without being restarted.
+     * @param id ID of the sender thread to update
+     * @param rate new rate in messages per second, may be fractional
+     * @param burst new burst size, the current burst is kept if null
+     * @return ID of the updated sender thread
+     */
+    public UUID updateSenderThreadRate(UUID id, Double rate, Integer burst)
+    {
+        UUID updatedSenderThreadId = senderThreadRepository.updateSenderThreadRate(id, rate, burst);
+        threadControlRegistry.get(id).ifPresent(controlBlock -> controlBlock.configureRate(rate,
+                burst != null ? burst : controlBlock.getBurst(), TimeUnit.MILLISECONDS.toNanos(minPeriodMillis)));
+        publishUpdated(id);
+        return updatedSenderThreadId;
+    }
+
+    /**
+     * Updates the overflow policy of a specific sender thread.
+     * A running sender applies the new policy to its next message.
+     * @param id ID of the sender thread to update
+     * @param overflowPolicy new overflow policy to be set
+     * @return ID of the updated sender thread
+     */
+    public UUID updateSenderThreadOverflowPolicy(UUID id, OverflowPolicy overflowPolicy)
+    {
+        UUID updatedSenderThreadId = senderThreadRepository.updateSenderThreadOverflowPolicy(id, overflowPolicy);
+        threadControlRegistry.get(id).ifPresent(controlBlock -> controlBlock.setOverflowPolicy(overflowPolicy));
+        publishUpdated(id);
+        return updatedSenderThreadId;
+    }
+
+    /**
+     * Updates state and priority of many sender threads at once and manages their lifecycles accordingly.
+     * The threads are selected by their IDs, or by the filter if no IDs are given.
+     * All changes are published in a single message.
+     * @param bulkThreadUpdateDto IDs or filter of the threads and their new state and priority
+     * @return number of updated sender threads
+     * @throws IllegalArgumentException if neither a new state nor a new priority is given
+     */
+    public Integer updateSenderThreads(BulkThreadUpdateDto bulkThreadUpdateDto)
+    {
+        if(bulkThreadUpdateDto == null || (bulkThreadUpdateDto.getState() == null && bulkThreadUpdateDto.getPriority() == null))
+        {
+            throw new IllegalArgumentException();
+        }
+
+        List<SenderThreadDto> updatedSenderThreads = bulkThreadUpdateDto.getIds() != null && !bulkThreadUpdateDto.getIds().isEmpty()
+                ? senderThreadRepository.updateSenderThreads(bulkThreadUpdateDto.getIds(),
+                        bulkThreadUpdateDto.getState(), bulkThreadUpdateDto.getPriority())
+                : senderThreadRepository.updateSenderThreadsByFilter(bulkThreadUpdateDto.getCurrentState(),
+                        bulkThreadUpdateDto.getCurrentPriority(), bulkThreadUpdateDto.getState(), bulkThreadUpdateDto.getPriority());
+
+        for (SenderThreadDto senderThreadDto : updatedSenderThreads) {
+            applyControlChange(senderThreadDto);
+        }
+
+        threadChangePublisher.publishUpdated(ThreadType.SENDER, updatedSenderThreads, SenderThreadDto::getId);
+
+        return updatedSenderThreads.size();
+    }
+
     /**
      * Retrieves all active sender threads (threads in RUNNING state).
      * @return list of active sender thread DTOs
@@ -142,6 +240,21 @@ public class SenderThreadService  implements ISenderThreadService {
         return senderThreadRepository.getPassiveSenderThreads();
     }
 
+    /**
+     * Retrieves one page of sender threads, continuing after the last thread of the previous page.
+     * @param threadState only threads in this state are returned, any state if null
+     * @param priority only threads with this priority are returned, any priority if null
+     * @param sortKey column the page is sorted by, ties are broken by ID
+     * @param afterId ID of the last thread of the previous page, first page if null
+     * @param afterCreatedAt creation time of the last thread of the previous page, only used when sorting by creation time
+     * @param size number of threads per page, limited to 1..SenderThreadRepository.MAX_PAGE_SIZE
+     * @return page of sender threads with the position of the next page
+     */
+    public ThreadPageDto<SenderThreadDto> getSenderThreadPage(ThreadState threadState, Integer priority, ThreadSortKey sortKey,
+                                                          UUID afterId, LocalDateTime afterCreatedAt, int size) {
+        return senderThreadRepository.getSenderThreadPage(threadState, priority, sortKey, afterId, afterCreatedAt, size);
+    }
+
     /**
      * Retrieves all sender threads regardless of their state.
      * @return list of all sender thread DTOs
@@ -151,26 +264,77 @@ public class SenderThreadService  implements ISenderThreadService {
     }
 
     /**
-     * Deletes a specific sender thread by its ID.
+     * Retrieves all sender threads together with the version of the last published change.
+     * Clients load the snapshot once and apply every change event with a higher version on top of it.
+     * @return snapshot of all sender threads
+     */
+    public ThreadSnapshotDto<SenderThreadDto> getSenderThreadSnapshot() {
+        return threadChangePublisher.snapshot(ThreadType.SENDER, this::getAllSenderThreads);
+    }
+
+    /**
+     * Deletes a specific sender thread by its ID and stops its running task immediately.
      * @param id ID of the sender thread to delete
      * @return ID of the deleted sender thread
      */
     public UUID deleteSenderThreadById(UUID id)
     {
         UUID deletedSenderThreadId = senderThreadRepository.deleteSenderThreadById(id);
-        messagingTemplate.convertAndSend("/topic/senderThreads", getAllSenderThreads());
+        threadControlRegistry.remove(id);
+        stopSenderTask(id);
+        threadChangePublisher.publishDeleted(ThreadType.SENDER, List.of(id));
 
         return deletedSenderThreadId;
     }
 
     /**
-     * Deletes all sender threads from the system.
+     * Deletes many sender threads at once and stops their tasks right away.
+     * The threads are selected by their IDs, or by state and priority if no IDs are given.
+     * All deletions are published in a single message.
+     * @param ids IDs of the sender threads to delete
+     * @param threadState state of the sender threads to delete if no IDs are given, any state if null
+     * @param priority priority of the sender threads to delete if no IDs are given, any priority if null
+     * @return number of deleted sender threads
+     * @throws IllegalArgumentException if neither IDs nor a filter are given
+     */
+    public Integer deleteSenderThreads(List<UUID> ids, ThreadState threadState, Integer priority)
+    {
+        List<UUID> deletedSenderThreadIds;
+        if(ids != null && !ids.isEmpty())
+        {
+            deletedSenderThreadIds = senderThreadRepository.deleteSenderThreads(ids);
+        }
+        else if(threadState != null || priority != null)
+        {
+            deletedSenderThreadIds = senderThreadRepository.deleteSenderThreadsByFilter(threadState, priority);
+        }
+        else
+        {
+            throw new IllegalArgumentException();
+        }
+
+        for (UUID senderThreadId : deletedSenderThreadIds) {
+            threadControlRegistry.remove(senderThreadId);
+            stopSenderTask(senderThreadId);
+        }
+        threadChangePublisher.publishDeleted(ThreadType.SENDER, deletedSenderThreadIds);
+
+        return deletedSenderThreadIds.size();
+    }
+
+    /**
+     * Deletes all sender threads from the system and stops every running sender task immediately.
      * @return true if all sender threads were successfully deleted
      */
     public Boolean deleteAllSenderThreads()
     {
+        List<UUID> deletedSenderThreadIds = threadChangePublisher.hasSubscribers(ThreadType.SENDER)
+                ? senderThreadRepository.getAllSenderThreadIds() : List.of();
         Boolean bulkDeletionResult = senderThreadRepository.deleteAllSenderThreads();
-        messagingTemplate.convertAndSend("/topic/senderThreads", getAllSenderThreads());
+        for (UUID senderThreadId : threadControlRegistry.removeAll(ThreadType.SENDER)) {
+            stopSenderTask(senderThreadId);
+        }
+        threadChangePublisher.publishDeleted(ThreadType.SENDER, deletedSenderThreadIds);
 
         return bulkDeletionResult;
     }
@@ -184,56 +348,220 @@ public class SenderThreadService  implements ISenderThreadService {
         List<SenderThreadDto> senderThreadsList = senderThreadRepository.getActiveSenderThreads();
         for(int i = 0; i < senderThreadsList.size(); i++)
         {
-            runSenderThreadLifeCycle(senderThreadsList.get(i).getId());
+            applyControlChange(senderThreadsList.get(i));
         }
-        messagingTemplate.convertAndSend("/topic/senderThreads", getAllSenderThreads());
 
         return true;
     }
 
+    /**
+     * Publishes the current state of a sender thread after a partial update.
+     * Only the changed thread is loaded, not the whole list, and nothing is loaded while nobody listens.
+     * @param id ID of the updated sender thread
+     */
+    private void publishUpdated(UUID id) {
+        if (!threadChangePublisher.hasSubscribers(ThreadType.SENDER)) {
+            return;
+        }
+        findSenderThread(id)
+                .ifPresent(senderThreadDto -> threadChangePublisher.publishUpdated(ThreadType.SENDER, id, senderThreadDto));
+    }
+
+    /**
+     * Returns the current settings of a sender thread.
+     * Every accepted change is applied to the in-memory control block, so a thread that has one is answered from
+     * memory and only a thread this node does not control yet is read from the database.
+     * @param id ID of the sender thread
+     * @return Optional containing the sender thread if found, empty otherwise
+     */
+    private Optional<SenderThreadDto> findSenderThread(UUID id) {
+        Optional<ThreadControlBlock> controlBlock = threadControlRegistry.get(id);
+        if (controlBlock.isPresent()) {
+            ThreadControlBlock block = controlBlock.get();
+            return Optional.of(new SenderThreadDto(id, ThreadType.SENDER, block.getState(), block.getPriority(),
+                    block.getRate(), block.getBurst(), block.getOverflowPolicy()));
+        }
+        return senderThreadRepository.getSenderThreadById(id);
+    }
+
+    /**
+     * Publishes the complete settings of a sender thread to its in-memory control block.
+     * Starts the lifecycle if the thread becomes RUNNING and interrupts the running task if it is stopped.
+     * Rate, burst and overflow policy fall back to their defaults if they are null.
+     * @param senderThreadDto current settings of the sender thread
+     */
+    private void applyControlChange(SenderThreadDto senderThreadDto) {
+        UUID id = senderThreadDto.getId();
+        ThreadControlBlock controlBlock = threadControlRegistry.register(id, ThreadType.SENDER,
+                senderThreadDto.getState(), senderThreadDto.getPriority());
+        controlBlock.configureRate(senderThreadDto.getRate() != null ? senderThreadDto.getRate() : DEFAULT_RATE,
+                senderThreadDto.getBurst() != null ? senderThreadDto.getBurst() : DEFAULT_BURST,
+                TimeUnit.MILLISECONDS.toNanos(minPeriodMillis));
+        controlBlock.setOverflowPolicy(senderThreadDto.getOverflowPolicy() != null
+                ? senderThreadDto.getOverflowPolicy() : OverflowPolicy.BLOCK);
+        if (senderThreadDto.getState() == ThreadState.RUNNING) {
+            runSenderThreadLifeCycle(id);
+        } else {
+            stopSenderTask(id);
+        }
+    }
+
+    /**
+     * Cancels the running task of a sender thread, interrupting it if it is sleeping or blocked on the queue.
+     * In scheduler mode the sender's entry is removed from the shared scheduler instead.
+     * @param id ID of the sender thread to stop
+     */
+    private void stopSenderTask(UUID id) {
+        Future<?> senderTask = runningSenders.remove(id);
+        if (senderTask != null) {
+            senderTask.cancel(true);
+        }
+        senderTickScheduler.cancel(id);
+    }
+
     /**
      * Initiates and manages the lifecycle of a specific sender thread.
-     * Creates a task that continuously sends data to the shared queue until interrupted.
-     * Monitors thread state and priority changes, and handles thread termination.
+     * Creates a task that continuously sends data to the shared queue until the thread is stopped, deleted or interrupted.
+     * State and priority are read from the in-memory control block, so no database call is made per iteration.
+     * In scheduler mode the sender is registered on the shared scheduler instead of getting its own task.
+     * Does nothing if a task for the thread is already running.
      * @param senderThreadId ID of the sender thread to run
      */
     private void runSenderThreadLifeCycle(UUID senderThreadId) {
-        Future<?> senderTask = executorService.submit(() -> {
-            long lastProcessTime = System.currentTimeMillis();
-            while (!Thread.currentThread().isInterrupted()) {
-                try {
-                    long currentTime = System.currentTimeMillis();
-                    if (currentTime - lastProcessTime >= 1000) {
-                        String timestamp = new java.text.SimpleDateFormat("HH:mm:ss").format(new Date());
-                        String data = "Data from sender " + senderThreadId + " at " + timestamp;
-                        sharedQueue.put(data);
-
-                        messagingTemplate.convertAndSend("/topic/messageQueue", messageQueueService.getQueuePage(0,14));
-
-                        log.info("Sender {} added: {}", senderThreadId, data);
-                        lastProcessTime = currentTime;
-                    }
-
-                    Optional<SenderThreadDto> thisThread = senderThreadRepository.getSenderThreadById(senderThreadId);
-                    if (thisThread.isEmpty() || thisThread.get().getState() == ThreadState.STOPPED) {
-                        Future<?> task = runningSenders.get(senderThreadId);
-                        task.cancel(true);
-                        runningSenders.remove(senderThreadId);
-                        break;
-                    } else {
-                        Thread.currentThread().setPriority(thisThread.get().getPriority());
-                    }
-
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    log.info("Sender {} interrupted", senderThreadId);
+        Optional<ThreadControlBlock> controlBlock = threadControlRegistry.get(senderThreadId);
+        if (controlBlock.isEmpty()) {
+            return;
+        }
+
+        if (senderSchedulingMode == SenderSchedulingMode.SCHEDULER) {
+            if (!senderTickScheduler.isScheduled(senderThreadId)) {
+                long generation = controlBlock.get().nextGeneration();
+                senderTickScheduler.schedule(controlBlock.get(), generation, () -> sendScheduledMessages(senderThreadId, controlBlock.get()));
+            }
+            return;
+        }
+
+        runningSenders.compute(senderThreadId, (id, runningTask) -> {
+            if (runningTask != null && !runningTask.isDone()) {
+                return runningTask;
+            }
+            long generation = controlBlock.get().nextGeneration();
+            AtomicReference<Future<?>> ownTask = new AtomicReference<>();
+            ownTask.set(executorService.submit(() -> senderLifeCycle(senderThreadId, controlBlock.get(), generation, ownTask)));
+            return ownTask.get();
+        });
+    }
+
+    /**
+     * Body of a sender lifecycle task.
+     * Sends messages at the rate of the sender's token bucket while the control block stays active for the given generation.
+     * The bytes allocated per message are recorded once per second.
+     * @param senderThreadId ID of the sender thread
+     * @param controlBlock control block of the sender thread
+     * @param generation generation the task was started with
+     * @param ownTask future of this task, removed from the running senders when the task ends
+     */
+    private void senderLifeCycle(UUID senderThreadId, ThreadControlBlock controlBlock, long generation,
+                                 AtomicReference<Future<?>> ownTask) {
+        long lastRecordTime = System.currentTimeMillis();
+        long allocationWindowStart = messageFlowMetrics.currentThreadAllocatedBytes();
+        long allocationWindowMessages = 0;
+        try {
+            while (!Thread.currentThread().isInterrupted() && controlBlock.isActive(generation)) {
+                applyPriority(controlBlock.getPriority());
+
+                controlBlock.getTokenBucket().acquire();
+                if (!controlBlock.isActive(generation)) {
                     break;
                 }
+
+                sendMessage(senderThreadId, controlBlock, true);
+                allocationWindowMessages++;
+
+                long currentTime = System.currentTimeMillis();
+                if (currentTime - lastRecordTime >= 1000) {
+                    messageFlowMetrics.recordAllocation(ThreadType.SENDER, allocationWindowStart, allocationWindowMessages);
+                    lastRecordTime = currentTime;
+                    allocationWindowStart = messageFlowMetrics.currentThreadAllocatedBytes();
+                    allocationWindowMessages = 0;
+                }
             }
-        });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Sender {} interrupted", senderThreadId);
+        } finally {
+            removeOwnTask(runningSenders, senderThreadId, ownTask);
+        }
+    }
+
+    /**
+     * Tick action of a sender driven by the shared scheduler.
+     * Sends every message the sender's token bucket allows since the previous tick.
+     * Never blocks, because a blocked tick would hold up every other sender on the same scheduler thread,
+     * so blocking overflow policies reject the message when the queue is full.
+     * @param senderThreadId ID of the sender thread
+     * @param controlBlock control block of the sender thread
+     */
+    private void sendScheduledMessages(UUID senderThreadId, ThreadControlBlock controlBlock) {
+        int permits = controlBlock.getTokenBucket().tryAcquire(Integer.MAX_VALUE);
+        if (permits == 0) {
+            return;
+        }
+
+        long allocationWindowStart = messageFlowMetrics.currentThreadAllocatedBytes();
+        try {
+            for (int i = 0; i < permits; i++) {
+                sendMessage(senderThreadId, controlBlock, false);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        messageFlowMetrics.recordAllocation(ThreadType.SENDER, allocationWindowStart, permits);
+    }
 
-        runningSenders.put(senderThreadId, senderTask);
+    /**
+     * Creates the next message of a sender and adds it to the shared queue according to its overflow policy.
+     * Only the raw fields are captured here, the text is formatted when the message is displayed.
+     * The message is not touched after it was handed to the queue, because a pooled message may already
+     * have been consumed and recycled by then.
+     * @param senderThreadId ID of the sender thread
+     * @param controlBlock control block of the sender thread, provides the message sequence and overflow policy
+     * @param mayBlock whether the calling thread may wait for room in the queue
+     * @throws InterruptedException if interrupted while waiting for room in the queue
+     */
+    private void sendMessage(UUID senderThreadId, ThreadControlBlock controlBlock, boolean mayBlock) throws InterruptedException {
+        long sequence = controlBlock.nextMessageSequence();
+        IQueueMessage data = queueMessageFactory.create(senderThreadId, sequence);
+        boolean added = sharedQueueProducer.enqueue(data, controlBlock.getOverflowPolicy(), controlBlock.getPriority(), mayBlock);
+        if (added) {
+            controlBlock.recordProcessed(1);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Sender {} {} message {}", senderThreadId, added ? "added" : "rejected", sequence);
+        }
     }
 
-}
\ No newline at end of file
+    /**
+     * Applies the stored priority to the thread running the lifecycle.
+     * Virtual threads always run at normal priority, so the priority is only kept as metadata for them.
+     * @param priority priority value stored for the sender thread
+     */
+    private void applyPriority(Integer priority) {
+        Thread currentThread = Thread.currentThread();
+        if (priority == null || currentThread.isVirtual() || currentThread.getPriority() == priority) {
+            return;
+        }
+        currentThread.setPriority(priority);
+    }
+
+    /**
+     * Removes the future of a finished task, unless a restart has already replaced it with the future of a new task.
+     * The future is compared inside the map's lock, which also waits for the compute call that stored it.
+     * @param runningTasks running tasks by thread ID
+     * @param threadId ID of the thread
+     * @param ownTask future of the finished task
+     */
+    private static void removeOwnTask(Map<UUID, Future<?>> runningTasks, UUID threadId, AtomicReference<Future<?>> ownTask) {
+        runningTasks.computeIfPresent(threadId, (id, runningTask) -> runningTask == ownTask.get() ? null : runningTask);
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.threadmanagement.domain.service.interfaces;
 
+import com.example.threadmanagement.model.dto.BulkThreadUpdateDto;
 import com.example.threadmanagement.model.dto.ReceiverThreadDto;
+import com.example.threadmanagement.model.dto.ThreadPageDto;
+import com.example.threadmanagement.model.dto.ThreadSnapshotDto;
+import com.example.threadmanagement.model.dto.ThreadSortKey;
 import com.example.threadmanagement.model.entity.ThreadState;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -40,6 +45,26 @@ public interface IReceiverThreadService
      */
     public UUID updateReceiverThreadPriority(UUID id, Integer priority);
 
+    /**
+     * Updates the batch settings of a specific receiver thread.
+     * A running receiver uses the new settings from its next batch on.
+     * @param id ID of the receiver thread to update
+     * @param batchSize new maximum number of messages per batch
+     * @param lingerMillis new time to wait for a batch to fill, the current value is kept if null
+     * @return ID of the updated receiver thread
+     */
+    public UUID updateReceiverThreadBatching(UUID id, Integer batchSize, Long lingerMillis);
+
+    /**
+     * Updates state and priority of many receiver threads at once and manages their lifecycles accordingly.
+     * The threads are selected by their IDs, or by the filter if no IDs are given.
+     * All changes are published in a single message.
+     * @param bulkThreadUpdateDto IDs or filter of the threads and their new state and priority
+     * @return number of updated receiver threads
+     * @throws IllegalArgumentException if neither a new state nor a new priority is given
+     */
+    public Integer updateReceiverThreads(BulkThreadUpdateDto bulkThreadUpdateDto);
+
     /**
      * Retrieves all active receiver threads (threads in RUNNING state).
      * @return list of active receiver thread DTOs
@@ -52,12 +77,32 @@ public interface IReceiverThreadService
      */
     public List<ReceiverThreadDto> getPassiveReceiverThreads();
 
+    /**
+     * Retrieves one page of receiver threads, continuing after the last thread of the previous page.
+     * @param threadState only threads in this state are returned, any state if null
+     * @param priority only threads with this priority are returned, any priority if null
+     * @param sortKey column the page is sorted by, ties are broken by ID
+     * @param afterId ID of the last thread of the previous page, first page if null
+     * @param afterCreatedAt creation time of the last thread of the previous page, only used when sorting by creation time
+     * @param size number of threads per page, limited to 1..ReceiverThreadRepository.MAX_PAGE_SIZE
+     * @return page of receiver threads with the position of the next page
+     */
+    public ThreadPageDto<ReceiverThreadDto> getReceiverThreadPage(ThreadState threadState, Integer priority, ThreadSortKey sortKey,
+                                                          UUID afterId, LocalDateTime afterCreatedAt, int size);
+
     /**
      * Retrieves all receiver threads regardless of their state.
      * @return list of all receiver thread DTOs
      */
     public List<ReceiverThreadDto> getAllReceiverThreads();
 
+    /**
+     * Retrieves all receiver threads together with the version of the last published change.
+     * Clients load the snapshot once and apply every change event with a higher version on top of it.
+     * @return snapshot of all receiver threads
+     */
+    public ThreadSnapshotDto<ReceiverThreadDto> getReceiverThreadSnapshot();
+
     /**
      * Deletes a specific receiver thread by its ID.
      * @param id ID of the receiver thread to delete
@@ -65,6 +110,18 @@ public interface IReceiverThreadService
      */
     public UUID deleteReceiverThreadById(UUID id);
 
+    /**
+     * Deletes many receiver threads at once and stops their tasks right away.
+     * The threads are selected by their IDs, or by state and priority if no IDs are given.
+     * All deletions are published in a single message.
+     * @param ids IDs of the receiver threads to delete
+     * @param threadState state of the receiver threads to delete if no IDs are given, any state if null
+     * @param priority priority of the receiver threads to delete if no IDs are given, any priority if null
+     * @return number of deleted receiver threads
+     * @throws IllegalArgumentException if neither IDs nor a filter are given
+     */
+    public Integer deleteReceiverThreads(List<UUID> ids, ThreadState threadState, Integer priority);
+
     /**
      * Deletes all receiver threads from the system.
      * @return true if all receiver threads were successfully deleted
@@ -1,7 +1,13 @@
 package com.example.threadmanagement.domain.service.interfaces;
 
+import com.example.threadmanagement.model.dto.BulkThreadUpdateDto;
 import com.example.threadmanagement.model.dto.SenderThreadDto;
+import com.example.threadmanagement.model.dto.ThreadPageDto;
+import com.example.threadmanagement.model.dto.ThreadSnapshotDto;
+import com.example.threadmanagement.model.dto.ThreadSortKey;
+import com.example.threadmanagement.model.entity.OverflowPolicy;
 import com.example.threadmanagement.model.entity.ThreadState;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -40,6 +46,35 @@ public interface ISenderThreadService
      */
     public UUID updateSenderThreadPriority(UUID id, Integer priority);
 
+    /**
+     * Updates the production rate of a specific sender thread.
+     * A running sender picks up the new rate immediately, without being restarted.
+     * @param id ID of the sender thread to update
+     * @param rate new rate in messages per second, may be fractional
+     * @param burst new burst size, the current burst is kept if null
+     * @return ID of the updated sender thread
+     */
+    public UUID updateSenderThreadRate(UUID id, Double rate, Integer burst);
+
+    /**
+     * Updates the overflow policy of a specific sender thread.
+     * A running sender applies the new policy to its next message.
+     * @param id ID of the sender thread to update
+     * @param overflowPolicy new overflow policy to be set
+     * @return ID of the updated sender thread
+     */
+    public UUID updateSenderThreadOverflowPolicy(UUID id, OverflowPolicy overflowPolicy);
+
+    /**
+     * Updates state and priority of many sender threads at once and manages their lifecycles accordingly.
+     * The threads are selected by their IDs, or by the filter if no IDs are given.
+     * All changes are published in a single message.
+     * @param bulkThreadUpdateDto IDs or filter of the threads and their new state and priority
+     * @return number of updated sender threads
+     * @throws IllegalArgumentException if neither a new state nor a new priority is given
+     */
+    public Integer updateSenderThreads(BulkThreadUpdateDto bulkThreadUpdateDto);
+
     /**
      * Retrieves all active sender threads (threads in RUNNING state).
      * @return list of active sender thread DTOs
@@ -52,12 +87,32 @@ public interface ISenderThreadService
      */
     public List<SenderThreadDto> getPassiveSenderThreads();
 
+    /**
+     * Retrieves one page of sender threads, continuing after the last thread of the previous page.
+     * @param threadState only threads in this state are returned, any state if null
+     * @param priority only threads with this priority are returned, any priority if null
+     * @param sortKey column the page is sorted by, ties are broken by ID
+     * @param afterId ID of the last thread of the previous page, first page if null
+     * @param afterCreatedAt creation time of the last thread of the previous page, only used when sorting by creation time
+     * @param size number of threads per page, limited to 1..SenderThreadRepository.MAX_PAGE_SIZE
+     * @return page of sender threads with the position of the next page
+     */
+    public ThreadPageDto<SenderThreadDto> getSenderThreadPage(ThreadState threadState, Integer priority, ThreadSortKey sortKey,
+                                                          UUID afterId, LocalDateTime afterCreatedAt, int size);
+
     /**
      * Retrieves all sender threads regardless of their state.
      * @return list of all sender thread DTOs
      */
     public List<SenderThreadDto> getAllSenderThreads();
 
+    /**
+     * Retrieves all sender threads together with the version of the last published change.
+     * Clients load the snapshot once and apply every change event with a higher version on top of it.
+     * @return snapshot of all sender threads
+     */
+    public ThreadSnapshotDto<SenderThreadDto> getSenderThreadSnapshot();
+
     /**
      * Deletes a specific sender thread by its ID.
      * @param id ID of the sender thread to delete
@@ -65,6 +120,18 @@ public interface ISenderThreadService
      */
     public UUID deleteSenderThreadById(UUID id);
 
+    /**
+     * Deletes many sender threads at once and stops their tasks right away.
+     * The threads are selected by their IDs, or by state and priority if no IDs are given.
+     * All deletions are published in a single message.
+     * @param ids IDs of the sender threads to delete
+     * @param threadState state of the sender threads to delete if no IDs are given, any state if null
+     * @param priority priority of the sender threads to delete if no IDs are given, any priority if null
+     * @return number of deleted sender threads
+     * @throws IllegalArgumentException if neither IDs nor a filter are given
+     */
+    public Integer deleteSenderThreads(List<UUID> ids, ThreadState threadState, Integer priority);
+
     /**
      * Deletes all sender threads from the system.
      * @return true if all sender threads were successfully deleted
@@ -0,0 +1,42 @@
+package com.example.threadmanagement.model.dto;
+
+import com.example.threadmanagement.model.entity.ThreadState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkThreadUpdateDto {
+
+    /**
+     * IDs of the threads to update. If empty, every thread matching the filter below is updated.
+     */
+    private List<UUID> ids;
+
+    /**
+     * Filter: only threads currently in this state are updated, any state if null.
+     * Ignored when IDs are given.
+     */
+    private ThreadState currentState;
+
+    /**
+     * Filter: only threads currently at this priority are updated, any priority if null.
+     * Ignored when IDs are given.
+     */
+    private Integer currentPriority;
+
+    /**
+     * New state of the selected threads, unchanged if null.
+     */
+    private ThreadState state;
+
+    /**
+     * New priority of the selected threads, unchanged if null.
+     */
+    private Integer priority;
+}
@@ -0,0 +1,78 @@
+package com.example.threadmanagement.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MetricsSnapshotDto {
+
+    /**
+     * Time the snapshot was taken, in epoch milliseconds.
+     */
+    private long timestamp;
+
+    /**
+     * Messages added to the shared queue per second since the previous snapshot.
+     */
+    private double enqueueRate;
+
+    /**
+     * Messages taken from the shared queue per second since the previous snapshot.
+     */
+    private double dequeueRate;
+
+    /**
+     * Number of messages currently in the shared queue.
+     */
+    private int queueDepth;
+
+    /**
+     * Maximum number of messages the shared queue can hold.
+     */
+    private int queueCapacity;
+
+    /**
+     * Time in milliseconds the oldest queued message has been waiting, 0 if the queue is empty.
+     */
+    private long oldestMessageAgeMillis;
+
+    /**
+     * Median time in milliseconds between a sender creating a message and a receiver consuming it.
+     */
+    private double latencyP50Millis;
+
+    /**
+     * 95th percentile of the end-to-end latency in milliseconds.
+     */
+    private double latencyP95Millis;
+
+    /**
+     * 99th percentile of the end-to-end latency in milliseconds.
+     */
+    private double latencyP99Millis;
+
+    /**
+     * Lifecycle threads (platform or virtual) that are currently alive.
+     */
+    private int liveLifecycleThreads;
+
+    /**
+     * Sender scheduler threads currently executing a tick.
+     */
+    private int activeSchedulerThreads;
+
+    /**
+     * Logical senders registered on the shared scheduler.
+     */
+    private int scheduledSenders;
+
+    /**
+     * Busiest threads since the previous snapshot, highest throughput first.
+     */
+    private List<ThreadThroughputDto> threads;
+}
@@ -35,4 +35,20 @@ public class ReceiverThreadDto {
      * Higher values indicate higher priority for thread execution.
      */
     private Integer priority;
+
+    /**
+     * Maximum number of messages the thread consumes in one batch when receivers run in batch mode.
+     * Null means the default batch size.
+     */
+    private Integer batchSize;
+
+    /**
+     * Time in milliseconds the thread waits for more messages to fill a batch.
+     * Null means the default of no lingering.
+     */
+    private Long lingerMillis;
+
+    public ReceiverThreadDto(UUID id, ThreadType type, ThreadState state, Integer priority) {
+        this(id, type, state, priority, null, null);
+    }
 }
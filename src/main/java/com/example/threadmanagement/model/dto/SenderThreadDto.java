@@ -1,5 +1,6 @@
 package com.example.threadmanagement.model.dto;
 
+import com.example.threadmanagement.model.entity.OverflowPolicy;
 import com.example.threadmanagement.model.entity.ThreadState;
 import com.example.threadmanagement.model.entity.ThreadType;
 import lombok.AllArgsConstructor;
@@ -35,4 +36,26 @@ public class SenderThreadDto {
      * Higher values indicate higher priority for thread execution.
      */
     private Integer priority;
+
+    /**
+     * Target production rate of the thread in messages per second.
+     * Fractional values are allowed, null means the default of one message per second.
+     */
+    private Double rate;
+
+    /**
+     * Number of messages the thread may send back to back after being idle.
+     * Null means the default of a single message.
+     */
+    private Integer burst;
+
+    /**
+     * What the thread does when the shared queue is full.
+     * Defined in the OverflowPolicy enum, null means BLOCK.
+     */
+    private OverflowPolicy overflowPolicy;
+
+    public SenderThreadDto(UUID id, ThreadType type, ThreadState state, Integer priority) {
+        this(id, type, state, priority, null, null, null);
+    }
 }
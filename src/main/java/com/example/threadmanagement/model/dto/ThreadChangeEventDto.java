@@ -0,0 +1,34 @@
+package com.example.threadmanagement.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ThreadChangeEventDto<T> {
+
+    /**
+     * Kind of change, CREATED, UPDATED or DELETED.
+     */
+    private ThreadChangeType changeType;
+
+    /**
+     * Version of the thread list after this change.
+     * Versions grow by one per event and per thread type, so a client can detect a gap and fetch a new snapshot.
+     */
+    private long version;
+
+    /**
+     * Identifier of the changed thread.
+     */
+    private UUID id;
+
+    /**
+     * Full thread after the change for CREATED and UPDATED events, null for DELETED events.
+     */
+    private T thread;
+}
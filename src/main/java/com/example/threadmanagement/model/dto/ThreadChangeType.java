@@ -0,0 +1,10 @@
+package com.example.threadmanagement.model.dto;
+
+/**
+ * Kind of change a thread delta event describes.
+ */
+public enum ThreadChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,37 @@
+package com.example.threadmanagement.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ThreadPageDto<T> {
+
+    /**
+     * Threads of the page in sort order.
+     */
+    private List<T> threads;
+
+    /**
+     * Whether more threads follow after this page.
+     */
+    private boolean hasMore;
+
+    /**
+     * ID of the last thread of the page, passed as afterId to get the next page.
+     * Null if the page is empty.
+     */
+    private UUID nextAfterId;
+
+    /**
+     * Creation time of the last thread of the page, passed as afterCreatedAt to get the next page when sorting
+     * by creation time. Null if the page is empty.
+     */
+    private LocalDateTime nextAfterCreatedAt;
+}
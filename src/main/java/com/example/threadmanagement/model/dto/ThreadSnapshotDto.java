@@ -0,0 +1,24 @@
+package com.example.threadmanagement.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ThreadSnapshotDto<T> {
+
+    /**
+     * Version of the thread list the snapshot was taken at.
+     * Events with a higher version are applied on top of the snapshot.
+     */
+    private long version;
+
+    /**
+     * All threads of one type.
+     */
+    private List<T> threads;
+}
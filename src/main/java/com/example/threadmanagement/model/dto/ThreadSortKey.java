@@ -0,0 +1,9 @@
+package com.example.threadmanagement.model.dto;
+
+/**
+ * Column a thread page is sorted and continued by. Ties are broken by ID, so the order is stable.
+ */
+public enum ThreadSortKey {
+    ID,
+    CREATED_AT
+}
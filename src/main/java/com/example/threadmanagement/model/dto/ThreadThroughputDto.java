@@ -0,0 +1,29 @@
+package com.example.threadmanagement.model.dto;
+
+import com.example.threadmanagement.model.entity.ThreadType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ThreadThroughputDto {
+
+    /**
+     * Unique identifier of the thread.
+     */
+    private UUID id;
+
+    /**
+     * Type of the thread (SENDER or RECEIVER).
+     */
+    private ThreadType type;
+
+    /**
+     * Messages the thread produced or consumed per second since the previous snapshot.
+     */
+    private double messagesPerSecond;
+}
@@ -0,0 +1,33 @@
+package com.example.threadmanagement.model.entity;
+
+/**
+ * Enum representing what a sender thread does when the shared queue is full.
+ * Stored per sender thread, so senders with different policies can share the same queue.
+ */
+public enum OverflowPolicy {
+    /**
+     * Waits until the queue has room for the message.
+     */
+    BLOCK,
+
+    /**
+     * Waits up to the configured offer timeout and rejects the message if the queue is still full.
+     */
+    BLOCK_WITH_TIMEOUT,
+
+    /**
+     * Rejects the new message right away if the queue is full.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Removes the oldest queued message to make room for the new one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Rejects the new message once the queue is filled beyond the share allowed for the sender's priority.
+     * Low priority senders are shed first, a sender with the maximum priority may fill the whole queue.
+     */
+    SHED_BY_PRIORITY
+}
@@ -4,11 +4,17 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
 @Entity
-@Table(name = "thrd.ReceiverThreads")
+@Table(name = "thrd.ReceiverThreads", indexes = {
+        @Index(name = "IX_ReceiverThreads_threadState", columnList = "threadState"),
+        @Index(name = "IX_ReceiverThreads_createdAt", columnList = "createdAt, id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 public class ReceiverThreadEntity {
@@ -20,6 +26,16 @@ public class ReceiverThreadEntity {
     @Id
     private UUID id;
 
+    /**
+     * Time the row was inserted in UTC, set by the database default so bulk inserts do not have to send it.
+     * Existing rows get the time the column was added.
+     * Hibernate reads the value back after the insert, so a saved entity already carries its creation time.
+     */
+    @Generated(event = EventType.INSERT)
+    @Column(name = "createdAt", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "datetime2 DEFAULT SYSUTCDATETIME()")
+    private LocalDateTime createdAt;
+
     /**
      * Type of the thread, stored as a string in the database.
      * Cannot be null and is mapped to ThreadType enum.
@@ -43,4 +59,18 @@ public class ReceiverThreadEntity {
     @Column(name = "priority", nullable = false)
     private Integer priority;
 
+    /**
+     * Maximum number of messages the thread consumes in one batch.
+     * Nullable so that existing rows keep working, null means the default batch size.
+     */
+    @Column(name = "batchSize")
+    private Integer batchSize;
+
+    /**
+     * Time in milliseconds the thread waits for more messages to fill a batch.
+     * Nullable so that existing rows keep working, null means no lingering.
+     */
+    @Column(name = "lingerMillis")
+    private Long lingerMillis;
+
 }
\ No newline at end of file
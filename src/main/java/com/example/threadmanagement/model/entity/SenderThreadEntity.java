@@ -4,11 +4,17 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
 @Entity
-@Table(name = "thrd.SenderThreads")
+@Table(name = "thrd.SenderThreads", indexes = {
+        @Index(name = "IX_SenderThreads_threadState", columnList = "threadState"),
+        @Index(name = "IX_SenderThreads_createdAt", columnList = "createdAt, id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 public class SenderThreadEntity {
@@ -20,6 +26,16 @@ public class SenderThreadEntity {
     @Id
     private UUID id;
 
+    /**
+     * Time the row was inserted in UTC, set by the database default so bulk inserts do not have to send it.
+     * Existing rows get the time the column was added.
+     * Hibernate reads the value back after the insert, so a saved entity already carries its creation time.
+     */
+    @Generated(event = EventType.INSERT)
+    @Column(name = "createdAt", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "datetime2 DEFAULT SYSUTCDATETIME()")
+    private LocalDateTime createdAt;
+
     /**
      * Type of the thread, stored as a string in the database.
      * Cannot be null and is mapped to ThreadType enum.
@@ -43,4 +59,26 @@ public class SenderThreadEntity {
     @Column(name = "priority", nullable = false)
     private Integer priority;
 
+    /**
+     * Target production rate of the thread in messages per second.
+     * Nullable so that existing rows keep working, null means one message per second.
+     */
+    @Column(name = "rate")
+    private Double rate;
+
+    /**
+     * Number of messages the thread may send back to back after being idle.
+     * Nullable so that existing rows keep working, null means a single message.
+     */
+    @Column(name = "burst")
+    private Integer burst;
+
+    /**
+     * What the thread does when the shared queue is full, stored as a string in the database.
+     * Nullable so that existing rows keep working, null means BLOCK.
+     */
+    @Column(name = "overflowPolicy")
+    @Enumerated(EnumType.STRING)
+    private OverflowPolicy overflowPolicy;
+
 }
\ No newline at end of file
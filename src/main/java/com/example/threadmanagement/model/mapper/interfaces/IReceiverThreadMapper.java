@@ -3,6 +3,7 @@ package com.example.threadmanagement.model.mapper.interfaces;
 import com.example.threadmanagement.model.dto.ReceiverThreadDto;
 import com.example.threadmanagement.model.entity.ReceiverThreadEntity;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import java.util.List;
 
 /**
@@ -21,10 +22,11 @@ public interface IReceiverThreadMapper {
 
     /**
      * Converts a ReceiverThreadDto to a ReceiverThreadEntity.
+     * The creation time is set by the database and is not part of the DTO.
      * @param dto the DTO to convert
      * @return corresponding entity with mapped values
      */
-
+    @Mapping(target = "createdAt", ignore = true)
     ReceiverThreadEntity toEntity(ReceiverThreadDto dto);
 
     /**
@@ -3,6 +3,7 @@ package com.example.threadmanagement.model.mapper.interfaces;
 import com.example.threadmanagement.model.dto.SenderThreadDto;
 import com.example.threadmanagement.model.entity.SenderThreadEntity;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import java.util.List;
 
 /**
@@ -21,9 +22,11 @@ public interface ISenderThreadMapper {
 
     /**
      * Converts a SenderThreadDto to a SenderThreadEntity.
+     * The creation time is set by the database and is not part of the DTO.
      * @param dto the DTO to convert
      * @return corresponding entity with mapped values
      */
+    @Mapping(target = "createdAt", ignore = true)
     SenderThreadEntity toEntity(SenderThreadDto dto);
 
     /**
@@ -0,0 +1,138 @@
+package com.example.threadmanagement.model.message;
+
+import com.example.threadmanagement.model.message.interfaces.IQueueMessage;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Flyweight over a fixed size slot of a pooled byte buffer.
+ * The slot is encoded once by the sender and read in place afterwards, so producing and consuming a message
+ * allocates nothing. Layout of a slot (big endian):
+ * <pre>
+ *   0  sender id, most significant bits   (long)
+ *   8  sender id, least significant bits  (long)
+ *  16  sequence                           (long)
+ *  24  enqueue nanoTime                   (long)
+ *  32  epoch millis                       (long)
+ *  40  payload length in bytes            (int)
+ *  44  payload, UTF-8, at most MAX_PAYLOAD_LENGTH bytes
+ * </pre>
+ * Readers outside the owning receiver, like the queue paging, may see a slot while it is being recycled,
+ * so the slot is guarded by a version that only ever grows: it goes up by one when the slot is leased, by one when
+ * the message is written and by two when it is released. The low two bits give the state (0 free, 1 being
+ * written, 2 readable), and a reader that sees the same version before and after reading knows that no lease or
+ * release happened in between, even one that returned the slot to the same state.
+ */
+public final class PooledQueueMessage implements IQueueMessage {
+    public static final int MAX_PAYLOAD_LENGTH = 84;
+    public static final int SLOT_SIZE = 128;
+
+    private static final int SENDER_MOST_SIGNIFICANT_OFFSET = 0;
+    private static final int SENDER_LEAST_SIGNIFICANT_OFFSET = 8;
+    private static final int SEQUENCE_OFFSET = 16;
+    private static final int ENQUEUE_NANOS_OFFSET = 24;
+    private static final int EPOCH_MILLIS_OFFSET = 32;
+    private static final int PAYLOAD_LENGTH_OFFSET = 40;
+    private static final int PAYLOAD_OFFSET = 44;
+
+    private final ByteBuffer slot;
+    private final Consumer<PooledQueueMessage> recycler;
+    private static final long STATE_MASK = 3;
+    private static final long READABLE = 2;
+
+    private final AtomicLong version = new AtomicLong();
+
+    public PooledQueueMessage(ByteBuffer slot, Consumer<PooledQueueMessage> recycler) {
+        if (slot.capacity() < SLOT_SIZE) {
+            throw new IllegalArgumentException("Slot Must Hold At Least " + SLOT_SIZE + " Bytes");
+        }
+        this.slot = slot;
+        this.recycler = recycler;
+    }
+
+    /**
+     * Takes the flyweight out of the pool and writes a message into its slot.
+     * @param senderId ID of the sender thread
+     * @param sequence per-sender sequence number
+     * @param enqueueNanos System.nanoTime() at creation
+     * @param epochMillis wall clock time at creation
+     * @param payload encoded payload, at most MAX_PAYLOAD_LENGTH bytes
+     * @return this flyweight
+     */
+    public PooledQueueMessage encode(UUID senderId, long sequence, long enqueueNanos, long epochMillis, byte[] payload) {
+        if (payload.length > MAX_PAYLOAD_LENGTH) {
+            throw new IllegalArgumentException("Payload Must Not Exceed " + MAX_PAYLOAD_LENGTH + " Bytes");
+        }
+        version.incrementAndGet();
+        VarHandle.storeStoreFence();
+        slot.putLong(SENDER_MOST_SIGNIFICANT_OFFSET, senderId.getMostSignificantBits());
+        slot.putLong(SENDER_LEAST_SIGNIFICANT_OFFSET, senderId.getLeastSignificantBits());
+        slot.putLong(SEQUENCE_OFFSET, sequence);
+        slot.putLong(ENQUEUE_NANOS_OFFSET, enqueueNanos);
+        slot.putLong(EPOCH_MILLIS_OFFSET, epochMillis);
+        slot.putInt(PAYLOAD_LENGTH_OFFSET, payload.length);
+        slot.put(PAYLOAD_OFFSET, payload);
+        version.incrementAndGet();
+        return this;
+    }
+
+    @Override
+    public UUID senderId() {
+        return new UUID(slot.getLong(SENDER_MOST_SIGNIFICANT_OFFSET), slot.getLong(SENDER_LEAST_SIGNIFICANT_OFFSET));
+    }
+
+    @Override
+    public long sequence() {
+        return slot.getLong(SEQUENCE_OFFSET);
+    }
+
+    @Override
+    public long enqueueNanos() {
+        return slot.getLong(ENQUEUE_NANOS_OFFSET);
+    }
+
+    @Override
+    public long epochMillis() {
+        return slot.getLong(EPOCH_MILLIS_OFFSET);
+    }
+
+    @Override
+    public String payload() {
+        int length = Math.clamp(slot.getInt(PAYLOAD_LENGTH_OFFSET), 0, MAX_PAYLOAD_LENGTH);
+        byte[] payload = new byte[length];
+        slot.get(PAYLOAD_OFFSET, payload);
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String format() {
+        long versionBefore = version.get();
+        if ((versionBefore & STATE_MASK) != READABLE) {
+            return null;
+        }
+        String text = QueueMessage.format(payload(), senderId(), epochMillis());
+        VarHandle.loadLoadFence();
+        return version.get() == versionBefore ? text : null;
+    }
+
+    @Override
+    public void release() {
+        long current = version.get();
+        while ((current & STATE_MASK) == READABLE) {
+            if (version.compareAndSet(current, current + 2)) {
+                recycler.accept(this);
+                return;
+            }
+            current = version.get();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PooledQueueMessage[senderId=" + senderId() + ", sequence=" + sequence() + ", epochMillis=" + epochMillis() + "]";
+    }
+}
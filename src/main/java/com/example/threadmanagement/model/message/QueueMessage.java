@@ -0,0 +1,37 @@
+package com.example.threadmanagement.model.message;
+
+import com.example.threadmanagement.model.message.interfaces.IQueueMessage;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Immutable message carried by the shared queue from a sender thread to a receiver thread.
+ * The fields are kept apart instead of being concatenated into text, the readable form is only built
+ * by {@link #format()} when a message is shown through WebSocket or REST.
+ * @param senderId ID of the sender thread that produced the message
+ * @param sequence per-sender sequence number, starting at one
+ * @param enqueueNanos System.nanoTime() when the message was created, used to measure queue latency
+ * @param epochMillis wall clock time when the message was created
+ * @param payload message content
+ */
+public record QueueMessage(UUID senderId, long sequence, long enqueueNanos, long epochMillis, String payload) implements IQueueMessage {
+    static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    @Override
+    public String format() {
+        return format(payload, senderId, epochMillis);
+    }
+
+    /**
+     * Builds the readable text shared by every message implementation.
+     * @param payload message content
+     * @param senderId ID of the sender thread
+     * @param epochMillis creation time in epoch milliseconds
+     * @return formatted message text
+     */
+    static String format(String payload, UUID senderId, long epochMillis) {
+        return payload + " from sender " + senderId + " at " + TIME_FORMAT.format(Instant.ofEpochMilli(epochMillis));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.threadmanagement.model.message.interfaces;
+
+import java.util.UUID;
+
+/**
+ * Message carried by the shared queue from a sender thread to a receiver thread.
+ * Implemented by the immutable QueueMessage record and by the pooled PooledQueueMessage flyweight.
+ */
+public interface IQueueMessage {
+
+    /**
+     * Returns the ID of the sender thread that produced the message.
+     * @return sender thread ID
+     */
+    UUID senderId();
+
+    /**
+     * Returns the per-sender sequence number of the message, starting at one.
+     * @return sequence number
+     */
+    long sequence();
+
+    /**
+     * Returns System.nanoTime() at the moment the message was created.
+     * @return creation time in nanoseconds
+     */
+    long enqueueNanos();
+
+    /**
+     * Returns the wall clock time at the moment the message was created.
+     * @return creation time in epoch milliseconds
+     */
+    long epochMillis();
+
+    /**
+     * Returns the content of the message.
+     * @return payload text
+     */
+    String payload();
+
+    /**
+     * Builds the readable text of the message, e.g. "Data from sender {id} at 12:00:00".
+     * A pooled message that is recycled while being formatted returns null, it has already been consumed.
+     * @return formatted message text, or null if the message was recycled
+     */
+    String format();
+
+    /**
+     * Returns the time the message has spent since it was created.
+     * @param nowNanos current System.nanoTime()
+     * @return age of the message in nanoseconds
+     */
+    default long ageNanos(long nowNanos) {
+        return nowNanos - enqueueNanos();
+    }
+
+    /**
+     * Hands the message back once it has been consumed or discarded.
+     * Pooled messages return their buffer to the pool, the message must not be used afterwards.
+     */
+    default void release() {
+    }
+}
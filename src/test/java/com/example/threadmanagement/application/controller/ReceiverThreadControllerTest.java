@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.http.ResponseEntity;
 
 import java.util.Arrays;
@@ -28,7 +29,7 @@ class ReceiverThreadControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        receiverThreadController = new ReceiverThreadController(iReceiverThreadService);
+        receiverThreadController = new ReceiverThreadController(iReceiverThreadService, mock(SimpMessagingTemplate.class));
     }
 
     @Test
@@ -193,4 +194,19 @@ class ReceiverThreadControllerTest {
         assertTrue(response.getBody());
         verify(iReceiverThreadService).deleteAllReceiverThreads();
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateReceiverThreadBatching_ValidParameters_Success() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(iReceiverThreadService.updateReceiverThreadBatching(id, 200, 5L)).thenReturn(id);
+
+        // Act
+        ResponseEntity<UUID> response = receiverThreadController.updateReceiverThreadBatching(id, 200, 5L);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(id, response.getBody());
+        verify(iReceiverThreadService).updateReceiverThreadBatching(id, 200, 5L);
+    }
+}
@@ -2,12 +2,14 @@ package com.example.threadmanagement.application.controller;
 
 import com.example.threadmanagement.domain.service.interfaces.ISenderThreadService;
 import com.example.threadmanagement.model.dto.SenderThreadDto;
+import com.example.threadmanagement.model.entity.OverflowPolicy;
 import com.example.threadmanagement.model.entity.ThreadState;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.http.ResponseEntity;
 
 import java.util.Arrays;
@@ -28,7 +30,7 @@ class SenderThreadControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        senderThreadController = new SenderThreadController(iSenderThreadService);
+        senderThreadController = new SenderThreadController(iSenderThreadService, mock(SimpMessagingTemplate.class));
     }
 
     @Test
@@ -193,4 +195,34 @@ class SenderThreadControllerTest {
         assertTrue(response.getBody());
         verify(iSenderThreadService).deleteAllSenderThreads();
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateSenderThreadRate_ValidParameters_Success() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(iSenderThreadService.updateSenderThreadRate(id, 250.0, 5)).thenReturn(id);
+
+        // Act
+        ResponseEntity<UUID> response = senderThreadController.updateSenderThreadRate(id, 250.0, 5);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(id, response.getBody());
+        verify(iSenderThreadService).updateSenderThreadRate(id, 250.0, 5);
+    }
+
+    @Test
+    void updateSenderThreadOverflowPolicy_ValidParameters_Success() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(iSenderThreadService.updateSenderThreadOverflowPolicy(id, OverflowPolicy.DROP_OLDEST)).thenReturn(id);
+
+        // Act
+        ResponseEntity<UUID> response = senderThreadController.updateSenderThreadOverflowPolicy(id, OverflowPolicy.DROP_OLDEST);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(id, response.getBody());
+        verify(iSenderThreadService).updateSenderThreadOverflowPolicy(id, OverflowPolicy.DROP_OLDEST);
+    }
+}
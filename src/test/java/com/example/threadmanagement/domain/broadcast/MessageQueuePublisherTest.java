@@ -0,0 +1,148 @@
+package com.example.threadmanagement.domain.broadcast;
+
+import com.example.threadmanagement.domain.queue.BlockingQueueEngine;
+import com.example.threadmanagement.domain.queue.interfaces.IMessageQueueEngine;
+import com.example.threadmanagement.domain.service.MessageQueueService;
+import com.example.threadmanagement.model.message.QueueMessage;
+import com.example.threadmanagement.model.message.interfaces.IQueueMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageQueuePublisherTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private SubscriptionTracker subscriptionTracker;
+
+    private IMessageQueueEngine<IQueueMessage> sharedQueue;
+    private MessageQueuePublisher messageQueuePublisher;
+
+    @BeforeEach
+    void setUp() {
+        sharedQueue = new BlockingQueueEngine<>(new LinkedBlockingQueue<>(100));
+        messageQueuePublisher = new MessageQueuePublisher(sharedQueue,
+                new MessageQueueService(sharedQueue, messagingTemplate), messagingTemplate, subscriptionTracker);
+        lenient().when(subscriptionTracker.hasSubscribers(MessageQueuePublisher.DESTINATION)).thenReturn(true);
+    }
+
+    @Test
+    void publishIfChanged_QueueUnchanged_PublishesOnce() {
+        // Arrange
+        sharedQueue.offer(message(1));
+
+        // Act
+        messageQueuePublisher.publishIfChanged();
+        messageQueuePublisher.publishIfChanged();
+        messageQueuePublisher.publishIfChanged();
+
+        // Assert
+        verify(messagingTemplate, times(1)).convertAndSend(eq(MessageQueuePublisher.DESTINATION), any(Object.class));
+    }
+
+    @Test
+    void publishIfChanged_QueueChanged_PublishesAgain() {
+        // Arrange
+        sharedQueue.offer(message(1));
+        messageQueuePublisher.publishIfChanged();
+
+        // Act
+        sharedQueue.offer(message(2));
+        messageQueuePublisher.publishIfChanged();
+        sharedQueue.poll();
+        messageQueuePublisher.publishIfChanged();
+
+        // Assert
+        verify(messagingTemplate, times(3)).convertAndSend(eq(MessageQueuePublisher.DESTINATION), any(Object.class));
+    }
+
+    @Test
+    void publishIfChanged_NoSubscribers_SkipsFirstPageUntilSomebodySubscribes() {
+        // Arrange
+        sharedQueue.offer(message(1));
+        when(subscriptionTracker.hasSubscribers(MessageQueuePublisher.DESTINATION)).thenReturn(false, false, true);
+
+        // Act
+        messageQueuePublisher.publishIfChanged();
+        messageQueuePublisher.publishIfChanged();
+        messageQueuePublisher.publishIfChanged();
+
+        // Assert
+        verify(messagingTemplate, times(1)).convertAndSend(eq(MessageQueuePublisher.DESTINATION), any(Object.class));
+    }
+
+    @Test
+    void subscribe_ValidPage_ReturnsWindowAndSendsNothingUntilItChanges() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            sharedQueue.offer(message(i));
+        }
+
+        // Act
+        var page = messageQueuePublisher.subscribe("session-1", 1, 2);
+        messageQueuePublisher.publishIfChanged();
+
+        // Assert
+        assertEquals(2, page.getContent().size());
+        assertEquals(5, page.getTotalElements());
+        verify(messagingTemplate, never()).convertAndSendToUser(any(String.class), any(String.class), any(Object.class), anyMap());
+    }
+
+    @Test
+    void publishIfChanged_SubscribedWindowChanged_SendsOnceToEachSubscribedSession() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            sharedQueue.offer(message(i));
+        }
+        messageQueuePublisher.subscribe("session-1", 1, 2);
+        messageQueuePublisher.subscribe("session-2", 1, 2);
+
+        // Act
+        sharedQueue.poll();
+        messageQueuePublisher.publishIfChanged();
+        messageQueuePublisher.publishIfChanged();
+
+        // Assert
+        verify(messagingTemplate, times(1)).convertAndSendToUser(eq("session-1"),
+                eq(MessageQueuePublisher.SESSION_DESTINATION), any(Object.class), anyMap());
+        verify(messagingTemplate, times(1)).convertAndSendToUser(eq("session-2"),
+                eq(MessageQueuePublisher.SESSION_DESTINATION), any(Object.class), anyMap());
+    }
+
+    @Test
+    void onSessionDisconnect_SubscribedSession_DropsRegistration() {
+        // Arrange
+        messageQueuePublisher.subscribe("session-1", 0, 14);
+
+        // Act
+        messageQueuePublisher.onSessionDisconnect(new SessionDisconnectEvent(this,
+                MessageBuilder.withPayload(new byte[0]).build(), "session-1", CloseStatus.NORMAL));
+        sharedQueue.offer(message(1));
+        messageQueuePublisher.publishIfChanged();
+
+        // Assert
+        assertEquals(0, messageQueuePublisher.getSubscriptionCount());
+        verify(messagingTemplate, never()).convertAndSendToUser(any(String.class), any(String.class), any(Object.class), anyMap());
+    }
+
+    private IQueueMessage message(long sequence) {
+        return new QueueMessage(UUID.randomUUID(), sequence, System.nanoTime(), System.currentTimeMillis(), "Data");
+    }
+}
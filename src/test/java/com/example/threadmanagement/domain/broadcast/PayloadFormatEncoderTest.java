@@ -0,0 +1,116 @@
+package com.example.threadmanagement.domain.broadcast;
+
+import com.example.threadmanagement.config.PayloadFormat;
+import com.example.threadmanagement.domain.metrics.WebSocketMetrics;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+import org.springframework.util.MimeTypeUtils;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayloadFormatEncoderTest {
+    private static final byte[] JSON = "{\"version\":3,\"threads\":[{\"id\":\"a\",\"priority\":5}]}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private SimpleMeterRegistry meterRegistry;
+    private PayloadFormatNegotiator payloadFormatNegotiator;
+    private PayloadFormatEncoder payloadFormatEncoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        payloadFormatNegotiator = new PayloadFormatNegotiator();
+        payloadFormatEncoder = new PayloadFormatEncoder(payloadFormatNegotiator, new WebSocketMetrics(meterRegistry));
+    }
+
+    @Test
+    void preSend_CborSession_SendsSameDocumentAsBinaryFrame() throws Exception {
+        // Arrange
+        connect("session-1", "cbor, json", true);
+
+        // Act
+        Message<?> result = payloadFormatEncoder.preSend(message("session-1", JSON), null);
+
+        // Assert
+        JsonNode decoded = new CBORMapper().readTree((byte[]) result.getPayload());
+        assertEquals(new ObjectMapper().readTree(JSON), decoded);
+        assertEquals(MimeTypeUtils.APPLICATION_OCTET_STREAM,
+                SimpMessageHeaderAccessor.wrap(result).getContentType());
+        assertEquals("cbor", NativeMessageHeaderAccessor.getFirstNativeHeader(
+                PayloadFormatEncoder.PAYLOAD_FORMAT_HEADER, result.getHeaders()));
+    }
+
+    @Test
+    void preSend_SameBroadcastToTwoSessions_EncodesOnce() {
+        // Arrange
+        connect("session-1", "smile", true);
+        connect("session-2", "smile", true);
+
+        // Act
+        Message<?> first = payloadFormatEncoder.preSend(message("session-1", JSON), null);
+        Message<?> second = payloadFormatEncoder.preSend(message("session-2", JSON), null);
+
+        // Assert
+        assertSame(first.getPayload(), second.getPayload());
+        assertEquals(1, meterRegistry.get("threadmanagement.websocket.serialization")
+                .tag("format", PayloadFormat.SMILE.name()).timer().count());
+        assertEquals(2, meterRegistry.get("threadmanagement.websocket.frame.size")
+                .tag("format", PayloadFormat.SMILE.name()).summary().count());
+    }
+
+    @Test
+    void preSend_SockJsSessionAskingForCbor_KeepsJson() {
+        // Arrange
+        connect("session-1", "cbor", false);
+
+        // Act
+        Message<?> result = payloadFormatEncoder.preSend(message("session-1", JSON), null);
+
+        // Assert
+        assertSame(JSON, result.getPayload());
+        assertEquals(PayloadFormat.JSON, payloadFormatNegotiator.formatOf("session-1"));
+    }
+
+    @Test
+    void negotiate_UnknownFormatsOnly_FallsBackToJson() {
+        // Act
+        PayloadFormat result = PayloadFormatNegotiator.negotiate("msgpack, protobuf", true);
+
+        // Assert
+        assertEquals(PayloadFormat.JSON, result);
+    }
+
+    private void connect(String sessionId, String acceptedFormats, boolean binaryCapable) {
+        StompHeaderAccessor headerAccessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        headerAccessor.setSessionId(sessionId);
+        Map<String, Object> sessionAttributes = new HashMap<>();
+        if (binaryCapable) {
+            sessionAttributes.put(PayloadFormatNegotiator.BINARY_CAPABLE_ATTRIBUTE, Boolean.TRUE);
+        }
+        headerAccessor.setSessionAttributes(sessionAttributes);
+        headerAccessor.setNativeHeader(PayloadFormatNegotiator.ACCEPT_HEADER, acceptedFormats);
+        payloadFormatNegotiator.preSend(MessageBuilder.createMessage(new byte[0], headerAccessor.getMessageHeaders()), null);
+    }
+
+    private Message<byte[]> message(String sessionId, byte[] payload) {
+        SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headerAccessor.setSessionId(sessionId);
+        headerAccessor.setDestination("/topic/senderThreads");
+        headerAccessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(payload, headerAccessor.getMessageHeaders());
+    }
+}
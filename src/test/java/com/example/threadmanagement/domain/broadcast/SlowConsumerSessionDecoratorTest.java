@@ -0,0 +1,102 @@
+package com.example.threadmanagement.domain.broadcast;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SlowConsumerSessionDecoratorTest {
+
+    @Mock
+    private WebSocketSession webSocketSession;
+
+    private final List<Runnable> flushTasks = new ArrayList<>();
+    private final AtomicInteger droppedFrameEvents = new AtomicInteger();
+    private SlowConsumerSessionDecorator sessionDecorator;
+
+    @BeforeEach
+    void setUp() {
+        sessionDecorator = new SlowConsumerSessionDecorator(webSocketSession, flushTasks::add, 200, 10_000,
+                List.of("/topic/messageQueue"), droppedFrameEvents::incrementAndGet);
+    }
+
+    @Test
+    void sendMessage_LatestOnlyDestinationWhileQueued_SendsOnlyNewestFrame() throws Exception {
+        // Arrange
+        TextMessage newest = frame("/topic/messageQueue", "page-3");
+
+        // Act
+        sessionDecorator.sendMessage(frame("/topic/messageQueue", "page-1"));
+        sessionDecorator.sendMessage(frame("/topic/messageQueue", "page-2"));
+        sessionDecorator.sendMessage(newest);
+        runFlushTasks();
+
+        // Assert
+        ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+        verify(webSocketSession, times(1)).sendMessage(sent.capture());
+        assertSame(newest, sent.getValue());
+        assertEquals(2, sessionDecorator.getDroppedFrames());
+        assertEquals(2, droppedFrameEvents.get());
+        assertEquals(0, sessionDecorator.getQueuedBytes());
+    }
+
+    @Test
+    void sendMessage_BufferFull_DropsEventFramesButNeverControlFrames() throws Exception {
+        // Arrange
+        String body = "x".repeat(100);
+
+        // Act
+        sessionDecorator.sendMessage(frame("/topic/senderThreads", body));
+        sessionDecorator.sendMessage(frame("/topic/senderThreads", body));
+        sessionDecorator.sendMessage(frame("/user/topic/senderThreads/snapshot", body));
+        long queuedBytes = sessionDecorator.getQueuedBytes();
+        runFlushTasks();
+
+        // Assert
+        verify(webSocketSession, times(2)).sendMessage(any());
+        assertEquals(1, sessionDecorator.getDroppedFrames());
+        assertTrue(queuedBytes > 200);
+    }
+
+    @Test
+    void classify_ConnectedFrame_IsControl() {
+        // Act
+        SlowConsumerSessionDecorator.PendingFrame frame =
+                sessionDecorator.classify(new TextMessage("CONNECTED\nversion:1.2\nheart-beat:0,0\n\n\0"));
+
+        // Assert
+        assertEquals(SlowConsumerSessionDecorator.FrameKind.CONTROL, frame.getKind());
+    }
+
+    @Test
+    void classify_UserPageDestination_IsLatestOnly() {
+        // Act
+        SlowConsumerSessionDecorator.PendingFrame frame =
+                sessionDecorator.classify(frame("/user/topic/messageQueue/page", "page"));
+
+        // Assert
+        assertEquals(SlowConsumerSessionDecorator.FrameKind.LATEST_ONLY, frame.getKind());
+    }
+
+    private void runFlushTasks() {
+        while (!flushTasks.isEmpty()) {
+            flushTasks.remove(0).run();
+        }
+    }
+
+    private static TextMessage frame(String destination, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination + "\nsubscription:sub-0\n"
+                + "content-type:application/json\n\n" + body + "\0");
+    }
+}
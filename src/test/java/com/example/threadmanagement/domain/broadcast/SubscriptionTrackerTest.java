@@ -0,0 +1,85 @@
+package com.example.threadmanagement.domain.broadcast;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubscriptionTrackerTest {
+    private SubscriptionTracker subscriptionTracker;
+
+    @BeforeEach
+    void setUp() {
+        subscriptionTracker = new SubscriptionTracker();
+    }
+
+    @Test
+    void hasSubscribers_NoSubscription_ReturnsFalse() {
+        // Act
+        boolean result = subscriptionTracker.hasSubscribers("/topic/senderThreads");
+
+        // Assert
+        assertFalse(result);
+    }
+
+    @Test
+    void onUnsubscribe_OneOfTwoSessions_KeepsDestinationSubscribed() {
+        // Arrange
+        subscriptionTracker.onSubscribe(new SessionSubscribeEvent(this, frame(StompCommand.SUBSCRIBE, "s1", "sub-0", "/topic/senderThreads")));
+        subscriptionTracker.onSubscribe(new SessionSubscribeEvent(this, frame(StompCommand.SUBSCRIBE, "s2", "sub-0", "/topic/senderThreads")));
+
+        // Act
+        subscriptionTracker.onUnsubscribe(new SessionUnsubscribeEvent(this, frame(StompCommand.UNSUBSCRIBE, "s1", "sub-0", null)));
+
+        // Assert
+        assertTrue(subscriptionTracker.hasSubscribers("/topic/senderThreads"));
+        assertEquals(1, subscriptionTracker.getSubscriberCount("/topic/senderThreads"));
+    }
+
+    @Test
+    void onDisconnect_LastSession_RemovesAllItsSubscriptions() {
+        // Arrange
+        subscriptionTracker.onSubscribe(new SessionSubscribeEvent(this, frame(StompCommand.SUBSCRIBE, "s1", "sub-0", "/topic/senderThreads")));
+        subscriptionTracker.onSubscribe(new SessionSubscribeEvent(this, frame(StompCommand.SUBSCRIBE, "s1", "sub-1", "/topic/messageQueue")));
+
+        // Act
+        subscriptionTracker.onDisconnect(new SessionDisconnectEvent(this,
+                frame(StompCommand.DISCONNECT, "s1", null, null), "s1", CloseStatus.NORMAL));
+
+        // Assert
+        assertFalse(subscriptionTracker.hasSubscribers("/topic/senderThreads"));
+        assertFalse(subscriptionTracker.hasSubscribers("/topic/messageQueue"));
+    }
+
+    @Test
+    void hasSubscribers_PatternSubscription_MatchesDestination() {
+        // Arrange
+        subscriptionTracker.onSubscribe(new SessionSubscribeEvent(this, frame(StompCommand.SUBSCRIBE, "s1", "sub-0", "/topic/**")));
+
+        // Act
+        boolean result = subscriptionTracker.hasSubscribers("/topic/receiverThreads");
+
+        // Assert
+        assertTrue(result);
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String sessionId, String subscriptionId, String destination) {
+        StompHeaderAccessor headerAccessor = StompHeaderAccessor.create(command);
+        headerAccessor.setSessionId(sessionId);
+        if (subscriptionId != null) {
+            headerAccessor.setSubscriptionId(subscriptionId);
+        }
+        if (destination != null) {
+            headerAccessor.setDestination(destination);
+        }
+        return MessageBuilder.createMessage(new byte[0], headerAccessor.getMessageHeaders());
+    }
+}
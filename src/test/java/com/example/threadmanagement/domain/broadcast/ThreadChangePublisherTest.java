@@ -0,0 +1,122 @@
+package com.example.threadmanagement.domain.broadcast;
+
+import com.example.threadmanagement.model.dto.SenderThreadDto;
+import com.example.threadmanagement.model.dto.ThreadChangeEventDto;
+import com.example.threadmanagement.model.dto.ThreadChangeType;
+import com.example.threadmanagement.model.dto.ThreadSnapshotDto;
+import com.example.threadmanagement.model.entity.ThreadState;
+import com.example.threadmanagement.model.entity.ThreadType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ThreadChangePublisherTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private SubscriptionTracker subscriptionTracker;
+
+    private ThreadChangePublisher threadChangePublisher;
+
+    @BeforeEach
+    void setUp() {
+        threadChangePublisher = new ThreadChangePublisher(messagingTemplate, subscriptionTracker);
+        lenient().when(subscriptionTracker.hasSubscribers(anyString())).thenReturn(true);
+    }
+
+    @Test
+    void publishCreated_TwoThreads_SendsOneEventPerThreadWithIncreasingVersions() {
+        // Arrange
+        SenderThreadDto first = new SenderThreadDto(UUID.randomUUID(), ThreadType.SENDER, ThreadState.RUNNING, 5);
+        SenderThreadDto second = new SenderThreadDto(UUID.randomUUID(), ThreadType.SENDER, ThreadState.RUNNING, 5);
+
+        // Act
+        threadChangePublisher.publishCreated(ThreadType.SENDER, List.of(first, second), SenderThreadDto::getId);
+
+        // Assert
+        List<ThreadChangeEventDto<?>> events = captureEvents(ThreadChangePublisher.SENDER_DESTINATION);
+        assertEquals(2, events.size());
+        assertEquals(ThreadChangeType.CREATED, events.get(0).getChangeType());
+        assertEquals(1, events.get(0).getVersion());
+        assertEquals(first.getId(), events.get(0).getId());
+        assertEquals(2, events.get(1).getVersion());
+        assertSame(second, events.get(1).getThread());
+    }
+
+    @Test
+    void publishDeleted_AfterUpdate_ContinuesVersionWithoutThread() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        threadChangePublisher.publishUpdated(ThreadType.RECEIVER, id, "updated");
+        clearInvocations(messagingTemplate);
+
+        // Act
+        threadChangePublisher.publishDeleted(ThreadType.RECEIVER, List.of(id));
+
+        // Assert
+        List<ThreadChangeEventDto<?>> events = captureEvents(ThreadChangePublisher.RECEIVER_DESTINATION);
+        assertEquals(ThreadChangeType.DELETED, events.get(0).getChangeType());
+        assertEquals(2, events.get(0).getVersion());
+        assertNull(events.get(0).getThread());
+    }
+
+    @Test
+    void publishDeleted_NoIds_SendsNothing() {
+        // Act
+        threadChangePublisher.publishDeleted(ThreadType.SENDER, List.of());
+
+        // Assert
+        verify(messagingTemplate, never()).convertAndSend(any(String.class), any(Object.class));
+        assertEquals(0, threadChangePublisher.currentVersion(ThreadType.SENDER));
+    }
+
+    @Test
+    void publishUpdated_NoSubscribers_SendsNothingAndKeepsVersion() {
+        // Arrange
+        when(subscriptionTracker.hasSubscribers(ThreadChangePublisher.SENDER_DESTINATION)).thenReturn(false);
+
+        // Act
+        threadChangePublisher.publishUpdated(ThreadType.SENDER, UUID.randomUUID(), "updated");
+
+        // Assert
+        verify(messagingTemplate, never()).convertAndSend(any(String.class), any(Object.class));
+        assertEquals(0, threadChangePublisher.currentVersion(ThreadType.SENDER));
+    }
+
+    @Test
+    void snapshot_AfterEvents_CarriesCurrentVersionOfItsTypeOnly() {
+        // Arrange
+        threadChangePublisher.publishUpdated(ThreadType.SENDER, UUID.randomUUID(), "updated");
+        threadChangePublisher.publishUpdated(ThreadType.SENDER, UUID.randomUUID(), "updated");
+        threadChangePublisher.publishUpdated(ThreadType.RECEIVER, UUID.randomUUID(), "updated");
+
+        // Act
+        ThreadSnapshotDto<String> snapshot = threadChangePublisher.snapshot(ThreadType.SENDER, () -> List.of("a", "b"));
+
+        // Assert
+        assertEquals(2, snapshot.getVersion());
+        assertEquals(List.of("a", "b"), snapshot.getThreads());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ThreadChangeEventDto<?>> captureEvents(String destination) {
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate).convertAndSend(eq(destination), payload.capture());
+        return (List<ThreadChangeEventDto<?>>) payload.getValue();
+    }
+}
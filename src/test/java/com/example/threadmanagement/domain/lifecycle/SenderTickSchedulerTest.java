@@ -0,0 +1,86 @@
+package com.example.threadmanagement.domain.lifecycle;
+
+import com.example.threadmanagement.model.entity.ThreadState;
+import com.example.threadmanagement.model.entity.ThreadType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SenderTickSchedulerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SenderTickScheduler senderTickScheduler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        senderTickScheduler = new SenderTickScheduler(meterRegistry, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        senderTickScheduler.shutdown();
+    }
+
+    @Test
+    void schedule_ActiveSender_FiresTicksAtPeriod() throws InterruptedException {
+        // Arrange
+        ThreadControlBlock controlBlock = new ThreadControlBlock(UUID.randomUUID(), ThreadType.SENDER, ThreadState.RUNNING, Thread.NORM_PRIORITY);
+        controlBlock.setPeriodNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        CountDownLatch tickLatch = new CountDownLatch(5);
+
+        // Act
+        senderTickScheduler.schedule(controlBlock, controlBlock.nextGeneration(), tickLatch::countDown);
+
+        // Assert
+        assertTrue(tickLatch.await(2, TimeUnit.SECONDS), "Ticks did not fire");
+        assertTrue(senderTickScheduler.isScheduled(controlBlock.getThreadId()));
+        assertTrue(meterRegistry.get("threadmanagement.scheduler.lag").timer().count() >= 5);
+    }
+
+    @Test
+    void cancel_ScheduledSender_StopsFiring() throws InterruptedException {
+        // Arrange
+        ThreadControlBlock controlBlock = new ThreadControlBlock(UUID.randomUUID(), ThreadType.SENDER, ThreadState.RUNNING, Thread.NORM_PRIORITY);
+        controlBlock.setPeriodNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        AtomicInteger ticks = new AtomicInteger();
+        senderTickScheduler.schedule(controlBlock, controlBlock.nextGeneration(), ticks::incrementAndGet);
+        Thread.sleep(50);
+
+        // Act
+        senderTickScheduler.cancel(controlBlock.getThreadId());
+        int ticksAfterCancel = ticks.get();
+        Thread.sleep(100);
+
+        // Assert
+        assertFalse(senderTickScheduler.isScheduled(controlBlock.getThreadId()));
+        assertTrue(ticks.get() <= ticksAfterCancel + 1);
+    }
+
+    @Test
+    void schedule_SenderStopped_StopsFiring() throws InterruptedException {
+        // Arrange
+        ThreadControlBlock controlBlock = new ThreadControlBlock(UUID.randomUUID(), ThreadType.SENDER, ThreadState.RUNNING, Thread.NORM_PRIORITY);
+        controlBlock.setPeriodNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        AtomicInteger ticks = new AtomicInteger();
+        senderTickScheduler.schedule(controlBlock, controlBlock.nextGeneration(), ticks::incrementAndGet);
+
+        // Act
+        controlBlock.setState(ThreadState.STOPPED);
+        Thread.sleep(50);
+        int ticksAfterStop = ticks.get();
+        Thread.sleep(100);
+
+        // Assert
+        assertEquals(ticksAfterStop, ticks.get());
+        assertFalse(senderTickScheduler.isScheduled(controlBlock.getThreadId()));
+    }
+}
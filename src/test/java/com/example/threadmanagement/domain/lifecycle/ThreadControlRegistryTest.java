@@ -0,0 +1,104 @@
+package com.example.threadmanagement.domain.lifecycle;
+
+import com.example.threadmanagement.model.entity.ThreadState;
+import com.example.threadmanagement.model.entity.ThreadType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThreadControlRegistryTest {
+
+    private ThreadControlRegistry threadControlRegistry;
+
+    @BeforeEach
+    void setUp() {
+        threadControlRegistry = new ThreadControlRegistry();
+    }
+
+    @Test
+    void register_ExistingThread_UpdatesSameControlBlock() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        ThreadControlBlock controlBlock = threadControlRegistry.register(id, ThreadType.SENDER, ThreadState.RUNNING, Thread.NORM_PRIORITY);
+
+        // Act
+        ThreadControlBlock updatedControlBlock = threadControlRegistry.register(id, ThreadType.SENDER, ThreadState.STOPPED, Thread.MAX_PRIORITY);
+
+        // Assert
+        assertSame(controlBlock, updatedControlBlock);
+        assertEquals(ThreadState.STOPPED, updatedControlBlock.getState());
+        assertEquals(Thread.MAX_PRIORITY, updatedControlBlock.getPriority());
+    }
+
+    @Test
+    void isActive_NewGenerationStarted_PreviousGenerationInactive() {
+        // Arrange
+        ThreadControlBlock controlBlock = threadControlRegistry.register(UUID.randomUUID(), ThreadType.SENDER, ThreadState.RUNNING, Thread.NORM_PRIORITY);
+        long firstGeneration = controlBlock.nextGeneration();
+
+        // Act
+        long secondGeneration = controlBlock.nextGeneration();
+
+        // Assert
+        assertFalse(controlBlock.isActive(firstGeneration));
+        assertTrue(controlBlock.isActive(secondGeneration));
+    }
+
+    @Test
+    void configureRate_RateAboveOnePerNanosecondWithoutMinimumPeriod_KeepsPeriodPositive() {
+        // Arrange
+        ThreadControlBlock controlBlock = threadControlRegistry.register(UUID.randomUUID(), ThreadType.SENDER, ThreadState.RUNNING, Thread.NORM_PRIORITY);
+
+        // Act
+        controlBlock.configureRate(2e9, 1, 0);
+
+        // Assert
+        assertEquals(1, controlBlock.getPeriodNanos());
+    }
+
+    @Test
+    void configureRate_NonFiniteOrNonPositiveRate_ThrowsException() {
+        // Arrange
+        ThreadControlBlock controlBlock = threadControlRegistry.register(UUID.randomUUID(), ThreadType.SENDER, ThreadState.RUNNING, Thread.NORM_PRIORITY);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> controlBlock.configureRate(Double.POSITIVE_INFINITY, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> controlBlock.configureRate(Double.NaN, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> controlBlock.configureRate(0, 1, 0));
+    }
+
+    @Test
+    void remove_RegisteredThread_DeactivatesControlBlock() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        ThreadControlBlock controlBlock = threadControlRegistry.register(id, ThreadType.RECEIVER, ThreadState.RUNNING, Thread.NORM_PRIORITY);
+        long generation = controlBlock.nextGeneration();
+
+        // Act
+        threadControlRegistry.remove(id);
+
+        // Assert
+        assertFalse(controlBlock.isActive(generation));
+        assertTrue(threadControlRegistry.get(id).isEmpty());
+    }
+
+    @Test
+    void removeAll_MixedTypes_RemovesOnlyGivenType() {
+        // Arrange
+        UUID senderId = UUID.randomUUID();
+        UUID receiverId = UUID.randomUUID();
+        threadControlRegistry.register(senderId, ThreadType.SENDER, ThreadState.RUNNING, Thread.NORM_PRIORITY);
+        threadControlRegistry.register(receiverId, ThreadType.RECEIVER, ThreadState.RUNNING, Thread.NORM_PRIORITY);
+
+        // Act
+        List<UUID> removedIds = threadControlRegistry.removeAll(ThreadType.SENDER);
+
+        // Assert
+        assertEquals(List.of(senderId), removedIds);
+        assertTrue(threadControlRegistry.get(receiverId).isPresent());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.threadmanagement.domain.lifecycle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    @Test
+    void tryAcquire_NewBucket_NoTokensAvailable() {
+        // Arrange
+        TokenBucket tokenBucket = new TokenBucket(1, 1);
+
+        // Act & Assert
+        assertEquals(0, tokenBucket.tryAcquire(1));
+    }
+
+    @Test
+    void tryAcquire_AfterIdlePeriod_BoundedByCapacity() throws InterruptedException {
+        // Arrange
+        TokenBucket tokenBucket = new TokenBucket(10_000, 5);
+        Thread.sleep(20);
+
+        // Act
+        int granted = tokenBucket.tryAcquire(Integer.MAX_VALUE);
+
+        // Assert
+        assertEquals(5, granted);
+    }
+
+    @Test
+    void acquire_HighRate_PacesAtConfiguredRate() throws InterruptedException {
+        // Arrange
+        TokenBucket tokenBucket = new TokenBucket(10_000, 100);
+        int messages = 5_000;
+
+        // Act
+        long start = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            tokenBucket.acquire();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertTrue(elapsedMillis >= 450, "Bucket released tokens too fast: " + elapsedMillis + " ms");
+        assertTrue(elapsedMillis < 1500, "Bucket released tokens too slow: " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void acquire_Interrupted_ThrowsInterruptedException() {
+        // Arrange
+        TokenBucket tokenBucket = new TokenBucket(0.001, 1);
+        Thread.currentThread().interrupt();
+
+        // Act & Assert
+        assertThrows(InterruptedException.class, tokenBucket::acquire);
+    }
+
+    @Test
+    void configure_InvalidRate_ThrowsException() {
+        // Arrange
+        TokenBucket tokenBucket = new TokenBucket(1, 1);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> tokenBucket.configure(0, 1));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.threadmanagement.domain.metrics;
+
+import com.example.threadmanagement.config.ExecutionMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LifecycleExecutorMetricsTest {
+
+    @Test
+    void carrierThreads_PlatformMode_CountsLiveLifecycleThreads() throws InterruptedException {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LifecycleExecutorMetrics lifecycleExecutorMetrics = new LifecycleExecutorMetrics(meterRegistry, ExecutionMode.PLATFORM);
+        ThreadFactory threadFactory = lifecycleExecutorMetrics.instrument(Thread.ofPlatform().daemon(true).factory());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Act
+        Thread thread = threadFactory.newThread(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        double carriersWhileRunning = meterRegistry.get("threadmanagement.lifecycle.carrier.threads").gauge().value();
+        release.countDown();
+        thread.join(5000);
+
+        // Assert
+        assertEquals(1.0, carriersWhileRunning);
+        assertEquals(0.0, meterRegistry.get("threadmanagement.lifecycle.carrier.threads").gauge().value());
+    }
+
+    @Test
+    void carrierThreads_VirtualMode_ReportsSchedulerParallelismAndMaximum() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        // Act
+        new LifecycleExecutorMetrics(meterRegistry, ExecutionMode.VIRTUAL);
+
+        // Assert
+        double carriers = meterRegistry.get("threadmanagement.lifecycle.carrier.threads").gauge().value();
+        double maxCarriers = meterRegistry.get("threadmanagement.lifecycle.carrier.threads.max").gauge().value();
+        assertTrue(carriers >= 1);
+        assertTrue(maxCarriers >= carriers);
+    }
+}
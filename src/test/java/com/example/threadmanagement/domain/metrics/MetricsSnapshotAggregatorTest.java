@@ -0,0 +1,107 @@
+package com.example.threadmanagement.domain.metrics;
+
+import com.example.threadmanagement.config.ExecutionMode;
+import com.example.threadmanagement.domain.lifecycle.SenderTickScheduler;
+import com.example.threadmanagement.domain.lifecycle.ThreadControlBlock;
+import com.example.threadmanagement.domain.lifecycle.ThreadControlRegistry;
+import com.example.threadmanagement.domain.queue.BlockingQueueEngine;
+import com.example.threadmanagement.domain.queue.interfaces.IMessageQueueEngine;
+import com.example.threadmanagement.model.dto.MetricsSnapshotDto;
+import com.example.threadmanagement.model.entity.ThreadState;
+import com.example.threadmanagement.model.entity.ThreadType;
+import com.example.threadmanagement.model.message.QueueMessage;
+import com.example.threadmanagement.model.message.interfaces.IQueueMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsSnapshotAggregatorTest {
+
+    private IMessageQueueEngine<IQueueMessage> sharedQueue;
+    private MessageFlowMetrics messageFlowMetrics;
+    private SenderTickScheduler senderTickScheduler;
+    private ThreadControlRegistry threadControlRegistry;
+    private MetricsSnapshotAggregator metricsSnapshotAggregator;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        sharedQueue = new BlockingQueueEngine<>(new LinkedBlockingQueue<>(100));
+        messageFlowMetrics = new MessageFlowMetrics(meterRegistry);
+        senderTickScheduler = new SenderTickScheduler(meterRegistry, 1);
+        threadControlRegistry = new ThreadControlRegistry();
+        metricsSnapshotAggregator = new MetricsSnapshotAggregator(sharedQueue, messageFlowMetrics,
+                new LifecycleExecutorMetrics(meterRegistry, ExecutionMode.PLATFORM), senderTickScheduler,
+                threadControlRegistry, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        senderTickScheduler.shutdown();
+    }
+
+    @Test
+    void takeSnapshot_FirstCall_ReportsQueueStateWithoutRates() {
+        // Arrange
+        sharedQueue.offer(new QueueMessage(UUID.randomUUID(), 1, System.nanoTime() - TimeUnit.SECONDS.toNanos(2),
+                System.currentTimeMillis(), "message"));
+        messageFlowMetrics.recordEnqueued();
+
+        // Act
+        MetricsSnapshotDto snapshot = metricsSnapshotAggregator.takeSnapshot();
+
+        // Assert
+        assertEquals(1, snapshot.getQueueDepth());
+        assertEquals(100, snapshot.getQueueCapacity());
+        assertTrue(snapshot.getOldestMessageAgeMillis() >= 2000);
+        assertEquals(0, snapshot.getEnqueueRate());
+        assertTrue(snapshot.getThreads().isEmpty());
+    }
+
+    @Test
+    void takeSnapshot_SecondCall_ReportsRatesAndBusiestThreadFirst() {
+        // Arrange
+        ThreadControlBlock slowSender = threadControlRegistry.register(UUID.randomUUID(), ThreadType.SENDER, ThreadState.RUNNING, Thread.NORM_PRIORITY);
+        ThreadControlBlock fastReceiver = threadControlRegistry.register(UUID.randomUUID(), ThreadType.RECEIVER, ThreadState.RUNNING, Thread.NORM_PRIORITY);
+        metricsSnapshotAggregator.takeSnapshot();
+        messageFlowMetrics.recordEnqueued();
+        messageFlowMetrics.recordDequeued(5);
+        messageFlowMetrics.recordLatency(TimeUnit.MILLISECONDS.toNanos(20));
+        slowSender.recordProcessed(1);
+        fastReceiver.recordProcessed(5);
+
+        // Act
+        MetricsSnapshotDto snapshot = metricsSnapshotAggregator.takeSnapshot();
+
+        // Assert
+        assertTrue(snapshot.getEnqueueRate() > 0);
+        assertTrue(snapshot.getDequeueRate() > snapshot.getEnqueueRate());
+        assertTrue(snapshot.getLatencyP99Millis() > 0);
+        assertEquals(1, snapshot.getThreads().size());
+        assertEquals(fastReceiver.getThreadId(), snapshot.getThreads().get(0).getId());
+        assertEquals(ThreadType.RECEIVER, snapshot.getThreads().get(0).getType());
+    }
+
+    @Test
+    void reset_CountersGrewWhileIdle_NextSnapshotHasNoRates() {
+        // Arrange
+        ThreadControlBlock sender = threadControlRegistry.register(UUID.randomUUID(), ThreadType.SENDER, ThreadState.RUNNING, Thread.NORM_PRIORITY);
+        metricsSnapshotAggregator.takeSnapshot();
+        sender.recordProcessed(100);
+        messageFlowMetrics.recordDequeued(100);
+
+        // Act
+        metricsSnapshotAggregator.reset();
+        MetricsSnapshotDto snapshot = metricsSnapshotAggregator.takeSnapshot();
+
+        // Assert
+        assertEquals(0, snapshot.getDequeueRate());
+        assertTrue(snapshot.getThreads().isEmpty());
+    }
+}
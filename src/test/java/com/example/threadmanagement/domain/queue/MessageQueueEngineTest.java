@@ -0,0 +1,194 @@
+package com.example.threadmanagement.domain.queue;
+
+import com.example.threadmanagement.domain.queue.interfaces.IMessageQueueEngine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageQueueEngineTest {
+
+    static Stream<Arguments> engines() {
+        return Stream.of(
+                Arguments.of("LinkedBlocking", (IntFunction<IMessageQueueEngine<String>>) capacity -> new BlockingQueueEngine<>(new LinkedBlockingQueue<>(capacity))),
+                Arguments.of("ArrayBlocking", (IntFunction<IMessageQueueEngine<String>>) capacity -> new BlockingQueueEngine<>(new ArrayBlockingQueue<>(capacity))),
+                Arguments.of("LinkedTransfer", (IntFunction<IMessageQueueEngine<String>>) TransferQueueEngine::new),
+                Arguments.of("RingBuffer", (IntFunction<IMessageQueueEngine<String>>) RingBufferQueueEngine::new)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    void offer_FullQueue_RejectsMessage(String name, IntFunction<IMessageQueueEngine<String>> engineFactory) {
+        // Arrange
+        IMessageQueueEngine<String> engine = engineFactory.apply(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(engine.offer("message-" + i));
+        }
+
+        // Act
+        boolean result = engine.offer("overflow");
+
+        // Assert
+        assertFalse(result);
+        assertEquals(4, engine.size());
+        assertEquals(0, engine.remainingCapacity());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    void offer_NullMessage_ThrowsWithoutLosingCapacity(String name, IntFunction<IMessageQueueEngine<String>> engineFactory) {
+        // Arrange
+        IMessageQueueEngine<String> engine = engineFactory.apply(2);
+
+        // Act
+        assertThrows(NullPointerException.class, () -> engine.offer(null));
+        assertThrows(NullPointerException.class, () -> engine.offer(null, 10, TimeUnit.MILLISECONDS));
+        assertThrows(NullPointerException.class, () -> engine.put(null));
+
+        // Assert
+        assertEquals(0, engine.size());
+        assertEquals(2, engine.remainingCapacity());
+        assertTrue(engine.offer("message-0"));
+        assertTrue(engine.offer("message-1"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    void poll_AfterOffers_ReturnsMessagesInOrder(String name, IntFunction<IMessageQueueEngine<String>> engineFactory) {
+        // Arrange
+        IMessageQueueEngine<String> engine = engineFactory.apply(8);
+        for (int i = 0; i < 5; i++) {
+            engine.offer("message-" + i);
+        }
+
+        // Act
+        List<String> snapshot = engine.snapshot();
+        String first = engine.poll();
+        List<String> drained = new ArrayList<>();
+        int drainedCount = engine.drainTo(drained, 3);
+
+        // Assert
+        assertEquals(List.of("message-0", "message-1", "message-2", "message-3", "message-4"), snapshot);
+        assertEquals("message-0", first);
+        assertEquals(3, drainedCount);
+        assertEquals(List.of("message-1", "message-2", "message-3"), drained);
+        assertEquals(1, engine.size());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    void peekRange_WindowInsideQueue_ReturnsWindowWithoutRemoving(String name, IntFunction<IMessageQueueEngine<String>> engineFactory) {
+        // Arrange
+        IMessageQueueEngine<String> engine = engineFactory.apply(16);
+        for (int i = 0; i < 10; i++) {
+            engine.offer("message-" + i);
+        }
+        engine.poll();
+
+        // Act
+        List<String> window = engine.peekRange(2, 3);
+        List<String> tail = engine.peekRange(7, 5);
+        List<String> beyond = engine.peekRange(20, 5);
+
+        // Assert
+        assertEquals(List.of("message-3", "message-4", "message-5"), window);
+        assertEquals(List.of("message-8", "message-9"), tail);
+        assertTrue(beyond.isEmpty());
+        assertEquals(9, engine.size());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    void poll_EmptyQueueWithTimeout_ReturnsNull(String name, IntFunction<IMessageQueueEngine<String>> engineFactory) throws InterruptedException {
+        // Arrange
+        IMessageQueueEngine<String> engine = engineFactory.apply(4);
+
+        // Act
+        String result = engine.poll(10, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertNull(result);
+        assertTrue(engine.isEmpty());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    void putAndPoll_ConcurrentProducersAndConsumers_DeliverEveryMessageOnce(String name, IntFunction<IMessageQueueEngine<String>> engineFactory) throws Exception {
+        // Arrange
+        IMessageQueueEngine<String> engine = engineFactory.apply(64);
+        int producers = 4;
+        int consumers = 4;
+        int messagesPerProducer = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers + consumers);
+        Set<String> received = ConcurrentHashMap.newKeySet();
+        CountDownLatch allReceived = new CountDownLatch(producers * messagesPerProducer);
+
+        // Act
+        try {
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                executor.submit(() -> {
+                    for (int i = 0; i < messagesPerProducer; i++) {
+                        engine.put(producer + "-" + i);
+                    }
+                    return null;
+                });
+            }
+            for (int c = 0; c < consumers; c++) {
+                executor.submit(() -> {
+                    while (!Thread.currentThread().isInterrupted()) {
+                        String message = engine.poll(10, TimeUnit.MILLISECONDS);
+                        if (message != null) {
+                            assertTrue(received.add(message), "Message delivered twice: " + message);
+                            allReceived.countDown();
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            // Assert
+            assertTrue(allReceived.await(30, TimeUnit.SECONDS), "Not every message was delivered");
+        } finally {
+            executor.shutdownNow();
+        }
+        Set<String> expected = new HashSet<>();
+        for (int p = 0; p < producers; p++) {
+            for (int i = 0; i < messagesPerProducer; i++) {
+                expected.add(p + "-" + i);
+            }
+        }
+        assertEquals(expected, received);
+        assertTrue(engine.isEmpty());
+    }
+
+    @Test
+    void offer_RingBufferWithCapacityOne_KeepsUnconsumedMessages() {
+        // Arrange
+        IMessageQueueEngine<String> engine = new RingBufferQueueEngine<>(1);
+
+        // Act
+        boolean first = engine.offer("message-0");
+        boolean second = engine.offer("message-1");
+        boolean overflow = engine.offer("overflow");
+
+        // Assert
+        assertEquals(2, engine.capacity());
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(overflow);
+        assertEquals("message-0", engine.poll());
+        assertEquals("message-1", engine.poll());
+        assertNull(engine.poll());
+    }
+}
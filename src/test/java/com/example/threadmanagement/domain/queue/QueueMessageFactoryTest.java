@@ -0,0 +1,124 @@
+package com.example.threadmanagement.domain.queue;
+
+import com.example.threadmanagement.config.MessageMode;
+import com.example.threadmanagement.model.message.PooledQueueMessage;
+import com.example.threadmanagement.model.message.QueueMessage;
+import com.example.threadmanagement.model.message.interfaces.IQueueMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueueMessageFactoryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UUID senderId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        senderId = UUID.randomUUID();
+    }
+
+    @Test
+    void create_ObjectMode_ReturnsRecord() {
+        // Arrange
+        QueueMessageFactory queueMessageFactory = new QueueMessageFactory(meterRegistry, MessageMode.OBJECT, new BlockingQueueEngine<>(new ArrayBlockingQueue<>(4)), 0);
+
+        // Act
+        IQueueMessage message = queueMessageFactory.create(senderId, 7);
+
+        // Assert
+        assertInstanceOf(QueueMessage.class, message);
+        assertEquals(senderId, message.senderId());
+        assertEquals(7, message.sequence());
+        assertTrue(message.format().startsWith("Data from sender " + senderId + " at "));
+    }
+
+    @Test
+    void create_PooledMode_EncodesFieldsIntoFlyweight() {
+        // Arrange
+        QueueMessageFactory queueMessageFactory = new QueueMessageFactory(meterRegistry, MessageMode.POOLED, new BlockingQueueEngine<>(new ArrayBlockingQueue<>(4)), 0);
+        long before = System.nanoTime();
+
+        // Act
+        IQueueMessage message = queueMessageFactory.create(senderId, 42);
+
+        // Assert
+        assertInstanceOf(PooledQueueMessage.class, message);
+        assertEquals(senderId, message.senderId());
+        assertEquals(42, message.sequence());
+        assertTrue(message.enqueueNanos() >= before);
+        assertEquals("Data", message.payload());
+        assertTrue(message.format().startsWith("Data from sender " + senderId + " at "));
+    }
+
+    @Test
+    void create_PoolExhausted_FallsBackToRecordUntilReleased() {
+        // Arrange
+        QueueMessageFactory queueMessageFactory = new QueueMessageFactory(meterRegistry, MessageMode.POOLED, new BlockingQueueEngine<>(new ArrayBlockingQueue<>(1)), 0);
+        IQueueMessage pooledMessage = queueMessageFactory.create(senderId, 1);
+
+        // Act
+        IQueueMessage fallbackMessage = queueMessageFactory.create(senderId, 2);
+        pooledMessage.release();
+        IQueueMessage recycledMessage = queueMessageFactory.create(senderId, 3);
+
+        // Assert
+        assertInstanceOf(QueueMessage.class, fallbackMessage);
+        assertSame(pooledMessage, recycledMessage);
+        assertEquals(3, recycledMessage.sequence());
+        assertEquals(1.0, meterRegistry.get("threadmanagement.message.pool.misses").counter().count());
+    }
+
+    @Test
+    void release_CalledTwice_ReturnsBufferOnce() {
+        // Arrange
+        QueueMessageFactory queueMessageFactory = new QueueMessageFactory(meterRegistry, MessageMode.POOLED, new BlockingQueueEngine<>(new ArrayBlockingQueue<>(2)), 0);
+        IQueueMessage message = queueMessageFactory.create(senderId, 1);
+
+        // Act
+        message.release();
+        message.release();
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("threadmanagement.message.pool.available").gauge().value());
+        assertNull(message.format(), "A released message should not be formatted");
+    }
+
+    @Test
+    void create_ReleasedBufferLeasedAgain_FormatsNewMessage() {
+        // Arrange
+        QueueMessageFactory queueMessageFactory = new QueueMessageFactory(meterRegistry, MessageMode.POOLED, new BlockingQueueEngine<>(new ArrayBlockingQueue<>(1)), 0);
+        IQueueMessage first = queueMessageFactory.create(senderId, 1);
+        first.release();
+        UUID otherSenderId = UUID.randomUUID();
+
+        // Act
+        IQueueMessage second = queueMessageFactory.create(otherSenderId, 2);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(2, second.sequence());
+        assertTrue(second.format().startsWith("Data from sender " + otherSenderId + " at "));
+        second.release();
+        assertNull(second.format(), "A released message should not be formatted");
+        assertEquals(1.0, meterRegistry.get("threadmanagement.message.pool.available").gauge().value());
+    }
+
+    @Test
+    void constructor_RingBufferRoundsUpCapacity_SizesPoolFromActualCapacity() {
+        // Arrange
+        RingBufferQueueEngine<IQueueMessage> sharedQueue = new RingBufferQueueEngine<>(3);
+
+        // Act
+        new QueueMessageFactory(meterRegistry, MessageMode.POOLED, sharedQueue, 0);
+
+        // Assert
+        assertEquals(4, sharedQueue.capacity());
+        assertEquals(4.0, meterRegistry.get("threadmanagement.message.pool.available").gauge().value());
+    }
+}
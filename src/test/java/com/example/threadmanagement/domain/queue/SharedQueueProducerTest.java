@@ -0,0 +1,128 @@
+package com.example.threadmanagement.domain.queue;
+
+import com.example.threadmanagement.domain.metrics.MessageFlowMetrics;
+import com.example.threadmanagement.domain.queue.interfaces.IMessageQueueEngine;
+import com.example.threadmanagement.model.entity.OverflowPolicy;
+import com.example.threadmanagement.model.message.QueueMessage;
+import com.example.threadmanagement.model.message.interfaces.IQueueMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedQueueProducerTest {
+
+    private IMessageQueueEngine<IQueueMessage> sharedQueue;
+    private SimpleMeterRegistry meterRegistry;
+    private SharedQueueProducer sharedQueueProducer;
+
+    @BeforeEach
+    void setUp() {
+        sharedQueue = new BlockingQueueEngine<>(new LinkedBlockingQueue<>(10));
+        meterRegistry = new SimpleMeterRegistry();
+        sharedQueueProducer = new SharedQueueProducer(sharedQueue, new MessageFlowMetrics(meterRegistry));
+        ReflectionTestUtils.setField(sharedQueueProducer, "offerTimeoutMillis", 10L);
+    }
+
+    @Test
+    void enqueue_QueueHasRoom_AddsMessage() throws InterruptedException {
+        // Act
+        boolean result = sharedQueueProducer.enqueue(message("message"), OverflowPolicy.BLOCK, Thread.NORM_PRIORITY, true);
+
+        // Assert
+        assertTrue(result);
+        assertEquals("message", sharedQueue.snapshot().get(0).payload());
+    }
+
+    @Test
+    void enqueue_DropNewestOnFullQueue_RejectsMessage() throws InterruptedException {
+        // Arrange
+        fillQueue();
+
+        // Act
+        boolean result = sharedQueueProducer.enqueue(message("newest"), OverflowPolicy.DROP_NEWEST, Thread.NORM_PRIORITY, true);
+
+        // Assert
+        assertFalse(result);
+        assertEquals("message-0", sharedQueue.snapshot().get(0).payload());
+        assertEquals(1.0, rejectedCount(OverflowPolicy.DROP_NEWEST));
+    }
+
+    @Test
+    void enqueue_DropOldestOnFullQueue_ReplacesOldestMessage() throws InterruptedException {
+        // Arrange
+        fillQueue();
+
+        // Act
+        boolean result = sharedQueueProducer.enqueue(message("newest"), OverflowPolicy.DROP_OLDEST, Thread.NORM_PRIORITY, true);
+
+        // Assert
+        assertTrue(result);
+        assertEquals(10, sharedQueue.size());
+        assertEquals("message-1", sharedQueue.snapshot().get(0).payload());
+        assertEquals("newest", sharedQueue.snapshot().get(9).payload());
+        assertEquals(1.0, meterRegistry.get("threadmanagement.queue.dropped")
+                .tag("policy", OverflowPolicy.DROP_OLDEST.name()).counter().count());
+    }
+
+    @Test
+    void enqueue_BlockWithTimeoutOnFullQueue_RejectsAfterTimeout() throws InterruptedException {
+        // Arrange
+        fillQueue();
+
+        // Act
+        boolean result = sharedQueueProducer.enqueue(message("newest"), OverflowPolicy.BLOCK_WITH_TIMEOUT, Thread.NORM_PRIORITY, true);
+
+        // Assert
+        assertFalse(result);
+        assertEquals(1.0, rejectedCount(OverflowPolicy.BLOCK_WITH_TIMEOUT));
+    }
+
+    @Test
+    void enqueue_BlockWithoutWaitingOnFullQueue_RejectsMessage() throws InterruptedException {
+        // Arrange
+        fillQueue();
+
+        // Act
+        boolean result = sharedQueueProducer.enqueue(message("newest"), OverflowPolicy.BLOCK, Thread.NORM_PRIORITY, false);
+
+        // Assert
+        assertFalse(result);
+        assertEquals(1.0, rejectedCount(OverflowPolicy.BLOCK));
+    }
+
+    @Test
+    void enqueue_ShedByPriority_LowPriorityShedBeforeHighPriority() throws InterruptedException {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            sharedQueue.offer(message("message-" + i));
+        }
+
+        // Act
+        boolean lowPriorityResult = sharedQueueProducer.enqueue(message("low"), OverflowPolicy.SHED_BY_PRIORITY, Thread.MIN_PRIORITY, true);
+        boolean highPriorityResult = sharedQueueProducer.enqueue(message("high"), OverflowPolicy.SHED_BY_PRIORITY, Thread.MAX_PRIORITY, true);
+
+        // Assert
+        assertFalse(lowPriorityResult);
+        assertTrue(highPriorityResult);
+        assertEquals(1.0, rejectedCount(OverflowPolicy.SHED_BY_PRIORITY));
+    }
+
+    private void fillQueue() {
+        for (int i = 0; i < 10; i++) {
+            sharedQueue.offer(message("message-" + i));
+        }
+    }
+
+    private QueueMessage message(String payload) {
+        return new QueueMessage(UUID.randomUUID(), 1, System.nanoTime(), System.currentTimeMillis(), payload);
+    }
+
+    private double rejectedCount(OverflowPolicy overflowPolicy) {
+        return meterRegistry.get("threadmanagement.queue.rejected").tag("policy", overflowPolicy.name()).counter().count();
+    }
+}
@@ -4,15 +4,23 @@ import com.example.threadmanagement.domain.repository.interfaces.IReceiverThread
 import com.example.threadmanagement.exception.ThreadManagementException;
 import com.example.threadmanagement.exception.ThreadNotFoundException;
 import com.example.threadmanagement.model.dto.ReceiverThreadDto;
+import com.example.threadmanagement.model.dto.ThreadPageDto;
+import com.example.threadmanagement.model.dto.ThreadSortKey;
 import com.example.threadmanagement.model.entity.ReceiverThreadEntity;
 import com.example.threadmanagement.model.entity.ThreadState;
+import com.example.threadmanagement.model.entity.ThreadType;
 import com.example.threadmanagement.model.mapper.interfaces.IReceiverThreadMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -30,36 +38,41 @@ class ReceiverThreadRepositoryTest {
     @Mock
     private IReceiverThreadMapper iReceiverThreadMapper;
 
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ThreadBulkInserter threadBulkInserter;
+
+    private ThreadStateStore threadStateStore;
     private ReceiverThreadRepository receiverThreadRepository;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        receiverThreadRepository = new ReceiverThreadRepository(iReceiverThreadRepository, iReceiverThreadMapper);
+        threadStateStore = new ThreadStateStore(jdbcTemplate, new SimpleMeterRegistry(), 500, 10000);
+        receiverThreadRepository = new ReceiverThreadRepository(iReceiverThreadRepository, iReceiverThreadMapper, threadStateStore, threadBulkInserter);
     }
 
     @Test
     void createReceiverThreadsWithList_ValidParameters_Success() {
         // Arrange
         List<ReceiverThreadDto> dtoList = Arrays.asList(new ReceiverThreadDto(), new ReceiverThreadDto());
-        List<ReceiverThreadEntity> entityList = Arrays.asList(new ReceiverThreadEntity(), new ReceiverThreadEntity());
-        when(iReceiverThreadMapper.toEntityList(dtoList)).thenReturn(entityList);
-        when(iReceiverThreadRepository.saveAll(entityList)).thenReturn(entityList);
 
         // Act
         Boolean result = receiverThreadRepository.createReceiverThreadsWithList(dtoList);
 
         // Assert
         assertTrue(result);
-        verify(iReceiverThreadMapper).toEntityList(dtoList);
-        verify(iReceiverThreadRepository).saveAll(entityList);
+        verify(threadBulkInserter).insertReceiverThreads(dtoList);
+        verify(iReceiverThreadRepository, never()).saveAll(any());
     }
 
     @Test
     void createReceiverThreadsWithList_DatabaseError_ThrowsException() {
         // Arrange
         List<ReceiverThreadDto> dtoList = Arrays.asList(new ReceiverThreadDto());
-        when(iReceiverThreadMapper.toEntityList(any())).thenThrow(new RuntimeException("Database error"));
+        doThrow(new RuntimeException("Database error")).when(threadBulkInserter).insertReceiverThreads(dtoList);
 
         // Act & Assert
         assertThrows(ThreadManagementException.class,
@@ -112,18 +125,95 @@ class ReceiverThreadRepositoryTest {
         assertEquals(dtos, result);
     }
 
+    @Test
+    void getReceiverThreadPage_MoreThreadsThanPageSize_ReturnsPageAndNextPosition() {
+        // Arrange
+        List<ReceiverThreadEntity> entities = new ArrayList<>();
+        List<ReceiverThreadDto> dtos = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ReceiverThreadEntity entity = new ReceiverThreadEntity();
+            entity.setId(UUID.randomUUID());
+            entity.setCreatedAt(LocalDateTime.of(2026, 1, 1, 0, 0, i));
+            entities.add(entity);
+            dtos.add(new ReceiverThreadDto(entity.getId(), ThreadType.RECEIVER, ThreadState.RUNNING, 5));
+        }
+        UUID afterId = UUID.randomUUID();
+        when(iReceiverThreadRepository.findPageOrderByIdAfter(ThreadState.RUNNING, null, afterId, PageRequest.ofSize(3)))
+                .thenReturn(entities);
+        when(iReceiverThreadMapper.toDtoList(entities.subList(0, 2))).thenReturn(dtos.subList(0, 2));
+
+        // Act
+        ThreadPageDto<ReceiverThreadDto> result = receiverThreadRepository.getReceiverThreadPage(ThreadState.RUNNING, null,
+                ThreadSortKey.ID, afterId, null, 2);
+
+        // Assert
+        assertEquals(2, result.getThreads().size());
+        assertTrue(result.isHasMore());
+        assertEquals(entities.get(1).getId(), result.getNextAfterId());
+        assertEquals(entities.get(1).getCreatedAt(), result.getNextAfterCreatedAt());
+    }
+
+    @Test
+    void getReceiverThreadPage_NoCursor_ReadsFirstPageWithoutSeekPredicate() {
+        // Arrange
+        when(iReceiverThreadRepository.findFirstPageOrderById(ThreadState.RUNNING, null, PageRequest.ofSize(11))).thenReturn(List.of());
+        when(iReceiverThreadMapper.toDtoList(List.of())).thenReturn(List.of());
+
+        // Act
+        ThreadPageDto<ReceiverThreadDto> result = receiverThreadRepository.getReceiverThreadPage(ThreadState.RUNNING, null,
+                ThreadSortKey.ID, null, null, 10);
+
+        // Assert
+        assertTrue(result.getThreads().isEmpty());
+        assertFalse(result.isHasMore());
+        verify(iReceiverThreadRepository, never()).findPageOrderByIdAfter(any(), any(), any(), any());
+    }
+
+    @Test
+    void getReceiverThreadPage_SortedByCreationTimeAndTooLargeSize_SeeksByCreationTimeWithMaxPageSize() {
+        // Arrange
+        UUID afterId = UUID.randomUUID();
+        LocalDateTime afterCreatedAt = LocalDateTime.of(2026, 1, 1, 0, 0);
+        when(iReceiverThreadRepository.findPageOrderByCreatedAtAfter(null, 5, afterCreatedAt, afterId,
+                PageRequest.ofSize(ReceiverThreadRepository.MAX_PAGE_SIZE + 1))).thenReturn(List.of());
+        when(iReceiverThreadMapper.toDtoList(List.of())).thenReturn(List.of());
+
+        // Act
+        ThreadPageDto<ReceiverThreadDto> result = receiverThreadRepository.getReceiverThreadPage(null, 5,
+                ThreadSortKey.CREATED_AT, afterId, afterCreatedAt, 1_000_000);
+
+        // Assert
+        assertTrue(result.getThreads().isEmpty());
+        assertFalse(result.isHasMore());
+        assertNull(result.getNextAfterId());
+        verify(iReceiverThreadRepository, never()).findPageOrderByIdAfter(any(), any(), any(), any());
+        verify(iReceiverThreadRepository, never()).findFirstPageOrderById(any(), any(), any());
+    }
+
+    @Test
+    void getReceiverThreadPage_CreationTimeCursorWithOnlyOnePart_ThrowsException() {
+        // Arrange
+        UUID afterId = UUID.randomUUID();
+        LocalDateTime afterCreatedAt = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> receiverThreadRepository.getReceiverThreadPage(null, null,
+                ThreadSortKey.CREATED_AT, afterId, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> receiverThreadRepository.getReceiverThreadPage(null, null,
+                ThreadSortKey.CREATED_AT, null, afterCreatedAt, 10));
+        verify(iReceiverThreadRepository, never()).findPageOrderByCreatedAtAfter(any(), any(), any(), any(), any());
+    }
+
     @Test
     void getActiveReceiverThreads_Valid_Success() {
         // Arrange
         ReceiverThreadDto activeDto = new ReceiverThreadDto();
         activeDto.setState(ThreadState.RUNNING);
-        ReceiverThreadDto inactiveDto = new ReceiverThreadDto();
-        inactiveDto.setState(ThreadState.STOPPED);
 
-        List<ReceiverThreadEntity> entities = Arrays.asList(new ReceiverThreadEntity(), new ReceiverThreadEntity());
-        List<ReceiverThreadDto> dtos = Arrays.asList(activeDto, inactiveDto);
+        List<ReceiverThreadEntity> entities = List.of(new ReceiverThreadEntity());
+        List<ReceiverThreadDto> dtos = List.of(activeDto);
 
-        when(iReceiverThreadRepository.findAll()).thenReturn(entities);
+        when(iReceiverThreadRepository.findByState(ThreadState.RUNNING)).thenReturn(entities);
         when(iReceiverThreadMapper.toDtoList(entities)).thenReturn(dtos);
 
         // Act
@@ -132,6 +222,7 @@ class ReceiverThreadRepositoryTest {
         // Assert
         assertEquals(1, result.size());
         assertEquals(ThreadState.RUNNING, result.get(0).getState());
+        verify(iReceiverThreadRepository, never()).findAll();
     }
 
     @Test
@@ -168,9 +259,7 @@ class ReceiverThreadRepositoryTest {
         dto.setState(ThreadState.RUNNING);
         dto.setPriority(1);
 
-        ReceiverThreadEntity entity = new ReceiverThreadEntity();
-        when(iReceiverThreadRepository.findById(id)).thenReturn(Optional.of(entity));
-        when(iReceiverThreadRepository.save(any(ReceiverThreadEntity.class))).thenReturn(entity);
+        when(iReceiverThreadRepository.existsById(id)).thenReturn(true);
 
         // Act
         ReceiverThreadDto result = receiverThreadRepository.updateReceiverThread(dto);
@@ -186,7 +275,7 @@ class ReceiverThreadRepositoryTest {
         UUID id = UUID.randomUUID();
         ReceiverThreadDto dto = new ReceiverThreadDto();
         dto.setId(id);
-        when(iReceiverThreadRepository.findById(id)).thenReturn(Optional.empty());
+        when(iReceiverThreadRepository.existsById(id)).thenReturn(false);
 
         // Act & Assert
         assertThrows(ThreadNotFoundException.class,
@@ -198,16 +287,15 @@ class ReceiverThreadRepositoryTest {
         // Arrange
         UUID id = UUID.randomUUID();
         Integer priority = 2;
-        ReceiverThreadEntity entity = new ReceiverThreadEntity();
-        when(iReceiverThreadRepository.findById(id)).thenReturn(Optional.of(entity));
-        when(iReceiverThreadRepository.save(any(ReceiverThreadEntity.class))).thenReturn(entity);
+        when(iReceiverThreadRepository.existsById(id)).thenReturn(true);
 
         // Act
         UUID result = receiverThreadRepository.updateReceiverThreadPriority(id, priority);
 
         // Assert
         assertEquals(id, result);
-        assertEquals(priority, entity.getPriority());
+        assertEquals(priority, threadStateStore.pending(ThreadType.RECEIVER, id).orElseThrow().getPriority());
+        verify(iReceiverThreadRepository, never()).save(any());
     }
 
     @Test
@@ -225,16 +313,15 @@ class ReceiverThreadRepositoryTest {
         // Arrange
         UUID id = UUID.randomUUID();
         ThreadState newState = ThreadState.RUNNING;
-        ReceiverThreadEntity entity = new ReceiverThreadEntity();
-        when(iReceiverThreadRepository.findById(id)).thenReturn(Optional.of(entity));
-        when(iReceiverThreadRepository.save(any(ReceiverThreadEntity.class))).thenReturn(entity);
+        when(iReceiverThreadRepository.existsById(id)).thenReturn(true);
 
         // Act
         UUID result = receiverThreadRepository.updateReceiverThreadState(id, newState);
 
         // Assert
         assertEquals(id, result);
-        assertEquals(newState, entity.getState());
+        assertEquals(newState, threadStateStore.pending(ThreadType.RECEIVER, id).orElseThrow().getState());
+        verify(iReceiverThreadRepository, never()).save(any());
     }
 
     @Test
@@ -246,4 +333,29 @@ class ReceiverThreadRepositoryTest {
         assertThrows(ThreadManagementException.class,
                 () -> receiverThreadRepository.updateReceiverThreadState(id, null));
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateReceiverThreadBatching_ValidParameters_Success() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(iReceiverThreadRepository.existsById(id)).thenReturn(true);
+
+        // Act
+        UUID result = receiverThreadRepository.updateReceiverThreadBatching(id, 500, 20L);
+
+        // Assert
+        assertEquals(id, result);
+        assertEquals(500, threadStateStore.pending(ThreadType.RECEIVER, id).orElseThrow().getBatchSize());
+        assertEquals(20L, threadStateStore.pending(ThreadType.RECEIVER, id).orElseThrow().getLingerMillis());
+    }
+
+    @Test
+    void updateReceiverThreadBatching_InvalidBatchSize_ThrowsException() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+
+        // Act & Assert
+        assertThrows(ThreadManagementException.class,
+                () -> receiverThreadRepository.updateReceiverThreadBatching(id, 0, null));
+    }
+}
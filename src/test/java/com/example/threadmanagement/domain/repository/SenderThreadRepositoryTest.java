@@ -4,15 +4,25 @@ import com.example.threadmanagement.domain.repository.interfaces.ISenderThreadRe
 import com.example.threadmanagement.exception.ThreadManagementException;
 import com.example.threadmanagement.exception.ThreadNotFoundException;
 import com.example.threadmanagement.model.dto.SenderThreadDto;
+import com.example.threadmanagement.model.dto.ThreadPageDto;
+import com.example.threadmanagement.model.dto.ThreadSortKey;
+import com.example.threadmanagement.model.entity.OverflowPolicy;
 import com.example.threadmanagement.model.entity.SenderThreadEntity;
 import com.example.threadmanagement.model.entity.ThreadState;
+import com.example.threadmanagement.model.entity.ThreadType;
 import com.example.threadmanagement.model.mapper.interfaces.ISenderThreadMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -20,6 +30,8 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class SenderThreadRepositoryTest {
@@ -30,36 +42,41 @@ class SenderThreadRepositoryTest {
     @Mock
     private ISenderThreadMapper iSenderThreadMapper;
 
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ThreadBulkInserter threadBulkInserter;
+
+    private ThreadStateStore threadStateStore;
     private SenderThreadRepository senderThreadRepository;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        senderThreadRepository = new SenderThreadRepository(iSenderThreadRepository, iSenderThreadMapper);
+        threadStateStore = new ThreadStateStore(jdbcTemplate, new SimpleMeterRegistry(), 500, 10000);
+        senderThreadRepository = new SenderThreadRepository(iSenderThreadRepository, iSenderThreadMapper, threadStateStore, threadBulkInserter);
     }
 
     @Test
     void createSenderThreadsWithList_Valid_Success() {
         // Arrange
         List<SenderThreadDto> dtoList = Arrays.asList(new SenderThreadDto(), new SenderThreadDto());
-        List<SenderThreadEntity> entityList = Arrays.asList(new SenderThreadEntity(), new SenderThreadEntity());
-        when(iSenderThreadMapper.toEntityList(dtoList)).thenReturn(entityList);
-        when(iSenderThreadRepository.saveAll(entityList)).thenReturn(entityList);
 
         // Act
         Boolean result = senderThreadRepository.createSenderThreadsWithList(dtoList);
 
         // Assert
         assertTrue(result);
-        verify(iSenderThreadMapper).toEntityList(dtoList);
-        verify(iSenderThreadRepository).saveAll(entityList);
+        verify(threadBulkInserter).insertSenderThreads(dtoList);
+        verify(iSenderThreadRepository, never()).saveAll(any());
     }
 
     @Test
     void createSenderThreadsWithList_DatabaseError_ThrowsException() {
         // Arrange
         List<SenderThreadDto> dtoList = Arrays.asList(new SenderThreadDto());
-        when(iSenderThreadMapper.toEntityList(any())).thenThrow(new RuntimeException("Database error"));
+        doThrow(new RuntimeException("Database error")).when(threadBulkInserter).insertSenderThreads(dtoList);
 
         // Act & Assert
         assertThrows(ThreadManagementException.class,
@@ -83,6 +100,26 @@ class SenderThreadRepositoryTest {
         assertEquals(dto, result.get());
     }
 
+    @Test
+    void getSenderThreadById_UnflushedStateChange_ReturnsLatestState() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        SenderThreadEntity entity = new SenderThreadEntity();
+        SenderThreadDto dto = new SenderThreadDto();
+        dto.setId(id);
+        dto.setState(ThreadState.RUNNING);
+        when(iSenderThreadRepository.existsById(id)).thenReturn(true);
+        when(iSenderThreadRepository.findById(id)).thenReturn(Optional.of(entity));
+        when(iSenderThreadMapper.toDto(entity)).thenReturn(dto);
+        senderThreadRepository.updateSenderThreadState(id, ThreadState.STOPPED);
+
+        // Act
+        Optional<SenderThreadDto> result = senderThreadRepository.getSenderThreadById(id);
+
+        // Assert
+        assertEquals(ThreadState.STOPPED, result.orElseThrow().getState());
+    }
+
     @Test
     void getSenderThreadById_ThreadIdNotInTheDatabase_NotFound() {
         // Arrange
@@ -112,18 +149,95 @@ class SenderThreadRepositoryTest {
         assertEquals(dtos, result);
     }
 
+    @Test
+    void getSenderThreadPage_MoreThreadsThanPageSize_ReturnsPageAndNextPosition() {
+        // Arrange
+        List<SenderThreadEntity> entities = new ArrayList<>();
+        List<SenderThreadDto> dtos = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            SenderThreadEntity entity = new SenderThreadEntity();
+            entity.setId(UUID.randomUUID());
+            entity.setCreatedAt(LocalDateTime.of(2026, 1, 1, 0, 0, i));
+            entities.add(entity);
+            dtos.add(new SenderThreadDto(entity.getId(), ThreadType.SENDER, ThreadState.RUNNING, 5));
+        }
+        UUID afterId = UUID.randomUUID();
+        when(iSenderThreadRepository.findPageOrderByIdAfter(ThreadState.RUNNING, null, afterId, PageRequest.ofSize(3)))
+                .thenReturn(entities);
+        when(iSenderThreadMapper.toDtoList(entities.subList(0, 2))).thenReturn(dtos.subList(0, 2));
+
+        // Act
+        ThreadPageDto<SenderThreadDto> result = senderThreadRepository.getSenderThreadPage(ThreadState.RUNNING, null,
+                ThreadSortKey.ID, afterId, null, 2);
+
+        // Assert
+        assertEquals(2, result.getThreads().size());
+        assertTrue(result.isHasMore());
+        assertEquals(entities.get(1).getId(), result.getNextAfterId());
+        assertEquals(entities.get(1).getCreatedAt(), result.getNextAfterCreatedAt());
+    }
+
+    @Test
+    void getSenderThreadPage_NoCursor_ReadsFirstPageWithoutSeekPredicate() {
+        // Arrange
+        when(iSenderThreadRepository.findFirstPageOrderById(ThreadState.RUNNING, null, PageRequest.ofSize(11))).thenReturn(List.of());
+        when(iSenderThreadMapper.toDtoList(List.of())).thenReturn(List.of());
+
+        // Act
+        ThreadPageDto<SenderThreadDto> result = senderThreadRepository.getSenderThreadPage(ThreadState.RUNNING, null,
+                ThreadSortKey.ID, null, null, 10);
+
+        // Assert
+        assertTrue(result.getThreads().isEmpty());
+        assertFalse(result.isHasMore());
+        verify(iSenderThreadRepository, never()).findPageOrderByIdAfter(any(), any(), any(), any());
+    }
+
+    @Test
+    void getSenderThreadPage_SortedByCreationTimeAndTooLargeSize_SeeksByCreationTimeWithMaxPageSize() {
+        // Arrange
+        UUID afterId = UUID.randomUUID();
+        LocalDateTime afterCreatedAt = LocalDateTime.of(2026, 1, 1, 0, 0);
+        when(iSenderThreadRepository.findPageOrderByCreatedAtAfter(null, 5, afterCreatedAt, afterId,
+                PageRequest.ofSize(SenderThreadRepository.MAX_PAGE_SIZE + 1))).thenReturn(List.of());
+        when(iSenderThreadMapper.toDtoList(List.of())).thenReturn(List.of());
+
+        // Act
+        ThreadPageDto<SenderThreadDto> result = senderThreadRepository.getSenderThreadPage(null, 5,
+                ThreadSortKey.CREATED_AT, afterId, afterCreatedAt, 1_000_000);
+
+        // Assert
+        assertTrue(result.getThreads().isEmpty());
+        assertFalse(result.isHasMore());
+        assertNull(result.getNextAfterId());
+        verify(iSenderThreadRepository, never()).findPageOrderByIdAfter(any(), any(), any(), any());
+        verify(iSenderThreadRepository, never()).findFirstPageOrderById(any(), any(), any());
+    }
+
+    @Test
+    void getSenderThreadPage_CreationTimeCursorWithOnlyOnePart_ThrowsException() {
+        // Arrange
+        UUID afterId = UUID.randomUUID();
+        LocalDateTime afterCreatedAt = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> senderThreadRepository.getSenderThreadPage(null, null,
+                ThreadSortKey.CREATED_AT, afterId, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> senderThreadRepository.getSenderThreadPage(null, null,
+                ThreadSortKey.CREATED_AT, null, afterCreatedAt, 10));
+        verify(iSenderThreadRepository, never()).findPageOrderByCreatedAtAfter(any(), any(), any(), any(), any());
+    }
+
     @Test
     void getActiveSenderThreads_Valid_Success() {
         // Arrange
         SenderThreadDto activeDto = new SenderThreadDto();
         activeDto.setState(ThreadState.RUNNING);
-        SenderThreadDto inactiveDto = new SenderThreadDto();
-        inactiveDto.setState(ThreadState.STOPPED);
 
-        List<SenderThreadEntity> entities = Arrays.asList(new SenderThreadEntity(), new SenderThreadEntity());
-        List<SenderThreadDto> dtos = Arrays.asList(activeDto, inactiveDto);
+        List<SenderThreadEntity> entities = List.of(new SenderThreadEntity());
+        List<SenderThreadDto> dtos = List.of(activeDto);
 
-        when(iSenderThreadRepository.findAll()).thenReturn(entities);
+        when(iSenderThreadRepository.findByState(ThreadState.RUNNING)).thenReturn(entities);
         when(iSenderThreadMapper.toDtoList(entities)).thenReturn(dtos);
 
         // Act
@@ -132,6 +246,141 @@ class SenderThreadRepositoryTest {
         // Assert
         assertEquals(1, result.size());
         assertEquals(ThreadState.RUNNING, result.get(0).getState());
+        verify(iSenderThreadRepository, never()).findAll();
+    }
+
+    @Test
+    void getPassiveSenderThreads_UnflushedStateChange_FlushesBeforeQuery() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(iSenderThreadRepository.existsById(id)).thenReturn(true);
+        senderThreadRepository.updateSenderThreadState(id, ThreadState.STOPPED);
+        when(iSenderThreadRepository.findByState(ThreadState.STOPPED)).thenReturn(List.of());
+        when(iSenderThreadMapper.toDtoList(List.of())).thenReturn(List.of());
+
+        // Act
+        senderThreadRepository.getPassiveSenderThreads();
+
+        // Assert
+        InOrder inOrder = inOrder(jdbcTemplate, iSenderThreadRepository);
+        inOrder.verify(jdbcTemplate).batchUpdate(eq(ThreadStateStore.SENDER_UPDATE), anyList(), any(int[].class));
+        inOrder.verify(iSenderThreadRepository).findByState(ThreadState.STOPPED);
+        assertEquals(0, threadStateStore.getPendingCount());
+    }
+
+    @Test
+    void updateSenderThreads_MoreIdsThanOneStatementTakes_UpdatesInChunks() {
+        // Arrange
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        when(iSenderThreadRepository.findAllById(any())).thenReturn(List.of());
+        when(iSenderThreadMapper.toDtoList(List.of())).thenReturn(List.of());
+
+        // Act
+        senderThreadRepository.updateSenderThreads(ids, ThreadState.STOPPED, null);
+
+        // Assert
+        verify(iSenderThreadRepository).updateStateAndPriorityByIdIn(ids.subList(0, 1000), ThreadState.STOPPED, null);
+        verify(iSenderThreadRepository).updateStateAndPriorityByIdIn(ids.subList(1000, 1500), ThreadState.STOPPED, null);
+    }
+
+    @Test
+    void updateSenderThreadsByFilter_ValidParameters_ReturnsThreadsWithNewValues() {
+        // Arrange
+        List<SenderThreadEntity> entities = List.of(new SenderThreadEntity());
+        SenderThreadDto dto = new SenderThreadDto(UUID.randomUUID(), ThreadType.SENDER, ThreadState.RUNNING, 5);
+        when(iSenderThreadRepository.findByFilter(ThreadState.RUNNING, null)).thenReturn(entities);
+        when(iSenderThreadMapper.toDtoList(entities)).thenReturn(List.of(dto));
+
+        // Act
+        List<SenderThreadDto> result = senderThreadRepository.updateSenderThreadsByFilter(ThreadState.RUNNING, null, ThreadState.STOPPED, 7);
+
+        // Assert
+        assertEquals(ThreadState.STOPPED, result.get(0).getState());
+        assertEquals(7, result.get(0).getPriority());
+        verify(iSenderThreadRepository).updateStateAndPriorityByIdIn(List.of(dto.getId()), ThreadState.STOPPED, 7);
+    }
+
+    @Test
+    void updateSenderThreadsByFilter_ThreadStartsMatchingAfterRead_UpdatesOnlyTheReadThreads() {
+        // Arrange
+        List<SenderThreadEntity> entities = List.of(new SenderThreadEntity());
+        SenderThreadDto readDto = new SenderThreadDto(UUID.randomUUID(), ThreadType.SENDER, ThreadState.RUNNING, 5);
+        UUID lateMatchingId = UUID.randomUUID();
+        when(iSenderThreadRepository.findByFilter(ThreadState.RUNNING, null)).thenReturn(entities);
+        when(iSenderThreadMapper.toDtoList(entities)).thenReturn(List.of(readDto));
+
+        // Act
+        List<SenderThreadDto> result = senderThreadRepository.updateSenderThreadsByFilter(ThreadState.RUNNING, null, ThreadState.STOPPED, null);
+
+        // Assert
+        assertEquals(List.of(readDto.getId()), result.stream().map(SenderThreadDto::getId).toList());
+        verify(iSenderThreadRepository).updateStateAndPriorityByIdIn(List.of(readDto.getId()), ThreadState.STOPPED, null);
+        verify(iSenderThreadRepository, never()).updateStateAndPriorityByIdIn(argThat(ids -> ids.contains(lateMatchingId)), any(), any());
+    }
+
+    @Test
+    void deleteSenderThreads_MoreIdsThanOneStatementTakes_DeletesInChunksAndDropsPendingChanges() {
+        // Arrange
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        when(iSenderThreadRepository.existsById(ids.get(0))).thenReturn(true);
+        senderThreadRepository.updateSenderThreadPriority(ids.get(0), 3);
+        when(iSenderThreadRepository.findIdsByIdIn(ids.subList(0, 1000))).thenReturn(ids.subList(0, 1000));
+        when(iSenderThreadRepository.findIdsByIdIn(ids.subList(1000, 1500))).thenReturn(ids.subList(1000, 1500));
+
+        // Act
+        List<UUID> result = senderThreadRepository.deleteSenderThreads(ids);
+
+        // Assert
+        assertEquals(ids, result);
+        verify(iSenderThreadRepository).deleteByIdIn(ids.subList(0, 1000));
+        verify(iSenderThreadRepository).deleteByIdIn(ids.subList(1000, 1500));
+        assertEquals(0, threadStateStore.getPendingCount());
+    }
+
+    @Test
+    void deleteSenderThreads_UnknownAndDuplicateIds_ReturnsOnlyDeletedIdsOnce() {
+        // Arrange
+        UUID existing = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        when(iSenderThreadRepository.findIdsByIdIn(List.of(existing, unknown))).thenReturn(List.of(existing));
+
+        // Act
+        List<UUID> result = senderThreadRepository.deleteSenderThreads(List.of(existing, unknown, existing));
+
+        // Assert
+        assertEquals(List.of(existing), result);
+        verify(iSenderThreadRepository).deleteByIdIn(List.of(existing));
+    }
+
+    @Test
+    void deleteSenderThreadsByFilter_ValidParameters_DeletesExactlyTheMatchingIds() {
+        // Arrange
+        List<UUID> matching = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(iSenderThreadRepository.findIdsByFilter(ThreadState.STOPPED, null)).thenReturn(matching);
+
+        // Act
+        List<UUID> result = senderThreadRepository.deleteSenderThreadsByFilter(ThreadState.STOPPED, null);
+
+        // Assert
+        assertEquals(matching, result);
+        verify(iSenderThreadRepository).deleteByIdIn(matching);
+    }
+
+    @Test
+    void deleteAllSenderThreads_ValidParameters_DeletesInOneStatement() {
+        // Act
+        Boolean result = senderThreadRepository.deleteAllSenderThreads();
+
+        // Assert
+        assertTrue(result);
+        verify(iSenderThreadRepository).deleteAllInBatch();
+        verify(iSenderThreadRepository, never()).deleteAll();
     }
 
     @Test
@@ -168,9 +417,7 @@ class SenderThreadRepositoryTest {
         dto.setState(ThreadState.RUNNING);
         dto.setPriority(1);
 
-        SenderThreadEntity entity = new SenderThreadEntity();
-        when(iSenderThreadRepository.findById(id)).thenReturn(Optional.of(entity));
-        when(iSenderThreadRepository.save(any(SenderThreadEntity.class))).thenReturn(entity);
+        when(iSenderThreadRepository.existsById(id)).thenReturn(true);
 
         // Act
         SenderThreadDto result = senderThreadRepository.updateSenderThread(dto);
@@ -186,7 +433,7 @@ class SenderThreadRepositoryTest {
         UUID id = UUID.randomUUID();
         SenderThreadDto dto = new SenderThreadDto();
         dto.setId(id);
-        when(iSenderThreadRepository.findById(id)).thenReturn(Optional.empty());
+        when(iSenderThreadRepository.existsById(id)).thenReturn(false);
 
         // Act & Assert
         assertThrows(ThreadNotFoundException.class,
@@ -198,16 +445,15 @@ class SenderThreadRepositoryTest {
         // Arrange
         UUID id = UUID.randomUUID();
         Integer priority = 2;
-        SenderThreadEntity entity = new SenderThreadEntity();
-        when(iSenderThreadRepository.findById(id)).thenReturn(Optional.of(entity));
-        when(iSenderThreadRepository.save(any(SenderThreadEntity.class))).thenReturn(entity);
+        when(iSenderThreadRepository.existsById(id)).thenReturn(true);
 
         // Act
         UUID result = senderThreadRepository.updateSenderThreadPriority(id, priority);
 
         // Assert
         assertEquals(id, result);
-        assertEquals(priority, entity.getPriority());
+        assertEquals(priority, threadStateStore.pending(ThreadType.SENDER, id).orElseThrow().getPriority());
+        verify(iSenderThreadRepository, never()).save(any());
     }
 
     @Test
@@ -225,16 +471,15 @@ class SenderThreadRepositoryTest {
         // Arrange
         UUID id = UUID.randomUUID();
         ThreadState newState = ThreadState.RUNNING;
-        SenderThreadEntity entity = new SenderThreadEntity();
-        when(iSenderThreadRepository.findById(id)).thenReturn(Optional.of(entity));
-        when(iSenderThreadRepository.save(any(SenderThreadEntity.class))).thenReturn(entity);
+        when(iSenderThreadRepository.existsById(id)).thenReturn(true);
 
         // Act
         UUID result = senderThreadRepository.updateSenderThreadState(id, newState);
 
         // Assert
         assertEquals(id, result);
-        assertEquals(newState, entity.getState());
+        assertEquals(newState, threadStateStore.pending(ThreadType.SENDER, id).orElseThrow().getState());
+        verify(iSenderThreadRepository, never()).save(any());
     }
 
     @Test
@@ -246,4 +491,53 @@ class SenderThreadRepositoryTest {
         assertThrows(ThreadManagementException.class,
                 () -> senderThreadRepository.updateSenderThreadState(id, null));
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateSenderThreadRate_ValidParameters_Success() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(iSenderThreadRepository.existsById(id)).thenReturn(true);
+
+        // Act
+        UUID result = senderThreadRepository.updateSenderThreadRate(id, 2.5, 10);
+
+        // Assert
+        assertEquals(id, result);
+        assertEquals(2.5, threadStateStore.pending(ThreadType.SENDER, id).orElseThrow().getRate());
+        assertEquals(10, threadStateStore.pending(ThreadType.SENDER, id).orElseThrow().getBurst());
+    }
+
+    @Test
+    void updateSenderThreadRate_NonPositiveRate_ThrowsException() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+
+        // Act & Assert
+        assertThrows(ThreadManagementException.class,
+                () -> senderThreadRepository.updateSenderThreadRate(id, 0.0, null));
+    }
+
+    @Test
+    void updateSenderThreadOverflowPolicy_ValidParameters_Success() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(iSenderThreadRepository.existsById(id)).thenReturn(true);
+
+        // Act
+        UUID result = senderThreadRepository.updateSenderThreadOverflowPolicy(id, OverflowPolicy.SHED_BY_PRIORITY);
+
+        // Assert
+        assertEquals(id, result);
+        assertEquals(OverflowPolicy.SHED_BY_PRIORITY, threadStateStore.pending(ThreadType.SENDER, id).orElseThrow().getOverflowPolicy());
+    }
+
+    @Test
+    void updateSenderThreadOverflowPolicy_NullPolicy_ThrowsException() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+
+        // Act & Assert
+        assertThrows(ThreadManagementException.class,
+                () -> senderThreadRepository.updateSenderThreadOverflowPolicy(id, null));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.threadmanagement.domain.repository;
+
+import com.example.threadmanagement.model.dto.ReceiverThreadDto;
+import com.example.threadmanagement.model.dto.SenderThreadDto;
+import com.example.threadmanagement.model.entity.OverflowPolicy;
+import com.example.threadmanagement.model.entity.ThreadState;
+import com.example.threadmanagement.model.entity.ThreadType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ThreadBulkInserterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ThreadBulkInserter threadBulkInserter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        threadBulkInserter = new ThreadBulkInserter(jdbcTemplate, meterRegistry, 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void insertSenderThreads_MoreRowsThanBatchSize_SplitsIntoBatches() {
+        // Arrange
+        List<SenderThreadDto> senderThreads = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            senderThreads.add(new SenderThreadDto(UUID.randomUUID(), ThreadType.SENDER, ThreadState.RUNNING,
+                    Thread.NORM_PRIORITY, 1.0, 1, OverflowPolicy.BLOCK));
+        }
+        ArgumentCaptor<List<Object[]>> batchCaptor = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        threadBulkInserter.insertSenderThreads(senderThreads);
+
+        // Assert
+        verify(jdbcTemplate, times(3)).batchUpdate(eq(ThreadBulkInserter.SENDER_INSERT), batchCaptor.capture(), any(int[].class));
+        assertEquals(List.of(2, 2, 1), batchCaptor.getAllValues().stream().map(List::size).toList());
+        assertEquals(senderThreads.get(0).getId().toString(), batchCaptor.getAllValues().get(0).get(0)[0]);
+        assertEquals(5, meterRegistry.get("threadmanagement.persistence.inserted").tag("table", "SenderThreads").counter().count());
+    }
+
+    @Test
+    void insertReceiverThreads_Rows_RecordsThroughput() {
+        // Arrange
+        List<ReceiverThreadDto> receiverThreads = List.of(new ReceiverThreadDto(UUID.randomUUID(), ThreadType.RECEIVER,
+                ThreadState.RUNNING, Thread.NORM_PRIORITY, 1, 0L));
+
+        // Act
+        threadBulkInserter.insertReceiverThreads(receiverThreads);
+
+        // Assert
+        verify(jdbcTemplate).batchUpdate(eq(ThreadBulkInserter.RECEIVER_INSERT), anyList(), any(int[].class));
+        assertEquals(1, meterRegistry.get("threadmanagement.persistence.insert.throughput").tag("table", "ReceiverThreads").summary().count());
+    }
+
+    @Test
+    void insertSenderThreads_EmptyList_DoesNotTouchDatabase() {
+        // Act
+        threadBulkInserter.insertSenderThreads(List.of());
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.threadmanagement.domain.repository;
+
+import com.example.threadmanagement.config.ThreadIdMode;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThreadIdGeneratorTest {
+
+    @Test
+    void nextId_SequentialMode_IncreasesInSqlServerOrder() {
+        // Arrange
+        ThreadIdGenerator threadIdGenerator = new ThreadIdGenerator(ThreadIdMode.SEQUENTIAL);
+
+        // Act
+        List<UUID> ids = generate(threadIdGenerator, 20_000);
+
+        // Assert
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ThreadIdGenerator.SQL_SERVER_ORDER.compare(ids.get(i - 1), ids.get(i)) < 0);
+        }
+        assertEquals(8, ids.get(0).version());
+        assertEquals(2, ids.get(0).variant());
+    }
+
+    @Test
+    void nextId_TimeOrderedMode_IncreasesInByteOrder() {
+        // Arrange
+        ThreadIdGenerator threadIdGenerator = new ThreadIdGenerator(ThreadIdMode.TIME_ORDERED);
+
+        // Act
+        List<UUID> ids = generate(threadIdGenerator, 20_000);
+
+        // Assert
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).toString().compareTo(ids.get(i).toString()) < 0);
+        }
+        assertEquals(7, ids.get(0).version());
+        assertEquals(2, ids.get(0).variant());
+    }
+
+    @Test
+    void nextId_TimeOrderedMode_StartsWithCurrentTime() {
+        // Arrange
+        ThreadIdGenerator threadIdGenerator = new ThreadIdGenerator(ThreadIdMode.TIME_ORDERED);
+        long before = System.currentTimeMillis();
+
+        // Act
+        UUID id = threadIdGenerator.nextId();
+
+        // Assert
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void nextId_RandomMode_ReturnsVersion4Ids() {
+        // Arrange
+        ThreadIdGenerator threadIdGenerator = new ThreadIdGenerator(ThreadIdMode.RANDOM);
+
+        // Act
+        UUID id = threadIdGenerator.nextId();
+
+        // Assert
+        assertEquals(4, id.version());
+    }
+
+    @Test
+    void nextId_SequentialMode_IdsAreUnique() {
+        // Arrange
+        ThreadIdGenerator threadIdGenerator = new ThreadIdGenerator(ThreadIdMode.SEQUENTIAL);
+
+        // Act
+        List<UUID> ids = generate(threadIdGenerator, 100_000);
+
+        // Assert
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+    }
+
+    @Test
+    void sqlServerOrder_DifferentLastGroup_DecidesBeforeFirstGroup() {
+        // Arrange
+        UUID lowerLastGroup = UUID.fromString("ffffffff-ffff-ffff-ffff-000000000001");
+        UUID higherLastGroup = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+        // Act
+        int result = ThreadIdGenerator.SQL_SERVER_ORDER.compare(lowerLastGroup, higherLastGroup);
+
+        // Assert
+        assertTrue(result < 0);
+    }
+
+    private static List<UUID> generate(ThreadIdGenerator threadIdGenerator, int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(threadIdGenerator.nextId());
+        }
+        return ids;
+    }
+}
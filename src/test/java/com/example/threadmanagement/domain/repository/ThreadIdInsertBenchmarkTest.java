@@ -0,0 +1,121 @@
+package com.example.threadmanagement.domain.repository;
+
+import com.example.threadmanagement.config.ThreadIdMode;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares random and time-ordered thread IDs as keys of a clustered index.
+ * Inserts the IDs into a model of the leaf level of a SQL Server clustered index, sorted the way SQL Server sorts
+ * uniqueidentifier values, and counts the page splits and the resulting page fill.
+ * Run with mvn test -Pbenchmark, excluded from the regular build.
+ */
+@Tag("benchmark")
+class ThreadIdInsertBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(ThreadIdInsertBenchmarkTest.class);
+    private static final int ROWS = 500_000;
+    private static final int ROWS_PER_PAGE = 200;
+
+    @Test
+    void insert_SequentialIds_AppendWithoutPageSplits() {
+        // Arrange
+        Map<ThreadIdMode, InsertResult> results = new EnumMap<>(ThreadIdMode.class);
+
+        // Act
+        for (ThreadIdMode threadIdMode : ThreadIdMode.values()) {
+            InsertResult result = insert(new ThreadIdGenerator(threadIdMode));
+            results.put(threadIdMode, result);
+            log.info("{}: {} page splits, {} pages, {} page fill, {} ns per insert", threadIdMode,
+                    result.pageSplits, result.pages, String.format("%.0f%%", result.pageFill() * 100), result.nanosPerInsert);
+        }
+
+        // Assert
+        InsertResult random = results.get(ThreadIdMode.RANDOM);
+        InsertResult sequential = results.get(ThreadIdMode.SEQUENTIAL);
+        // UUIDv7 keeps its timestamp in the bytes SQL Server compares last, so TIME_ORDERED is not asserted here
+        assertTrue(sequential.pageSplits * 100 < random.pageSplits,
+                "Sequential IDs should split far fewer pages than random IDs, were " + sequential.pageSplits + " and " + random.pageSplits);
+        assertEquals(0, sequential.pageSplits);
+        assertTrue(sequential.pageFill() > 0.99, "Sequential IDs should fill every page, fill was " + sequential.pageFill());
+        assertTrue(random.pageSplits > ROWS / ROWS_PER_PAGE, "Random IDs should split pages, splits were " + random.pageSplits);
+        assertTrue(random.pageFill() < 0.8, "Random IDs should leave pages partly empty, fill was " + random.pageFill());
+    }
+
+    private InsertResult insert(ThreadIdGenerator threadIdGenerator) {
+        TreeMap<UUID, List<UUID>> pages = new TreeMap<>(ThreadIdGenerator.SQL_SERVER_ORDER);
+        long pageSplits = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            UUID id = threadIdGenerator.nextId();
+            Map.Entry<UUID, List<UUID>> entry = pages.floorEntry(id);
+            if (entry == null) {
+                entry = pages.firstEntry();
+            }
+            if (entry == null) {
+                List<UUID> page = new ArrayList<>(ROWS_PER_PAGE);
+                page.add(id);
+                pages.put(id, page);
+                continue;
+            }
+            List<UUID> page = entry.getValue();
+            int position = insertionPoint(page, id);
+            boolean lastPage = entry.getKey().equals(pages.lastKey());
+            if (page.size() < ROWS_PER_PAGE) {
+                page.add(position, id);
+                if (position == 0) {
+                    pages.remove(entry.getKey());
+                    pages.put(id, page);
+                }
+            }
+            else if (lastPage && position == page.size()) {
+                // SQL Server starts a new page when a full last page receives the highest key
+                List<UUID> newPage = new ArrayList<>(ROWS_PER_PAGE);
+                newPage.add(id);
+                pages.put(id, newPage);
+            }
+            else {
+                // Any other insert into a full page moves half of its rows to a new page
+                pageSplits++;
+                page.add(position, id);
+                List<UUID> upperHalf = new ArrayList<>(page.subList(page.size() / 2, page.size()));
+                page.subList(page.size() / 2, page.size()).clear();
+                pages.remove(entry.getKey());
+                pages.put(page.get(0), page);
+                pages.put(upperHalf.get(0), upperHalf);
+            }
+        }
+        long nanosPerInsert = (System.nanoTime() - start) / ROWS;
+        return new InsertResult(pageSplits, pages.size(), nanosPerInsert);
+    }
+
+    private static int insertionPoint(List<UUID> page, UUID id) {
+        int low = 0;
+        int high = page.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (ThreadIdGenerator.SQL_SERVER_ORDER.compare(page.get(middle), id) < 0) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private record InsertResult(long pageSplits, int pages, long nanosPerInsert) {
+        double pageFill() {
+            return (double) ROWS / ((long) pages * ROWS_PER_PAGE);
+        }
+    }
+}
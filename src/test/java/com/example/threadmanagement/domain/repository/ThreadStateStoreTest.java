@@ -0,0 +1,150 @@
+package com.example.threadmanagement.domain.repository;
+
+import com.example.threadmanagement.model.entity.ThreadState;
+import com.example.threadmanagement.model.entity.ThreadType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ThreadStateStoreTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ThreadStateStore threadStateStore;
+
+    @BeforeEach
+    void setUp() {
+        threadStateStore = new ThreadStateStore(jdbcTemplate, new SimpleMeterRegistry(), 2, 10000);
+    }
+
+    @Test
+    void update_SameThreadChangedTwice_CoalescesIntoOneRow() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+
+        // Act
+        threadStateStore.update(ThreadType.SENDER, id, stateChange(ThreadState.STOPPED));
+        threadStateStore.update(ThreadType.SENDER, id, priorityChange(Thread.MAX_PRIORITY));
+        threadStateStore.update(ThreadType.SENDER, id, stateChange(ThreadState.RUNNING));
+
+        // Assert
+        ThreadStateChange pending = threadStateStore.pending(ThreadType.SENDER, id).orElseThrow();
+        assertEquals(1, threadStateStore.getPendingCount());
+        assertEquals(ThreadState.RUNNING, pending.getState());
+        assertEquals(Thread.MAX_PRIORITY, pending.getPriority());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_PendingChanges_WritesThemInBatches() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            threadStateStore.update(ThreadType.RECEIVER, UUID.randomUUID(), stateChange(ThreadState.STOPPED));
+        }
+        ArgumentCaptor<List<Object[]>> batchCaptor = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        threadStateStore.flush();
+
+        // Assert
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(ThreadStateStore.RECEIVER_UPDATE), batchCaptor.capture(), any(int[].class));
+        verify(jdbcTemplate, never()).batchUpdate(eq(ThreadStateStore.SENDER_UPDATE), anyList(), any(int[].class));
+        assertEquals(List.of(2, 1), batchCaptor.getAllValues().stream().map(List::size).toList());
+        assertEquals(0, threadStateStore.getPendingCount());
+    }
+
+    @Test
+    void flush_DatabaseUnavailable_KeepsChangesForNextFlush() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        threadStateStore.update(ThreadType.SENDER, id, stateChange(ThreadState.STOPPED));
+        when(jdbcTemplate.batchUpdate(eq(ThreadStateStore.SENDER_UPDATE), anyList(), any(int[].class)))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        // Act
+        threadStateStore.flush();
+
+        // Assert
+        assertEquals(ThreadState.STOPPED, threadStateStore.pending(ThreadType.SENDER, id).orElseThrow().getState());
+    }
+
+    @Test
+    void flush_ReadWhileBatchIsRunning_StillSeesChange() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        threadStateStore.update(ThreadType.SENDER, id, stateChange(ThreadState.STOPPED));
+        List<ThreadState> seenDuringBatch = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(eq(ThreadStateStore.SENDER_UPDATE), anyList(), any(int[].class))).thenAnswer(invocation -> {
+            seenDuringBatch.add(threadStateStore.pending(ThreadType.SENDER, id).map(ThreadStateChange::getState).orElse(null));
+            return new int[] {1};
+        });
+
+        // Act
+        threadStateStore.flush();
+
+        // Assert
+        assertEquals(List.of(ThreadState.STOPPED), seenDuringBatch);
+        assertTrue(threadStateStore.pending(ThreadType.SENDER, id).isEmpty());
+    }
+
+    @Test
+    void flush_ChangeArrivesWhileBatchIsRunning_KeepsNewerChangePending() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        threadStateStore.update(ThreadType.SENDER, id, stateChange(ThreadState.STOPPED));
+        when(jdbcTemplate.batchUpdate(eq(ThreadStateStore.SENDER_UPDATE), anyList(), any(int[].class))).thenAnswer(invocation -> {
+            threadStateStore.update(ThreadType.SENDER, id, stateChange(ThreadState.RUNNING));
+            return new int[] {1};
+        });
+
+        // Act
+        threadStateStore.flush();
+
+        // Assert
+        assertEquals(ThreadState.RUNNING, threadStateStore.pending(ThreadType.SENDER, id).orElseThrow().getState());
+    }
+
+    @Test
+    void discard_DeletedThread_DropsPendingChange() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        threadStateStore.markKnown(ThreadType.SENDER, List.of(id));
+        threadStateStore.update(ThreadType.SENDER, id, stateChange(ThreadState.STOPPED));
+
+        // Act
+        threadStateStore.discard(ThreadType.SENDER, id);
+
+        // Assert
+        assertFalse(threadStateStore.isKnown(ThreadType.SENDER, id));
+        assertTrue(threadStateStore.pending(ThreadType.SENDER, id).isEmpty());
+    }
+
+    private static ThreadStateChange stateChange(ThreadState state) {
+        ThreadStateChange change = new ThreadStateChange();
+        change.setState(state);
+        return change;
+    }
+
+    private static ThreadStateChange priorityChange(int priority) {
+        ThreadStateChange change = new ThreadStateChange();
+        change.setPriority(priority);
+        return change;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.threadmanagement.domain.service;
+
+import com.example.threadmanagement.domain.queue.BlockingQueueEngine;
+import com.example.threadmanagement.domain.queue.RingBufferQueueEngine;
+import com.example.threadmanagement.domain.queue.interfaces.IMessageQueueEngine;
+import com.example.threadmanagement.model.message.QueueMessage;
+import com.example.threadmanagement.model.message.interfaces.IQueueMessage;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures the cost of reading one queue page at different queue depths.
+ * Run with mvn test -Pbenchmark, excluded from the regular build.
+ */
+@Tag("benchmark")
+class MessageQueuePagingBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(MessageQueuePagingBenchmarkTest.class);
+    private static final int[] DEPTHS = {1_000, 100_000, 1_000_000};
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int MEASURED_CALLS = 20_000;
+
+    static Stream<Arguments> engines() {
+        return Stream.of(
+                Arguments.of("LinkedBlocking", (IntFunction<IMessageQueueEngine<IQueueMessage>>) capacity -> new BlockingQueueEngine<>(new LinkedBlockingQueue<>(capacity))),
+                Arguments.of("RingBuffer", (IntFunction<IMessageQueueEngine<IQueueMessage>>) RingBufferQueueEngine::new)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    void getQueuePage_GrowingQueueDepth_CostIndependentOfDepth(String name, IntFunction<IMessageQueueEngine<IQueueMessage>> engineFactory) {
+        // Arrange
+        IQueueMessage message = new QueueMessage(UUID.randomUUID(), 1, System.nanoTime(), System.currentTimeMillis(), "Data");
+        long[] nanosPerCall = new long[DEPTHS.length];
+
+        // Act
+        for (int d = 0; d < DEPTHS.length; d++) {
+            IMessageQueueEngine<IQueueMessage> sharedQueue = engineFactory.apply(DEPTHS[d]);
+            for (int i = 0; i < DEPTHS[d]; i++) {
+                sharedQueue.offer(message);
+            }
+            MessageQueueService messageQueueService = new MessageQueueService(sharedQueue, mock(SimpMessagingTemplate.class));
+            nanosPerCall[d] = measure(messageQueueService);
+            log.info("{} depth {}: {} ns per page", name, DEPTHS[d], nanosPerCall[d]);
+        }
+
+        // Assert
+        long shallow = nanosPerCall[0];
+        long deep = nanosPerCall[DEPTHS.length - 1];
+        assertTrue(deep < shallow * 5 + 20_000,
+                "Page cost should not grow with queue depth, was " + shallow + " ns at " + DEPTHS[0] + " and " + deep + " ns at " + DEPTHS[DEPTHS.length - 1]);
+    }
+
+    private long measure(MessageQueueService messageQueueService) {
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            checksum += messageQueueService.getQueuePage(0, 14).getNumberOfElements();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            checksum += messageQueueService.getQueuePage(0, 14).getNumberOfElements();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(checksum > 0);
+        return elapsed / MEASURED_CALLS;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.threadmanagement.domain.service;
+
+import com.example.threadmanagement.domain.queue.BlockingQueueEngine;
+import com.example.threadmanagement.domain.queue.interfaces.IMessageQueueEngine;
+import com.example.threadmanagement.model.message.QueueMessage;
+import com.example.threadmanagement.model.message.interfaces.IQueueMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageQueueServiceTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private IMessageQueueEngine<IQueueMessage> sharedQueue;
+    private MessageQueueService messageQueueService;
+    private UUID senderId;
+
+    @BeforeEach
+    void setUp() {
+        sharedQueue = new BlockingQueueEngine<>(new LinkedBlockingQueue<>(100));
+        messageQueueService = new MessageQueueService(sharedQueue, messagingTemplate);
+        senderId = UUID.randomUUID();
+        for (int i = 1; i <= 30; i++) {
+            sharedQueue.offer(new QueueMessage(senderId, i, System.nanoTime(), System.currentTimeMillis(), "Data " + i));
+        }
+    }
+
+    @Test
+    void getQueuePage_SecondPage_ReturnsWindowAndTotal() {
+        // Act
+        Page<String> result = messageQueueService.getQueuePage(1, 14);
+
+        // Assert
+        assertEquals(14, result.getContent().size());
+        assertTrue(result.getContent().get(0).startsWith("Data 15 from sender " + senderId));
+        assertEquals(30, result.getTotalElements());
+        assertEquals(3, result.getTotalPages());
+    }
+
+    @Test
+    void getQueuePage_LastPage_ReturnsRemainingMessages() {
+        // Act
+        Page<String> result = messageQueueService.getQueuePage(2, 14);
+
+        // Assert
+        assertEquals(2, result.getContent().size());
+        assertEquals(30, result.getTotalElements());
+    }
+
+    @Test
+    void getQueuePage_PageBeyondQueue_ReturnsEmptyPage() {
+        // Act
+        Page<String> result = messageQueueService.getQueuePage(5, 14);
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+}
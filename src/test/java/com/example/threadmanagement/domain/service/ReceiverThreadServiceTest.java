@@ -1,18 +1,30 @@
 package com.example.threadmanagement.domain.service;
 
+import com.example.threadmanagement.config.ReceiverConsumptionMode;
+import com.example.threadmanagement.config.ThreadIdMode;
+import com.example.threadmanagement.domain.broadcast.ThreadChangePublisher;
+import com.example.threadmanagement.domain.lifecycle.ThreadControlRegistry;
+import com.example.threadmanagement.domain.metrics.MessageFlowMetrics;
+import com.example.threadmanagement.domain.queue.BlockingQueueEngine;
+import com.example.threadmanagement.domain.queue.interfaces.IMessageQueueEngine;
 import com.example.threadmanagement.domain.repository.ReceiverThreadRepository;
 import com.example.threadmanagement.domain.repository.ReceiverThreadRepository;
+import com.example.threadmanagement.domain.repository.ThreadIdGenerator;
 import com.example.threadmanagement.exception.ThreadManagementException;
 import com.example.threadmanagement.exception.ThreadNotFoundException;
 import com.example.threadmanagement.model.dto.ReceiverThreadDto;
 import com.example.threadmanagement.model.dto.ReceiverThreadDto;
 import com.example.threadmanagement.model.entity.ThreadState;
 import com.example.threadmanagement.model.entity.ThreadType;
+import com.example.threadmanagement.model.message.QueueMessage;
+import com.example.threadmanagement.model.message.interfaces.IQueueMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
 import java.util.List;
@@ -33,14 +45,19 @@ class ReceiverThreadServiceTest {
     @Mock
     private ExecutorService executorService;
 
-    private BlockingQueue<String> sharedQueue;
+    @Mock
+    private ThreadChangePublisher threadChangePublisher;
+
+    private IMessageQueueEngine<IQueueMessage> sharedQueue;
     private ReceiverThreadService receiverThreadService;
     private UUID threadId;
 
     @BeforeEach
     void setUp() {
-        sharedQueue = new LinkedBlockingQueue<>();
-        receiverThreadService = new ReceiverThreadService(sharedQueue, executorService, receiverThreadRepository);
+        sharedQueue = new BlockingQueueEngine<>(new LinkedBlockingQueue<>());
+        receiverThreadService = new ReceiverThreadService(sharedQueue, executorService, receiverThreadRepository,
+                threadChangePublisher, new ThreadControlRegistry(),
+                new MessageFlowMetrics(new SimpleMeterRegistry()), new ThreadIdGenerator(ThreadIdMode.SEQUENTIAL));
         threadId = UUID.randomUUID();
     }
 
@@ -115,6 +132,24 @@ class ReceiverThreadServiceTest {
         verify(executorService).submit(any(Runnable.class));
     }
 
+    @Test
+    void updateReceiverThreadState_ThreadAlreadyControlled_ReadsCurrentSettingsFromMemory() {
+        // Arrange
+        UUID threadId = UUID.randomUUID();
+        when(executorService.submit(any(Runnable.class))).thenReturn(mock(Future.class));
+        when(receiverThreadRepository.getReceiverThreadById(threadId))
+                .thenReturn(Optional.of(new ReceiverThreadDto(threadId, ThreadType.RECEIVER, ThreadState.STOPPED, Thread.NORM_PRIORITY)));
+        receiverThreadService.updateReceiverThreadState(threadId, ThreadState.RUNNING);
+
+        // Act
+        receiverThreadService.updateReceiverThreadState(threadId, ThreadState.STOPPED);
+        receiverThreadService.updateReceiverThreadState(threadId, ThreadState.RUNNING);
+
+        // Assert
+        verify(receiverThreadRepository, times(1)).getReceiverThreadById(threadId);
+        verify(receiverThreadRepository, times(2)).updateReceiverThreadState(threadId, ThreadState.RUNNING);
+    }
+
     @Test
     void updateReceiverThreadState_NullState_ThrowsException() {
         // Arrange
@@ -215,6 +250,34 @@ class ReceiverThreadServiceTest {
         verify(receiverThreadRepository).deleteAllReceiverThreads();
     }
 
+    @Test
+    void deleteAllReceiverThreads_NoSubscribers_DoesNotLoadIds() {
+        // Arrange
+        when(receiverThreadRepository.deleteAllReceiverThreads()).thenReturn(true);
+
+        // Act
+        receiverThreadService.deleteAllReceiverThreads();
+
+        // Assert
+        verify(receiverThreadRepository, never()).getAllReceiverThreadIds();
+    }
+
+    @Test
+    void deleteAllReceiverThreads_ValidParameters_PublishesDeletedEventPerThread() {
+        // Arrange
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(threadChangePublisher.hasSubscribers(ThreadType.RECEIVER)).thenReturn(true);
+        when(receiverThreadRepository.getAllReceiverThreadIds()).thenReturn(ids);
+        when(receiverThreadRepository.deleteAllReceiverThreads()).thenReturn(true);
+
+        // Act
+        receiverThreadService.deleteAllReceiverThreads();
+
+        // Assert
+        verify(threadChangePublisher).publishDeleted(ThreadType.RECEIVER, ids);
+        verify(receiverThreadRepository, never()).getAllReceiverThreads();
+    }
+
     @Test
     void createReceiverThreadsWithAmount_whenThreadStopped_ShouldStopConsumingData() throws InterruptedException {
         // Arrange
@@ -249,9 +312,10 @@ class ReceiverThreadServiceTest {
                 });
 
         // Act
-        receiverThreadService.createReceiverThreadsWithAmount(1);
+        UUID createdThreadId = receiverThreadService.createReceiverThreadsWithAmount(1).get(0).getId();
         Thread.sleep(100);
         threadStopped.set(true);
+        receiverThreadService.updateReceiverThreadState(createdThreadId, ThreadState.STOPPED);
 
         // Assert
         assertTrue(stopLatch.await(5, TimeUnit.SECONDS), "Thread did not stop within timeout");
@@ -295,9 +359,9 @@ class ReceiverThreadServiceTest {
                 });
 
         // Act
-        receiverThreadService.createReceiverThreadsWithAmount(1);
+        UUID createdThreadId = receiverThreadService.createReceiverThreadsWithAmount(1).get(0).getId();
         Thread.sleep(100);
-        receiverThreadService.deleteReceiverThreadById(threadId);
+        receiverThreadService.deleteReceiverThreadById(createdThreadId);
 
         // Assert
         assertTrue(deleteLatch.await(5, TimeUnit.SECONDS), "Thread deletion timed out");
@@ -335,4 +399,28 @@ class ReceiverThreadServiceTest {
         assertTrue(interruptLatch.await(5, TimeUnit.SECONDS), "Thread interruption timed out");
         assertTrue(sharedQueue.isEmpty(), "Queue should be empty after thread interruption");
     }
-}
\ No newline at end of file
+
+    @Test
+    void createReceiverThreadsWithAmount_BatchMode_DrainsQueueInBatches() throws InterruptedException {
+        // Arrange
+        ReflectionTestUtils.setField(receiverThreadService, "receiverConsumptionMode", ReceiverConsumptionMode.BATCH);
+        ReflectionTestUtils.setField(receiverThreadService, "pollTimeoutMillis", 100L);
+        for (int i = 0; i < 250; i++) {
+            sharedQueue.offer(new QueueMessage(threadId, i, System.nanoTime(), System.currentTimeMillis(), "Data"));
+        }
+        ExecutorService lifecycleExecutor = Executors.newSingleThreadExecutor();
+        when(executorService.submit(any(Runnable.class)))
+                .thenAnswer(invocation -> lifecycleExecutor.submit((Runnable) invocation.getArgument(0)));
+
+        // Act
+        receiverThreadService.createReceiverThreadsWithAmount(1);
+
+        // Assert
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!sharedQueue.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        lifecycleExecutor.shutdownNow();
+        assertTrue(sharedQueue.isEmpty(), "Batch receiver should drain the queue well within a second per message");
+    }
+}
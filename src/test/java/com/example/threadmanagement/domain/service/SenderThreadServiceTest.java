@@ -1,16 +1,31 @@
 package com.example.threadmanagement.domain.service;
 
+import com.example.threadmanagement.config.MessageMode;
+import com.example.threadmanagement.config.ThreadIdMode;
+import com.example.threadmanagement.domain.broadcast.ThreadChangePublisher;
+import com.example.threadmanagement.domain.lifecycle.SenderTickScheduler;
+import com.example.threadmanagement.domain.lifecycle.ThreadControlRegistry;
+import com.example.threadmanagement.domain.metrics.MessageFlowMetrics;
+import com.example.threadmanagement.domain.queue.BlockingQueueEngine;
+import com.example.threadmanagement.domain.queue.QueueMessageFactory;
+import com.example.threadmanagement.domain.queue.SharedQueueProducer;
+import com.example.threadmanagement.domain.queue.interfaces.IMessageQueueEngine;
 import com.example.threadmanagement.domain.repository.SenderThreadRepository;
+import com.example.threadmanagement.domain.repository.ThreadIdGenerator;
 import com.example.threadmanagement.exception.ThreadManagementException;
 import com.example.threadmanagement.exception.ThreadNotFoundException;
+import com.example.threadmanagement.model.dto.BulkThreadUpdateDto;
 import com.example.threadmanagement.model.dto.SenderThreadDto;
 import com.example.threadmanagement.model.entity.ThreadState;
 import com.example.threadmanagement.model.entity.ThreadType;
+import com.example.threadmanagement.model.message.interfaces.IQueueMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -20,6 +35,7 @@ import java.util.concurrent.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,14 +47,26 @@ class SenderThreadServiceTest {
     @Mock
     private ExecutorService executorService;
 
-    private BlockingQueue<String> sharedQueue;
+    @Mock
+    private ThreadChangePublisher threadChangePublisher;
+
+    @Mock
+    private SenderTickScheduler senderTickScheduler;
+
+    private IMessageQueueEngine<IQueueMessage> sharedQueue;
     private SenderThreadService senderThreadService;
     private UUID threadId;
 
     @BeforeEach
     void setUp() {
-        sharedQueue = new LinkedBlockingQueue<>();
-        senderThreadService = new SenderThreadService(sharedQueue, executorService, senderThreadRepository);
+        sharedQueue = new BlockingQueueEngine<>(new LinkedBlockingQueue<>());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MessageFlowMetrics messageFlowMetrics = new MessageFlowMetrics(meterRegistry);
+        senderThreadService = new SenderThreadService(
+                new SharedQueueProducer(sharedQueue, messageFlowMetrics), executorService, senderThreadRepository,
+                threadChangePublisher, new ThreadControlRegistry(), senderTickScheduler,
+                new QueueMessageFactory(meterRegistry, MessageMode.OBJECT, sharedQueue, 0), messageFlowMetrics,
+                new ThreadIdGenerator(ThreadIdMode.SEQUENTIAL));
         threadId = UUID.randomUUID();
     }
 
@@ -137,6 +165,49 @@ class SenderThreadServiceTest {
         verify(executorService).submit(any(Runnable.class));
     }
 
+    @Test
+    void updateSenderThreadState_OldTaskEndsAfterRestart_KeepsNewTaskCancellable() {
+        // Arrange
+        Future<?> oldFuture = mock(Future.class);
+        Future<?> newFuture = mock(Future.class);
+        List<Runnable> submittedTasks = new ArrayList<>();
+        when(executorService.submit(any(Runnable.class))).thenAnswer(invocation -> {
+            submittedTasks.add(invocation.getArgument(0));
+            return submittedTasks.size() == 1 ? oldFuture : newFuture;
+        });
+        when(senderThreadRepository.getSenderThreadById(threadId)).thenAnswer(invocation ->
+                Optional.of(new SenderThreadDto(threadId, ThreadType.SENDER, ThreadState.STOPPED, Thread.NORM_PRIORITY)));
+        senderThreadService.updateSenderThreadState(threadId, ThreadState.RUNNING);
+        senderThreadService.updateSenderThreadState(threadId, ThreadState.STOPPED);
+        senderThreadService.updateSenderThreadState(threadId, ThreadState.RUNNING);
+
+        // Act
+        submittedTasks.get(0).run();
+        senderThreadService.updateSenderThreadState(threadId, ThreadState.STOPPED);
+
+        // Assert
+        verify(oldFuture).cancel(true);
+        verify(newFuture).cancel(true);
+    }
+
+    @Test
+    void updateSenderThreadState_ThreadAlreadyControlled_ReadsCurrentSettingsFromMemory() {
+        // Arrange
+        UUID threadId = UUID.randomUUID();
+        when(executorService.submit(any(Runnable.class))).thenReturn(mock(Future.class));
+        when(senderThreadRepository.getSenderThreadById(threadId))
+                .thenReturn(Optional.of(new SenderThreadDto(threadId, ThreadType.SENDER, ThreadState.STOPPED, Thread.NORM_PRIORITY)));
+        senderThreadService.updateSenderThreadState(threadId, ThreadState.RUNNING);
+
+        // Act
+        senderThreadService.updateSenderThreadState(threadId, ThreadState.STOPPED);
+        senderThreadService.updateSenderThreadState(threadId, ThreadState.RUNNING);
+
+        // Assert
+        verify(senderThreadRepository, times(1)).getSenderThreadById(threadId);
+        verify(senderThreadRepository, times(2)).updateSenderThreadState(threadId, ThreadState.RUNNING);
+    }
+
     @Test
     void updateSenderThreadState_NullState_ThrowsException() {
         // Arrange
@@ -189,6 +260,34 @@ class SenderThreadServiceTest {
         );
     }
 
+    @Test
+    void updateSenderThreads_IdsGiven_PublishesAllChangesOnce() {
+        // Arrange
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        List<SenderThreadDto> updated = List.of(
+                new SenderThreadDto(ids.get(0), ThreadType.SENDER, ThreadState.STOPPED, 5),
+                new SenderThreadDto(ids.get(1), ThreadType.SENDER, ThreadState.STOPPED, 5));
+        when(senderThreadRepository.updateSenderThreads(ids, ThreadState.STOPPED, null)).thenReturn(updated);
+
+        // Act
+        Integer result = senderThreadService.updateSenderThreads(new BulkThreadUpdateDto(ids, null, null, ThreadState.STOPPED, null));
+
+        // Assert
+        assertEquals(2, result);
+        verify(threadChangePublisher).publishUpdated(eq(ThreadType.SENDER), eq(updated), any());
+        verify(senderThreadRepository, never()).updateSenderThreadsByFilter(any(), any(), any(), any());
+    }
+
+    @Test
+    void updateSenderThreads_NoNewValues_ThrowsException() {
+        // Arrange
+        BulkThreadUpdateDto bulkThreadUpdateDto = new BulkThreadUpdateDto(List.of(threadId), null, null, null, null);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> senderThreadService.updateSenderThreads(bulkThreadUpdateDto));
+        verifyNoInteractions(senderThreadRepository);
+    }
+
     @Test
     void getActiveSenderThreads_ValidParameters_Success() {
         // Arrange
@@ -224,6 +323,33 @@ class SenderThreadServiceTest {
         verify(executorService, times(2)).submit(any(Runnable.class));
     }
 
+    @Test
+    void deleteSenderThreads_IdsGiven_StopsTasksAndPublishesOnce() {
+        // Arrange
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        UUID unknownId = UUID.randomUUID();
+        List<UUID> requestedIds = List.of(ids.get(0), ids.get(1), unknownId);
+        when(senderThreadRepository.deleteSenderThreads(requestedIds)).thenReturn(ids);
+
+        // Act
+        Integer result = senderThreadService.deleteSenderThreads(requestedIds, null, null);
+
+        // Assert
+        assertEquals(2, result);
+        verify(senderTickScheduler).cancel(ids.get(0));
+        verify(senderTickScheduler).cancel(ids.get(1));
+        verify(senderTickScheduler, never()).cancel(unknownId);
+        verify(threadChangePublisher).publishDeleted(ThreadType.SENDER, ids);
+        verify(senderThreadRepository, never()).deleteSenderThreadsByFilter(any(), any());
+    }
+
+    @Test
+    void deleteSenderThreads_NoIdsAndNoFilter_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> senderThreadService.deleteSenderThreads(List.of(), null, null));
+        verifyNoInteractions(senderThreadRepository);
+    }
+
     @Test
     void deleteAllSenderThreads_ValidParameters_Success() {
         // Arrange
@@ -237,15 +363,39 @@ class SenderThreadServiceTest {
         verify(senderThreadRepository).deleteAllSenderThreads();
     }
 
+    @Test
+    void deleteAllSenderThreads_NoSubscribers_DoesNotLoadIds() {
+        // Arrange
+        when(senderThreadRepository.deleteAllSenderThreads()).thenReturn(true);
+
+        // Act
+        senderThreadService.deleteAllSenderThreads();
+
+        // Assert
+        verify(senderThreadRepository, never()).getAllSenderThreadIds();
+    }
+
+    @Test
+    void deleteAllSenderThreads_ValidParameters_PublishesDeletedEventPerThread() {
+        // Arrange
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(threadChangePublisher.hasSubscribers(ThreadType.SENDER)).thenReturn(true);
+        when(senderThreadRepository.getAllSenderThreadIds()).thenReturn(ids);
+        when(senderThreadRepository.deleteAllSenderThreads()).thenReturn(true);
+
+        // Act
+        senderThreadService.deleteAllSenderThreads();
+
+        // Assert
+        verify(threadChangePublisher).publishDeleted(ThreadType.SENDER, ids);
+        verify(senderThreadRepository, never()).getAllSenderThreads();
+    }
+
     @Test
     void createSenderThreadsWithAmount_WhenThreadStarted_ShouldAddDataToQueue() throws InterruptedException {
         // Arrange
-        SenderThreadDto threadDto = new SenderThreadDto(threadId, ThreadType.SENDER, ThreadState.RUNNING, Thread.NORM_PRIORITY);
         CountDownLatch messageLatch = new CountDownLatch(1);
 
-        when(senderThreadRepository.getSenderThreadById(any(UUID.class)))
-                .thenReturn(Optional.of(threadDto));
-
         when(executorService.submit((Runnable) any()))
                 .thenAnswer(invocation -> {
                     Runnable runnable = invocation.getArgument(0);
@@ -261,10 +411,11 @@ class SenderThreadServiceTest {
 
         // Assert
         messageLatch.await(5, TimeUnit.SECONDS);
-        assertTrue(sharedQueue.peek() != null, "Queue should not be empty");
-        String message = sharedQueue.poll();
+        assertFalse(sharedQueue.isEmpty(), "Queue should not be empty");
+        IQueueMessage message = sharedQueue.poll();
         assertNotNull(message, "Message should not be null");
-        assertTrue(message.contains("Data from sender"), "Message should contain sender data");
+        assertEquals(1, message.sequence(), "First message of a sender should have sequence one");
+        assertTrue(message.format().contains("Data from sender " + message.senderId()), "Message should contain sender data");
     }
 
     @Test